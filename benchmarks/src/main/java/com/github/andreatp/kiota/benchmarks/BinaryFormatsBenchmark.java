@@ -0,0 +1,124 @@
+package com.github.andreatp.kiota.benchmarks;
+
+import com.github.andreatp.kiota.benchmarks.JsonParseNodeBenchmark.User;
+import com.github.andreatp.kiota.serialization.CBORParseNodeFactory;
+import com.github.andreatp.kiota.serialization.CBORSerializationWriterFactory;
+import com.github.andreatp.kiota.serialization.JsonParseNodeFactory;
+import com.github.andreatp.kiota.serialization.JsonSerializationWriterFactory;
+import com.github.andreatp.kiota.serialization.SmileParseNodeFactory;
+import com.github.andreatp.kiota.serialization.SmileSerializationWriterFactory;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.serialization.SerializationWriterFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serializes and parses the same models as Json, Smile and CBOR. The size of the payload of each
+ * format is reported as the {@code payloadBytes} secondary result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatsBenchmark {
+    @Param({"application/json", "application/x-jackson-smile", "application/cbor"})
+    public String contentType;
+
+    @Param({"1000"})
+    public int elements;
+
+    private SerializationWriterFactory writerFactory;
+    private ParseNodeFactory parseNodeFactory;
+    private List<User> users;
+    private byte[] payload;
+
+    /** The size of the payload, reported next to the timings. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        switch (contentType) {
+            case "application/x-jackson-smile":
+                writerFactory = new SmileSerializationWriterFactory();
+                parseNodeFactory = new SmileParseNodeFactory();
+                break;
+            case "application/cbor":
+                writerFactory = new CBORSerializationWriterFactory();
+                parseNodeFactory = new CBORParseNodeFactory();
+                break;
+            default:
+                writerFactory = new JsonSerializationWriterFactory();
+                parseNodeFactory = new JsonParseNodeFactory();
+        }
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < elements; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":")
+                    .append(i)
+                    .append(",\"displayName\":\"user ")
+                    .append(i)
+                    .append("\",\"mail\":\"user")
+                    .append(i)
+                    .append("@example.com\",\"enabled\":true,\"score\":")
+                    .append(i * 0.5)
+                    .append(",\"manager\":{\"id\":0,\"displayName\":\"boss\"}}");
+        }
+        users =
+                new JsonParseNodeFactory()
+                        .getParseNode(
+                                "application/json",
+                                new ByteArrayInputStream(
+                                        json.append(']')
+                                                .toString()
+                                                .getBytes(StandardCharsets.UTF_8)))
+                        .getCollectionOfObjectValues(User::new);
+        try (InputStream content = write()) {
+            payload = content.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public InputStream serialize(final PayloadSize size) throws Exception {
+        size.payloadBytes = payload.length;
+        return write();
+    }
+
+    private InputStream write() throws Exception {
+        try (SerializationWriter writer = writerFactory.getSerializationWriter(contentType)) {
+            writer.writeCollectionOfObjectValues(null, users);
+            return writer.getSerializedContent();
+        }
+    }
+
+    @Benchmark
+    public List<User> parse(final PayloadSize size) {
+        size.payloadBytes = payload.length;
+        return parseNodeFactory
+                .getParseNode(contentType, new ByteArrayInputStream(payload))
+                .getCollectionOfObjectValues(User::new);
+    }
+}
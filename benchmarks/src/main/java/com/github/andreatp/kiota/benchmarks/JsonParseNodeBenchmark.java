@@ -0,0 +1,100 @@
+package com.github.andreatp.kiota.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.andreatp.kiota.serialization.JsonMapper;
+import com.github.andreatp.kiota.serialization.JsonParseNode;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deserializes an already parsed Json tree, to measure the cost of the {@link JsonParseNode}s
+ * alone. Run with {@code -prof gc}: {@code gc.alloc.rate.norm} divided by the number of elements is
+ * the allocation per object, which should not grow with the number of fields.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonParseNodeBenchmark {
+    @Param({"1000"})
+    public int elements;
+
+    private JsonNode tree;
+
+    @Setup
+    public void setup() throws Exception {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < elements; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":")
+                    .append(i)
+                    .append(",\"displayName\":\"user ")
+                    .append(i)
+                    .append("\",\"mail\":\"user")
+                    .append(i)
+                    .append("@example.com\",\"enabled\":true,\"score\":")
+                    .append(i * 0.5)
+                    .append(",\"manager\":{\"id\":0,\"displayName\":\"boss\"}}");
+        }
+        tree = JsonMapper.mapper.readTree(json.append(']').toString());
+    }
+
+    @Benchmark
+    public List<User> collectionOfObjects() {
+        return new JsonParseNode(tree).getCollectionOfObjectValues(User::new);
+    }
+
+    public static class User implements Parsable {
+        private Integer id;
+        private String displayName;
+        private String mail;
+        private Boolean enabled;
+        private Double score;
+        private User manager;
+
+        public User(final ParseNode parseNode) {}
+
+        @Override
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            final HashMap<String, Consumer<ParseNode>> deserializerMap = new HashMap<>(6);
+            deserializerMap.put("id", (n) -> this.id = n.getIntegerValue());
+            deserializerMap.put("displayName", (n) -> this.displayName = n.getStringValue());
+            deserializerMap.put("mail", (n) -> this.mail = n.getStringValue());
+            deserializerMap.put("enabled", (n) -> this.enabled = n.getBooleanValue());
+            deserializerMap.put("score", (n) -> this.score = n.getDoubleValue());
+            deserializerMap.put("manager", (n) -> this.manager = n.getObjectValue(User::new));
+            return deserializerMap;
+        }
+
+        @Override
+        public void serialize(final SerializationWriter writer) {
+            writer.writeIntegerValue("id", id);
+            writer.writeStringValue("displayName", displayName);
+            writer.writeStringValue("mail", mail);
+            writer.writeBooleanValue("enabled", enabled);
+            writer.writeDoubleValue("score", score);
+            writer.writeObjectValue("manager", manager);
+        }
+    }
+}
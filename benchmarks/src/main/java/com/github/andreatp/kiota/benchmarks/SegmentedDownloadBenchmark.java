@@ -0,0 +1,123 @@
+package com.github.andreatp.kiota.benchmarks;
+
+import com.github.andreatp.kiota.jdk.JDKRequestAdapter;
+import com.github.andreatp.kiota.jdk.SegmentedDownloader;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestInformation;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to download a file from a local server throttling each connection, as the
+ * servers and proxies bounding the bandwidth per connection do, with a growing number of ranges
+ * fetched in parallel. A single segment is the plain download.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SegmentedDownloadBenchmark {
+    private static final int SIZE = 16 * 1024 * 1024;
+    private static final int CHUNK_SIZE = 64 * 1024;
+    // 32MiB/s per connection
+    private static final long CHUNK_NANOS = TimeUnit.SECONDS.toNanos(1) * CHUNK_SIZE / (32 << 20);
+
+    @Param({"1", "2", "4", "8"})
+    public int segments;
+
+    private final byte[] content = new byte[SIZE];
+    private ExecutorService executor;
+    private HttpServer server;
+    private Path target;
+    private SegmentedDownloader downloader;
+    private RequestInformation requestInfo;
+
+    @Setup
+    public void setup() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/files", this::serve);
+        server.start();
+        target = Files.createTempFile("kiota-benchmark", ".bin");
+
+        final var adapter = new JDKRequestAdapter();
+        adapter.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        downloader = new SegmentedDownloader(adapter);
+        downloader.setSegments(segments);
+        downloader.setMinSegmentSize(1024 * 1024);
+        requestInfo = new RequestInformation();
+        requestInfo.httpMethod = HttpMethod.GET;
+        requestInfo.urlTemplate = "{+baseurl}/files/{name}";
+        requestInfo.pathParameters.put("name", "content.bin");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.stop(0);
+        executor.shutdownNow();
+        Files.deleteIfExists(target);
+    }
+
+    private void serve(final HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+        exchange.getResponseHeaders().set("ETag", "\"v1\"");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", Integer.toString(SIZE));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+        int start = 0;
+        int end = SIZE;
+        final String range = exchange.getRequestHeaders().getFirst("Range");
+        if (range != null) {
+            final String[] bounds = range.substring("bytes=".length()).split("-");
+            start = Integer.parseInt(bounds[0]);
+            end = Integer.parseInt(bounds[1]) + 1;
+            exchange.getResponseHeaders()
+                    .set("Content-Range", "bytes " + start + "-" + (end - 1) + "/" + SIZE);
+        }
+        exchange.sendResponseHeaders(range == null ? 200 : 206, end - start);
+        try (OutputStream body = exchange.getResponseBody()) {
+            long next = System.nanoTime();
+            for (int position = start; position < end; position += CHUNK_SIZE) {
+                body.write(content, position, Math.min(CHUNK_SIZE, end - position));
+                next += CHUNK_NANOS;
+                final long delay = next - System.nanoTime();
+                if (delay > 0) {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Benchmark
+    public long download() {
+        return downloader.download(requestInfo, target, null, null);
+    }
+}
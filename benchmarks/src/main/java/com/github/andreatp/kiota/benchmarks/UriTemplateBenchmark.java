@@ -0,0 +1,66 @@
+package com.github.andreatp.kiota.benchmarks;
+
+import com.github.andreatp.kiota.http.UriTemplate;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestInformation;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the URI template expansion of {@link RequestInformation#getUri()} with the compiled
+ * and cached {@link UriTemplate} used by the adapters.
+ * Run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriTemplateBenchmark {
+    private static final String BASE_URL = "https://api.example.com/v1";
+    private static final String URL_TEMPLATE =
+            "{+baseurl}/users/{user%2Did}/messages{?%24top,%24skip,%24filter,%24orderby*}";
+
+    private RequestInformation requestInfo;
+
+    @Setup
+    public void setup() {
+        requestInfo = new RequestInformation();
+        requestInfo.httpMethod = HttpMethod.GET;
+        requestInfo.urlTemplate = URL_TEMPLATE;
+        requestInfo.pathParameters.put("baseurl", BASE_URL);
+        requestInfo.pathParameters.put("user%2Did", "6f0a3b1c-2d4e-4f60-8a7b-9c0d1e2f3a4b");
+        requestInfo.addQueryParameter("%24top", 25);
+        requestInfo.addQueryParameter("%24skip", 50);
+        requestInfo.addQueryParameter("%24filter", "isRead eq false and importance eq 'high'");
+        requestInfo.addQueryParameter(
+                "%24orderby", List.of("receivedDateTime desc", "subject"));
+    }
+
+    @Benchmark
+    public URI requestInformation() throws Exception {
+        return requestInfo.getUri();
+    }
+
+    @Benchmark
+    public URI compiledTemplate() throws Exception {
+        return new URI(
+                UriTemplate.compile(requestInfo.urlTemplate)
+                        .expand(
+                                BASE_URL,
+                                requestInfo.pathParameters,
+                                requestInfo.getQueryParameters()));
+    }
+}
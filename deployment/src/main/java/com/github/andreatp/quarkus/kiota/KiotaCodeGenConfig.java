@@ -31,6 +31,9 @@ public class KiotaCodeGenConfig {
     // Timout, in seconds, used when executing the Kiota CLI
     private static final int DEFAULT_TIMEOUT = 5;
     private static final String TIMEOUT = KIOTA_CONFIG_PREFIX + ".timeout";
+    // Register the records of the application for reflection, for native images serializing
+    // records put in the additional data of the models
+    private static final String REGISTER_RECORDS = KIOTA_CONFIG_PREFIX + ".register-records";
 
     // Kiota generate parameters
     private static final String DEFAULT_CLIENT_NAME = "ApiClient";
@@ -197,4 +200,12 @@ public class KiotaCodeGenConfig {
         }
         return DEFAULT_TIMEOUT;
     }
+
+    public static boolean isRegisterRecords(final Config config) {
+        String registerRecords = config.getConfigValue(REGISTER_RECORDS).getValue();
+        if (registerRecords != null) {
+            return Boolean.parseBoolean(registerRecords);
+        }
+        return false;
+    }
 }
@@ -0,0 +1,305 @@
+package com.github.andreatp.quarkus.kiota.deployment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.TypeInsnNode;
+
+/**
+ * Registers at class initialization the field deserializers of the Kiota models in the shared
+ * tables of the Jackson serialization, so the parse nodes stop calling getFieldDeserializers for
+ * every instance.
+ * The lambdas of the generated getFieldDeserializers methods capture the instance being
+ * deserialized: their bodies are private methods of the model taking the parse node. The table
+ * added to the model binds the same methods as non capturing lambdas receiving the instance, so
+ * the deserialization code stays the one generated by Kiota. Models whose getFieldDeserializers
+ * do not follow the generated shape are left untouched and keep the generic path.
+ */
+final class FieldDeserializersGenerator {
+    static final String FIELD_DESERIALIZERS =
+            "com/github/andreatp/kiota/serialization/FieldDeserializers";
+    static final String PARSABLE = "com/microsoft/kiota/serialization/Parsable";
+
+    private static final String PARSE_NODE = "com/microsoft/kiota/serialization/ParseNode";
+    private static final String GET_FIELD_DESERIALIZERS = "getFieldDeserializers";
+    private static final String MAP_DESCRIPTOR = "()Ljava/util/Map;";
+    private static final String LAMBDA_METAFACTORY = "java/lang/invoke/LambdaMetafactory";
+    private static final String REGISTER_METHOD = "$kiota$registerFieldDeserializers";
+
+    private FieldDeserializersGenerator() {}
+
+    /** The field deserializers of a model, read from its getFieldDeserializers method. */
+    static final class Table {
+        private final String className;
+        private final String superName;
+        private final boolean inherited;
+        private final List<String> keys = new ArrayList<>();
+        private final List<Handle> bodies = new ArrayList<>();
+
+        private Table(final String className, final String superName, final boolean inherited) {
+            this.className = className;
+            this.superName = superName;
+            this.inherited = inherited;
+        }
+
+        /** @return the internal name of the superclass. */
+        String getSuperName() {
+            return superName;
+        }
+
+        /** @return whether the deserializers of the superclass are part of the table. */
+        boolean isInherited() {
+            return inherited;
+        }
+    }
+
+    /**
+     * @param bytecode the class of a model.
+     * @return the deserializers of the model, null when its getFieldDeserializers method is not
+     *     in the generated shape.
+     */
+    static Table analyze(final byte[] bytecode) {
+        final ClassNode classNode = new ClassNode();
+        new ClassReader(bytecode).accept(classNode, ClassReader.SKIP_DEBUG);
+        MethodNode method = null;
+        for (final MethodNode candidate : classNode.methods) {
+            if (GET_FIELD_DESERIALIZERS.equals(candidate.name)
+                    && MAP_DESCRIPTOR.equals(candidate.desc)
+                    && (candidate.access & (Opcodes.ACC_STATIC | Opcodes.ACC_ABSTRACT)) == 0) {
+                method = candidate;
+            }
+        }
+        if (method == null) {
+            // the deserializers are the ones of the superclass
+            return new Table(classNode.name, classNode.superName, true);
+        }
+        final String capturing = "(L" + classNode.name + ";)Ljava/util/function/Consumer;";
+        final String body = "(L" + PARSE_NODE + ";)V";
+        boolean inherited = false;
+        String key = null;
+        Handle lambda = null;
+        final List<String> keys = new ArrayList<>();
+        final List<Handle> bodies = new ArrayList<>();
+        for (final AbstractInsnNode instruction : method.instructions) {
+            switch (instruction.getType()) {
+                case AbstractInsnNode.LDC_INSN:
+                    final Object constant = ((LdcInsnNode) instruction).cst;
+                    if (!(constant instanceof String) || key != null) {
+                        return null;
+                    }
+                    key = (String) constant;
+                    break;
+                case AbstractInsnNode.INVOKE_DYNAMIC_INSN:
+                    final InvokeDynamicInsnNode indy = (InvokeDynamicInsnNode) instruction;
+                    if (key == null
+                            || lambda != null
+                            || !LAMBDA_METAFACTORY.equals(indy.bsm.getOwner())
+                            || !capturing.equals(indy.desc)) {
+                        return null;
+                    }
+                    final Handle implementation = (Handle) indy.bsmArgs[1];
+                    if (!classNode.name.equals(implementation.getOwner())
+                            || !body.equals(implementation.getDesc())
+                            || implementation.getTag() == Opcodes.H_INVOKESTATIC) {
+                        return null;
+                    }
+                    lambda = implementation;
+                    break;
+                case AbstractInsnNode.METHOD_INSN:
+                    final MethodInsnNode invoke = (MethodInsnNode) instruction;
+                    if ("put".equals(invoke.name)
+                            && ("java/util/Map".equals(invoke.owner)
+                                    || "java/util/HashMap".equals(invoke.owner))) {
+                        if (lambda == null) {
+                            return null;
+                        }
+                        keys.add(key);
+                        bodies.add(lambda);
+                        key = null;
+                        lambda = null;
+                    } else if (GET_FIELD_DESERIALIZERS.equals(invoke.name)
+                            && invoke.getOpcode() == Opcodes.INVOKESPECIAL
+                            && classNode.superName.equals(invoke.owner)) {
+                        inherited = true;
+                    } else if (!"java/util/HashMap".equals(invoke.owner)
+                            || !"<init>".equals(invoke.name)) {
+                        return null;
+                    }
+                    break;
+                case AbstractInsnNode.TYPE_INSN:
+                    if (!"java/util/HashMap".equals(((TypeInsnNode) instruction).desc)) {
+                        return null;
+                    }
+                    break;
+                case AbstractInsnNode.FIELD_INSN:
+                case AbstractInsnNode.JUMP_INSN:
+                case AbstractInsnNode.TABLESWITCH_INSN:
+                case AbstractInsnNode.LOOKUPSWITCH_INSN:
+                case AbstractInsnNode.MULTIANEWARRAY_INSN:
+                    return null;
+                default:
+                    // loads, stores, constants, pop and return
+            }
+        }
+        if (key != null || lambda != null) {
+            return null;
+        }
+        final Table table = new Table(classNode.name, classNode.superName, inherited);
+        table.keys.addAll(keys);
+        table.bodies.addAll(bodies);
+        return table;
+    }
+
+    /**
+     * @param visitor the next visitor of the model class.
+     * @param table the deserializers of the model.
+     * @return a visitor adding the registration of the table to the class initialization.
+     */
+    static ClassVisitor transform(final ClassVisitor visitor, final Table table) {
+        return new ClassVisitor(Opcodes.ASM9, visitor) {
+            private boolean initializer;
+
+            @Override
+            public MethodVisitor visitMethod(
+                    final int access,
+                    final String name,
+                    final String descriptor,
+                    final String signature,
+                    final String[] exceptions) {
+                final MethodVisitor method =
+                        super.visitMethod(access, name, descriptor, signature, exceptions);
+                if (!"<clinit>".equals(name)) {
+                    return method;
+                }
+                initializer = true;
+                return new MethodVisitor(Opcodes.ASM9, method) {
+                    @Override
+                    public void visitCode() {
+                        super.visitCode();
+                        callRegister(mv, table);
+                    }
+                };
+            }
+
+            @Override
+            public void visitEnd() {
+                if (!initializer) {
+                    final MethodVisitor method =
+                            super.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+                    method.visitCode();
+                    callRegister(method, table);
+                    method.visitInsn(Opcodes.RETURN);
+                    method.visitMaxs(0, 0);
+                    method.visitEnd();
+                }
+                writeRegister(
+                        super.visitMethod(
+                                Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC,
+                                REGISTER_METHOD,
+                                "()V",
+                                null,
+                                null),
+                        table);
+                super.visitEnd();
+            }
+        };
+    }
+
+    private static void callRegister(final MethodVisitor method, final Table table) {
+        method.visitMethodInsn(
+                Opcodes.INVOKESTATIC, table.className, REGISTER_METHOD, "()V", false);
+    }
+
+    private static void writeRegister(final MethodVisitor method, final Table table) {
+        final Handle metafactory =
+                new Handle(
+                        Opcodes.H_INVOKESTATIC,
+                        LAMBDA_METAFACTORY,
+                        "metafactory",
+                        "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;"
+                                + "Ljava/lang/invoke/MethodType;Ljava/lang/invoke/MethodType;"
+                                + "Ljava/lang/invoke/MethodHandle;Ljava/lang/invoke/MethodType;)"
+                                + "Ljava/lang/invoke/CallSite;",
+                        false);
+        final Type erased = Type.getMethodType("(Ljava/lang/Object;Ljava/lang/Object;)V");
+        final Type instantiated =
+                Type.getMethodType("(L" + table.className + ";L" + PARSE_NODE + ";)V");
+        method.visitCode();
+        method.visitTypeInsn(Opcodes.NEW, "java/util/HashMap");
+        method.visitInsn(Opcodes.DUP);
+        if (table.inherited) {
+            // the superclass is initialized first, its table is already registered
+            method.visitLdcInsn(Type.getObjectType(table.superName));
+            method.visitMethodInsn(
+                    Opcodes.INVOKESTATIC,
+                    FIELD_DESERIALIZERS,
+                    "of",
+                    "(Ljava/lang/Class;)Ljava/util/Map;",
+                    false);
+            method.visitMethodInsn(
+                    Opcodes.INVOKESPECIAL,
+                    "java/util/HashMap",
+                    "<init>",
+                    "(Ljava/util/Map;)V",
+                    false);
+        } else {
+            method.visitMethodInsn(
+                    Opcodes.INVOKESPECIAL, "java/util/HashMap", "<init>", "()V", false);
+        }
+        method.visitVarInsn(Opcodes.ASTORE, 0);
+        for (int i = 0; i < table.keys.size(); i++) {
+            method.visitVarInsn(Opcodes.ALOAD, 0);
+            method.visitLdcInsn(table.keys.get(i));
+            method.visitInvokeDynamicInsn(
+                    "accept",
+                    "()Ljava/util/function/BiConsumer;",
+                    metafactory,
+                    erased,
+                    table.bodies.get(i),
+                    instantiated);
+            method.visitMethodInsn(
+                    Opcodes.INVOKEINTERFACE,
+                    "java/util/Map",
+                    "put",
+                    "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;",
+                    true);
+            method.visitInsn(Opcodes.POP);
+        }
+        method.visitLdcInsn(Type.getObjectType(table.className));
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitMethodInsn(
+                Opcodes.INVOKESTATIC,
+                FIELD_DESERIALIZERS,
+                "register",
+                "(Ljava/lang/Class;Ljava/util/Map;)V",
+                false);
+        method.visitInsn(Opcodes.RETURN);
+        method.visitMaxs(4, 1);
+        method.visitEnd();
+    }
+
+    /**
+     * @param tables the analyzed models by internal name.
+     * @param table a model.
+     * @return whether the deserializers of all the superclasses are registered too.
+     */
+    static boolean isComplete(final Map<String, Table> tables, final Table table) {
+        Table current = table;
+        while (current != null && current.inherited) {
+            current = tables.get(current.superName);
+        }
+        return current != null;
+    }
+}
@@ -1,7 +1,20 @@
 package com.github.andreatp.quarkus.kiota.deployment;
 
+import com.github.andreatp.quarkus.kiota.KiotaCodeGenConfig;
+import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.builditem.ApplicationIndexBuildItem;
+import io.quarkus.deployment.builditem.BytecodeTransformerBuildItem;
+import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
 
 class KiotaProcessor {
     private static final String FEATURE = "quarkus-kiota";
@@ -10,4 +23,72 @@ class KiotaProcessor {
     FeatureBuildItem feature() {
         return new FeatureBuildItem(FEATURE);
     }
+
+    // records in the additional data are serialized through their components accessors, the
+    // records declared by the application are registered when opted in
+    @BuildStep
+    void registerRecords(
+            ApplicationIndexBuildItem applicationIndex,
+            BuildProducer<ReflectiveClassBuildItem> reflectiveClasses) {
+        if (!KiotaCodeGenConfig.isRegisterRecords(ConfigProvider.getConfig())) {
+            return;
+        }
+        final String[] records =
+                applicationIndex.getIndex().getKnownClasses().stream()
+                        .filter(ClassInfo::isRecord)
+                        .map(classInfo -> classInfo.name().toString())
+                        .toArray(String[]::new);
+        if (records.length > 0) {
+            reflectiveClasses.produce(
+                    ReflectiveClassBuildItem.builder(records).methods(true).fields(true).build());
+        }
+    }
+
+    // the generated models register their field deserializers once, when the Jackson
+    // serialization is used, instead of building them for every instance
+    @BuildStep
+    void registerFieldDeserializers(
+            CombinedIndexBuildItem combinedIndex,
+            BuildProducer<BytecodeTransformerBuildItem> transformers) {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader.getResource(FieldDeserializersGenerator.FIELD_DESERIALIZERS + ".class")
+                == null) {
+            return;
+        }
+        final Map<String, FieldDeserializersGenerator.Table> tables = new HashMap<>();
+        for (final ClassInfo model :
+                combinedIndex
+                        .getIndex()
+                        .getAllKnownImplementors(
+                                DotName.createSimple(
+                                        FieldDeserializersGenerator.PARSABLE.replace('/', '.')))) {
+            if (model.isInterface()) {
+                continue;
+            }
+            final String internalName = model.name().toString().replace('.', '/');
+            try (InputStream bytecode = classLoader.getResourceAsStream(internalName + ".class")) {
+                if (bytecode == null) {
+                    continue;
+                }
+                final FieldDeserializersGenerator.Table table =
+                        FieldDeserializersGenerator.analyze(bytecode.readAllBytes());
+                if (table != null) {
+                    tables.put(internalName, table);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("could not read the class " + model.name(), e);
+            }
+        }
+        for (final Map.Entry<String, FieldDeserializersGenerator.Table> entry : tables.entrySet()) {
+            final FieldDeserializersGenerator.Table table = entry.getValue();
+            // a table missing the deserializers of a superclass would drop fields
+            if (FieldDeserializersGenerator.isComplete(tables, table)) {
+                transformers.produce(
+                        new BytecodeTransformerBuildItem(
+                                entry.getKey().replace('/', '.'),
+                                (className, visitor) ->
+                                        FieldDeserializersGenerator.transform(visitor, table)));
+            }
+        }
+    }
 }
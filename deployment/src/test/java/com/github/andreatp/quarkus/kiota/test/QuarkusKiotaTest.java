@@ -1,23 +1,185 @@
 package com.github.andreatp.quarkus.kiota.test;
 
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.FieldDeserializers;
+import com.github.andreatp.kiota.serialization.JsonParseNodeFactory;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
 import io.quarkus.test.QuarkusUnitTest;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
-import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 public class QuarkusKiotaTest {
 
-    // Start unit test with your extension loaded
     @RegisterExtension
     static final QuarkusUnitTest unitTest =
-            new QuarkusUnitTest().setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class));
+            new QuarkusUnitTest()
+                    .setArchiveProducer(
+                            () ->
+                                    ShrinkWrap.create(JavaArchive.class)
+                                            .addClasses(User.class, Manager.class, Group.class));
+
+    private static final String json =
+            "{\"id\":\"1\",\"displayName\":\"Ada\",\"reports\":3,\"members\":2}";
+
+    /** A model in the shape generated by Kiota. */
+    public static class User implements Parsable {
+        private String id;
+        private String displayName;
+
+        public String getId() {
+            return this.id;
+        }
+
+        public void setId(final String value) {
+            this.id = value;
+        }
+
+        public String getDisplayName() {
+            return this.displayName;
+        }
+
+        public void setDisplayName(final String value) {
+            this.displayName = value;
+        }
+
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            final HashMap<String, Consumer<ParseNode>> deserializerMap =
+                    new HashMap<String, Consumer<ParseNode>>(2);
+            deserializerMap.put(
+                    "id",
+                    (n) -> {
+                        this.setId(n.getStringValue());
+                    });
+            deserializerMap.put(
+                    "displayName",
+                    (n) -> {
+                        this.setDisplayName(n.getStringValue());
+                    });
+            return deserializerMap;
+        }
+
+        public void serialize(final SerializationWriter writer) {
+            Objects.requireNonNull(writer);
+            writer.writeStringValue("id", this.getId());
+            writer.writeStringValue("displayName", this.getDisplayName());
+        }
+    }
+
+    /** A derived model in the shape generated by Kiota, extending the fields of its parent. */
+    public static class Manager extends User {
+        private Integer reports;
+
+        public Integer getReports() {
+            return this.reports;
+        }
+
+        public void setReports(final Integer value) {
+            this.reports = value;
+        }
+
+        @Override
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            final HashMap<String, Consumer<ParseNode>> deserializerMap =
+                    new HashMap<String, Consumer<ParseNode>>(super.getFieldDeserializers());
+            deserializerMap.put(
+                    "reports",
+                    (n) -> {
+                        this.setReports(n.getIntegerValue());
+                    });
+            return deserializerMap;
+        }
+
+        @Override
+        public void serialize(final SerializationWriter writer) {
+            super.serialize(writer);
+            writer.writeIntegerValue("reports", this.getReports());
+        }
+    }
+
+    /** A hand written model, not in the shape generated by Kiota. */
+    public static class Group implements Parsable {
+        private String id;
+        private Integer members;
+
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            return Map.of(
+                    "id",
+                    n -> id = n.getStringValue(),
+                    "members",
+                    n -> members = n.getIntegerValue());
+        }
+
+        public void serialize(final SerializationWriter writer) {
+            writer.writeStringValue("id", id);
+            writer.writeIntegerValue("members", members);
+        }
+    }
+
+    private static <T extends Parsable> T parse(final ParsableFactory<T> factory) {
+        return new JsonParseNodeFactory()
+                .getParseNode(
+                        "application/json",
+                        new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+                .getObjectValue(factory);
+    }
+
+    /** Parses through the generic path, without the table registered for the class. */
+    private static <T extends Parsable> T parseWithoutTable(
+            final Class<T> type, final ParsableFactory<T> factory) {
+        final Map<String, BiConsumer<Object, ParseNode>> table = FieldDeserializers.of(type);
+        assertFalse(table.isEmpty());
+        FieldDeserializers.unregister(type);
+        try {
+            return parse(factory);
+        } finally {
+            FieldDeserializers.register(type, table);
+        }
+    }
 
     @Test
-    public void writeYourOwnUnitTest() {
-        // Write your unit tests here - see the testing extension guide
-        // https://quarkus.io/guides/writing-extensions#testing-extensions for more information
-        Assertions.assertTrue(true, "Add some assertions to " + getClass().getName());
+    public void RegistersTheTablesOfTheGeneratedModels() {
+        // the tables are registered when the classes are initialized
+        parse(n -> new User());
+        parse(n -> new Manager());
+        parse(n -> new Group());
+        assertEquals(Set.of("id", "displayName"), FieldDeserializers.of(User.class).keySet());
+        assertEquals(
+                Set.of("id", "displayName", "reports"),
+                FieldDeserializers.of(Manager.class).keySet());
+        assertTrue(FieldDeserializers.of(Group.class).isEmpty());
+    }
+
+    @Test
+    public void ParsesAsTheGenericPath() {
+        final User user = parse(n -> new User());
+        final User genericUser = parseWithoutTable(User.class, n -> new User());
+        assertEquals("1", user.getId());
+        assertEquals(genericUser.getId(), user.getId());
+        assertEquals(genericUser.getDisplayName(), user.getDisplayName());
+
+        final Manager manager = parse(n -> new Manager());
+        final Manager genericManager = parseWithoutTable(Manager.class, n -> new Manager());
+        assertEquals(Integer.valueOf(3), manager.getReports());
+        assertEquals(genericManager.getId(), manager.getId());
+        assertEquals(genericManager.getDisplayName(), manager.getDisplayName());
+        assertEquals(genericManager.getReports(), manager.getReports());
+
+        final Group group = parse(n -> new Group());
+        assertEquals("1", group.id);
+        assertEquals(Integer.valueOf(2), group.members);
     }
 }
@@ -0,0 +1,150 @@
+package com.github.andreatp.kiota.http;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.PriorityQueue;
+
+/**
+ * A named partition bounding the number of in-flight requests. Requests exceeding the concurrency
+ * wait in a priority queue, blocking or asynchronously, requests exceeding the queue are rejected.
+ */
+public class Bulkhead {
+    @Nonnull private final String name;
+    private final int maxConcurrency;
+    private final int maxQueueSize;
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>();
+    private int inFlight;
+    private long sequence;
+
+    Bulkhead(@Nonnull final String name, final int maxConcurrency, final int maxQueueSize) {
+        this.name = Objects.requireNonNull(name, "parameter name cannot be null");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than 0");
+        }
+        if (maxQueueSize < 0) {
+            throw new IllegalArgumentException("maxQueueSize cannot be negative");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * Takes a slot in the partition, waiting in the queue if the partition is saturated.
+     * @param priority the priority of the request in the queue.
+     * @throws BulkheadFullException when the queue is full.
+     * @throws InterruptedException when interrupted while waiting.
+     */
+    public synchronized void acquire(@Nonnull final BulkheadOption.Priority priority)
+            throws InterruptedException {
+        if (inFlight < maxConcurrency) {
+            inFlight++;
+            return;
+        }
+        if (queue.size() >= maxQueueSize) {
+            throw new BulkheadFullException(name, maxConcurrency, maxQueueSize);
+        }
+        final Waiter waiter = new Waiter(priority, sequence++, null);
+        queue.add(waiter);
+        try {
+            while (!waiter.granted) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            if (waiter.granted) {
+                release();
+            } else {
+                queue.remove(waiter);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Takes a slot in the partition without blocking the calling thread.
+     * @param priority the priority of the request in the queue.
+     * @return completed once the slot is taken, on the thread releasing it when the partition is
+     *     saturated, or failed with a {@link BulkheadFullException} when the queue is full.
+     */
+    @Nonnull
+    public CompletableFuture<Void> acquireAsync(@Nonnull final BulkheadOption.Priority priority) {
+        synchronized (this) {
+            if (inFlight < maxConcurrency) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (queue.size() < maxQueueSize) {
+                final Waiter waiter = new Waiter(priority, sequence++, new CompletableFuture<>());
+                queue.add(waiter);
+                return waiter.slot;
+            }
+        }
+        return CompletableFuture.failedFuture(
+                new BulkheadFullException(name, maxConcurrency, maxQueueSize));
+    }
+
+    /** Gives back a slot, handing it over to the first waiter in priority order. */
+    public void release() {
+        final Waiter next;
+        synchronized (this) {
+            next = queue.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            next.granted = true;
+            if (next.slot == null) {
+                notifyAll();
+                return;
+            }
+        }
+        // completes the asynchronous waiters outside of the lock, a cancelled one gives it back
+        if (!next.slot.complete(null)) {
+            release();
+        }
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+        private final BulkheadOption.Priority priority;
+        private final long sequence;
+        @Nullable private final CompletableFuture<Void> slot; // null for the blocked threads
+        private boolean granted;
+
+        private Waiter(
+                final BulkheadOption.Priority priority,
+                final long sequence,
+                @Nullable final CompletableFuture<Void> slot) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.slot = slot;
+        }
+
+        @Override
+        public int compareTo(final Waiter other) {
+            final int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
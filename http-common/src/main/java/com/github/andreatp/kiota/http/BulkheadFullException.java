@@ -0,0 +1,28 @@
+package com.github.andreatp.kiota.http;
+
+import jakarta.annotation.Nonnull;
+
+/** Thrown when a request is rejected because its bulkhead partition and queue are full. */
+public class BulkheadFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    @Nonnull private final String partition;
+
+    public BulkheadFullException(
+            @Nonnull final String partition, final int maxConcurrency, final int maxQueueSize) {
+        super(
+                "bulkhead "
+                        + partition
+                        + " is full: "
+                        + maxConcurrency
+                        + " requests in flight and "
+                        + maxQueueSize
+                        + " queued");
+        this.partition = partition;
+    }
+
+    @Nonnull
+    public String getPartition() {
+        return partition;
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.andreatp.kiota.http;
+
+import com.microsoft.kiota.RequestOption;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Objects;
+
+/** Selects the bulkhead partition and the dispatch priority of a request. */
+public class BulkheadOption implements RequestOption {
+    /**
+     * Dispatch priority, interactive calls are served before batch calls when a partition is full.
+     */
+    public enum Priority {
+        INTERACTIVE,
+        DEFAULT,
+        BATCH
+    }
+
+    @Nullable private final String partition;
+    @Nonnull private final Priority priority;
+
+    /**
+     * Creates a new option.
+     * @param partition the name of the partition, null to select it by URI template.
+     */
+    public BulkheadOption(@Nullable final String partition) {
+        this(partition, Priority.DEFAULT);
+    }
+
+    /**
+     * Creates a new option.
+     * @param partition the name of the partition, null to select it by URI template.
+     * @param priority the priority of the request in the partition queue.
+     */
+    public BulkheadOption(@Nullable final String partition, @Nonnull final Priority priority) {
+        this.partition = partition;
+        this.priority = Objects.requireNonNull(priority, "parameter priority cannot be null");
+    }
+
+    /**
+     * Creates a new option only setting the priority of the request.
+     * @param priority the priority of the request in the partition queue.
+     * @return the option.
+     */
+    @Nonnull
+    public static BulkheadOption withPriority(@Nonnull final Priority priority) {
+        return new BulkheadOption(null, priority);
+    }
+
+    @Nullable
+    public String getPartition() {
+        return partition;
+    }
+
+    @Nonnull
+    public Priority getPriority() {
+        return priority;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) BulkheadOption.class;
+    }
+}
@@ -0,0 +1,221 @@
+package com.github.andreatp.kiota.http;
+
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.RequestOption;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The bulkhead partitions of an adapter. A request goes to the partition named by its {@link
+ * BulkheadOption}, otherwise to the partition bound to its URI template, otherwise to the {@link
+ * #DEFAULT} partition if registered. Requests without a partition are not limited.
+ */
+public class Bulkheads {
+    /** Name of the partition used for requests not matching any other partition. */
+    public static final String DEFAULT = "default";
+
+    private final Map<String, Bulkhead> partitions = new ConcurrentHashMap<>();
+    private final Map<String, String> urlTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a new partition, replacing any previous one with the same name.
+     * @param name the name of the partition.
+     * @param maxConcurrency the maximum number of requests in flight.
+     * @param maxQueueSize the maximum number of requests waiting for a slot.
+     * @return the partition.
+     */
+    @Nonnull
+    public Bulkhead register(
+            @Nonnull final String name, final int maxConcurrency, final int maxQueueSize) {
+        final Bulkhead bulkhead = new Bulkhead(name, maxConcurrency, maxQueueSize);
+        partitions.put(name, bulkhead);
+        return bulkhead;
+    }
+
+    /**
+     * Routes all the requests built from a URI template to a partition.
+     * @param urlTemplate the URI template, as found in the generated request builders.
+     * @param name the name of the partition.
+     */
+    public void bindUrlTemplate(@Nonnull final String urlTemplate, @Nonnull final String name) {
+        urlTemplates.put(
+                Objects.requireNonNull(urlTemplate, "parameter urlTemplate cannot be null"),
+                Objects.requireNonNull(name, "parameter name cannot be null"));
+    }
+
+    @Nullable
+    public Bulkhead get(@Nonnull final String name) {
+        return partitions.get(name);
+    }
+
+    /**
+     * Takes a slot in the partition of the request.
+     * @return the partition to release once the request completes, null if the request is not
+     *     limited.
+     */
+    @Nullable
+    public Bulkhead acquire(@Nonnull final RequestInformation requestInfo) {
+        if (partitions.isEmpty()) {
+            return null;
+        }
+        final BulkheadOption option = getOption(requestInfo);
+        final Bulkhead bulkhead = getPartition(requestInfo, option);
+        if (bulkhead == null) {
+            return null;
+        }
+        try {
+            bulkhead.acquire(getPriority(option));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(
+                    "could not acquire a slot of bulkhead " + bulkhead.getName(), e);
+        }
+        return bulkhead;
+    }
+
+    /**
+     * Takes a slot in the partition of the request without blocking the calling thread.
+     * @return completed with the partition to release once the request completes, with null if the
+     *     request is not limited. Cancelling it gives back the slot.
+     */
+    @Nonnull
+    public CompletableFuture<Bulkhead> acquireAsync(@Nonnull final RequestInformation requestInfo) {
+        if (partitions.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final BulkheadOption option = getOption(requestInfo);
+        final Bulkhead bulkhead;
+        try {
+            bulkhead = getPartition(requestInfo, option);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (bulkhead == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final CompletableFuture<Void> slot = bulkhead.acquireAsync(getPriority(option));
+        final CompletableFuture<Bulkhead> result = slot.thenApply(v -> bulkhead);
+        result.whenComplete(
+                (value, error) -> {
+                    // a cancelled request gives back its slot, or its place in the queue
+                    if (result.isCancelled()
+                            && !slot.cancel(false)
+                            && !slot.isCompletedExceptionally()) {
+                        bulkhead.release();
+                    }
+                });
+        return result;
+    }
+
+    @Nullable
+    private static BulkheadOption getOption(@Nonnull final RequestInformation requestInfo) {
+        for (final RequestOption rOption : requestInfo.getRequestOptions()) {
+            if (rOption instanceof BulkheadOption) {
+                return (BulkheadOption) rOption;
+            }
+        }
+        return null;
+    }
+
+    @Nonnull
+    private static BulkheadOption.Priority getPriority(@Nullable final BulkheadOption option) {
+        return option == null ? BulkheadOption.Priority.DEFAULT : option.getPriority();
+    }
+
+    @Nullable
+    private Bulkhead getPartition(
+            @Nonnull final RequestInformation requestInfo, @Nullable final BulkheadOption option) {
+        if (option != null && option.getPartition() != null) {
+            final Bulkhead bulkhead = partitions.get(option.getPartition());
+            if (bulkhead == null) {
+                throw new IllegalArgumentException(
+                        "no bulkhead registered with name " + option.getPartition());
+            }
+            return bulkhead;
+        }
+        final String name =
+                requestInfo.urlTemplate == null ? null : urlTemplates.get(requestInfo.urlTemplate);
+        return partitions.get(name == null ? DEFAULT : name);
+    }
+
+    /**
+     * Runs a request in a slot of its partition, released once the request returns.
+     * @param requestInfo the request.
+     * @param request sends the request and reads its response.
+     * @return the result of the request.
+     */
+    @Nullable
+    public <T> T call(
+            @Nonnull final RequestInformation requestInfo, @Nonnull final Supplier<T> request) {
+        final Bulkhead bulkhead = acquire(requestInfo);
+        if (bulkhead == null) {
+            return request.get();
+        }
+        try {
+            return request.get();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Runs a request returning its body as a stream, the slot of its partition is held until the
+     * stream is closed.
+     * @param requestInfo the request.
+     * @param request sends the request and returns its body.
+     * @return the body, to be closed by the caller.
+     */
+    @Nullable
+    public InputStream stream(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Supplier<InputStream> request) {
+        final Bulkhead bulkhead = acquire(requestInfo);
+        if (bulkhead == null) {
+            return request.get();
+        }
+        final InputStream body;
+        try {
+            body = request.get();
+        } catch (RuntimeException | Error e) {
+            bulkhead.release();
+            throw e;
+        }
+        if (body == null) {
+            bulkhead.release();
+            return null;
+        }
+        return new ReleasingInputStream(body, bulkhead);
+    }
+
+    private static final class ReleasingInputStream extends FilterInputStream {
+        private final Bulkhead bulkhead;
+        private boolean released;
+
+        private ReleasingInputStream(final InputStream in, final Bulkhead bulkhead) {
+            super(in);
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                synchronized (this) {
+                    if (!released) {
+                        released = true;
+                        bulkhead.release();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.github.andreatp.kiota.http;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The content codings negotiated by an adapter. Compressed responses are decoded while being
+ * parsed, request bodies above a threshold are optionally compressed.
+ */
+public class Compression {
+    /** The gzip coding. */
+    public static final ContentCodec GZIP = new GzipCodec();
+
+    /** The deflate coding, accepting both zlib wrapped and raw deflate data when decoding. */
+    public static final ContentCodec DEFLATE = new DeflateCodec();
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Map<String, ContentCodec> codecs = new ConcurrentHashMap<>();
+    private final CompressionMetrics metrics = new CompressionMetrics();
+    @Nullable private volatile String acceptEncoding;
+    private volatile boolean acceptCompressed = true;
+    @Nullable private volatile ContentCodec requestCodec;
+    private volatile int requestThreshold;
+
+    public Compression() {
+        register(GZIP);
+        register(DEFLATE);
+    }
+
+    /**
+     * Registers a coding, replacing any previous one with the same name.
+     * @param codec the coding.
+     */
+    public synchronized void register(@Nonnull final ContentCodec codec) {
+        Objects.requireNonNull(codec, "parameter codec cannot be null");
+        final String encoding = codec.getEncoding().toLowerCase(Locale.ROOT);
+        codecs.put(encoding, codec);
+        final String current = acceptEncoding;
+        if (current == null) {
+            acceptEncoding = encoding;
+        } else if (!(", " + current + ",").contains(", " + encoding + ",")) {
+            acceptEncoding = current + ", " + encoding;
+        }
+    }
+
+    /**
+     * Whether the Accept-Encoding header listing the registered codings is sent, enabled by
+     * default.
+     * @param acceptCompressed false to ask for plain responses.
+     */
+    public void setAcceptCompressed(final boolean acceptCompressed) {
+        this.acceptCompressed = acceptCompressed;
+    }
+
+    /**
+     * Compresses the request bodies, disabled by default as the server must support the coding.
+     * @param encoding the name of a registered coding.
+     * @param thresholdBytes the minimum size of the bodies to compress.
+     */
+    public void compressRequests(@Nonnull final String encoding, final int thresholdBytes) {
+        Objects.requireNonNull(encoding, "parameter encoding cannot be null");
+        final ContentCodec codec = codecs.get(encoding.toLowerCase(Locale.ROOT));
+        if (codec == null) {
+            throw new IllegalArgumentException("no codec registered for encoding " + encoding);
+        }
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("thresholdBytes cannot be negative");
+        }
+        this.requestThreshold = thresholdBytes;
+        this.requestCodec = codec;
+    }
+
+    /** Sends the request bodies uncompressed. */
+    public void disableRequestCompression() {
+        this.requestCodec = null;
+    }
+
+    /**
+     * @return the value of the Accept-Encoding header to send, null if none should be sent.
+     */
+    @Nullable
+    public String getAcceptEncoding() {
+        return acceptCompressed ? acceptEncoding : null;
+    }
+
+    @Nonnull
+    public CompressionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the coding to apply to a request body of the given size, null to send it as is.
+     */
+    @Nullable
+    public ContentCodec getRequestCodec(final int size) {
+        final ContentCodec codec = requestCodec;
+        return codec != null && size >= requestThreshold ? codec : null;
+    }
+
+    /**
+     * Compresses a request body.
+     * @return the compressed body.
+     */
+    @Nonnull
+    public byte[] encode(@Nonnull final ContentCodec codec, @Nonnull final InputStream content) {
+        final long start = System.nanoTime();
+        try (content) {
+            final ByteArrayOutputStream result = new ByteArrayOutputStream(BUFFER_SIZE);
+            long size = 0;
+            try (OutputStream out = codec.encode(result)) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    size += read;
+                }
+            }
+            metrics.encodedRequests.increment();
+            metrics.encodedBytesIn.add(size);
+            metrics.encodedBytesOut.add(result.size());
+            metrics.encodeNanos.add(System.nanoTime() - start);
+            return result.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Decodes a response body while it is read.
+     * @param contentEncoding the Content-Encoding header of the response.
+     * @param body the body as received.
+     * @return the decoded body, the body as received when not encoded or encoded with an unknown
+     *     coding.
+     */
+    @Nonnull
+    public InputStream decode(
+            @Nullable final String contentEncoding, @Nonnull final InputStream body) {
+        if (contentEncoding == null || contentEncoding.isEmpty()) {
+            return body;
+        }
+        final String[] encodings = contentEncoding.split(",");
+        final ContentCodec[] chain = new ContentCodec[encodings.length];
+        int length = 0;
+        for (final String encoding : encodings) {
+            final String name = encoding.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty() || name.equals("identity")) {
+                continue;
+            }
+            final ContentCodec codec = codecs.get(name);
+            if (codec == null) {
+                return body;
+            }
+            chain[length++] = codec;
+        }
+        if (length == 0) {
+            return body;
+        }
+        final Metered metered = new Metered(body);
+        InputStream result = metered.raw;
+        try {
+            // codecs reading a header eagerly would fail on empty bodies
+            final PushbackInputStream pushback = new PushbackInputStream(result, 1);
+            final int first = pushback.read();
+            if (first == -1) {
+                return pushback;
+            }
+            pushback.unread(first);
+            result = pushback;
+            // codings are listed in the order they were applied
+            for (int i = length - 1; i >= 0; i--) {
+                result = chain[i].decode(result);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        metrics.decodedResponses.increment();
+        return metered.decoded(result);
+    }
+
+    /**
+     * Meters a decoded stream, the time spent in reads of the encoded stream is not accounted as
+     * decoding.
+     */
+    private final class Metered {
+        private final InputStream raw;
+        private long rawNanos;
+
+        private Metered(final InputStream body) {
+            this.raw =
+                    new FilterInputStream(body) {
+                        @Override
+                        public int read() throws IOException {
+                            final long start = System.nanoTime();
+                            final int result = in.read();
+                            rawNanos += System.nanoTime() - start;
+                            if (result != -1) {
+                                metrics.decodedBytesIn.increment();
+                            }
+                            return result;
+                        }
+
+                        @Override
+                        public int read(final byte[] b, final int off, final int len)
+                                throws IOException {
+                            final long start = System.nanoTime();
+                            final int result = in.read(b, off, len);
+                            rawNanos += System.nanoTime() - start;
+                            if (result > 0) {
+                                metrics.decodedBytesIn.add(result);
+                            }
+                            return result;
+                        }
+                    };
+        }
+
+        private InputStream decoded(final InputStream decoded) {
+            return new FilterInputStream(decoded) {
+                @Override
+                public int read() throws IOException {
+                    final long start = System.nanoTime();
+                    final long rawStart = rawNanos;
+                    final int result = in.read();
+                    metrics.decodeNanos.add(System.nanoTime() - start - (rawNanos - rawStart));
+                    if (result != -1) {
+                        metrics.decodedBytesOut.increment();
+                    }
+                    return result;
+                }
+
+                @Override
+                public int read(final byte[] b, final int off, final int len) throws IOException {
+                    final long start = System.nanoTime();
+                    final long rawStart = rawNanos;
+                    final int result = in.read(b, off, len);
+                    metrics.decodeNanos.add(System.nanoTime() - start - (rawNanos - rawStart));
+                    if (result > 0) {
+                        metrics.decodedBytesOut.add(result);
+                    }
+                    return result;
+                }
+
+                @Override
+                public long skip(final long n) throws IOException {
+                    final byte[] buffer = new byte[(int) Math.min(n, BUFFER_SIZE)];
+                    long skipped = 0;
+                    while (skipped < n) {
+                        final int result =
+                                read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+                        if (result < 0) {
+                            break;
+                        }
+                        skipped += result;
+                    }
+                    return skipped;
+                }
+            };
+        }
+    }
+
+    private static final class GzipCodec implements ContentCodec {
+        @Override
+        public String getEncoding() {
+            return "gzip";
+        }
+
+        @Override
+        public InputStream decode(final InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+
+        @Override
+        public OutputStream encode(final OutputStream out) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+    }
+
+    private static final class DeflateCodec implements ContentCodec {
+        @Override
+        public String getEncoding() {
+            return "deflate";
+        }
+
+        @Override
+        public InputStream decode(final InputStream in) throws IOException {
+            // some servers send raw deflate data instead of the zlib format required by the spec
+            final BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+            buffered.mark(2);
+            final int cmf = buffered.read();
+            final int flg = buffered.read();
+            buffered.reset();
+            final boolean zlib =
+                    cmf != -1 && flg != -1 && (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+            return new InflaterInputStream(buffered, new Inflater(!zlib), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inf.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public OutputStream encode(final OutputStream out) {
+            return new DeflaterOutputStream(out);
+        }
+    }
+}
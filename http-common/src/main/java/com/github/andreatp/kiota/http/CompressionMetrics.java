@@ -0,0 +1,71 @@
+package com.github.andreatp.kiota.http;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counters of the compressed payloads going through an adapter. */
+public class CompressionMetrics {
+    final LongAdder decodedResponses = new LongAdder();
+    final LongAdder decodedBytesIn = new LongAdder();
+    final LongAdder decodedBytesOut = new LongAdder();
+    final LongAdder decodeNanos = new LongAdder();
+    final LongAdder encodedRequests = new LongAdder();
+    final LongAdder encodedBytesIn = new LongAdder();
+    final LongAdder encodedBytesOut = new LongAdder();
+    final LongAdder encodeNanos = new LongAdder();
+
+    CompressionMetrics() {}
+
+    /** @return the number of compressed responses. */
+    public long getDecodedResponses() {
+        return decodedResponses.sum();
+    }
+
+    /** @return the compressed bytes read from responses. */
+    public long getDecodedBytesIn() {
+        return decodedBytesIn.sum();
+    }
+
+    /** @return the bytes obtained decoding responses. */
+    public long getDecodedBytesOut() {
+        return decodedBytesOut.sum();
+    }
+
+    /**
+     * @return the time spent decoding responses, excluding the time spent waiting for the network.
+     */
+    public long getDecodeNanos() {
+        return decodeNanos.sum();
+    }
+
+    /** @return the number of compressed requests. */
+    public long getEncodedRequests() {
+        return encodedRequests.sum();
+    }
+
+    /** @return the plain bytes of the compressed requests. */
+    public long getEncodedBytesIn() {
+        return encodedBytesIn.sum();
+    }
+
+    /** @return the bytes sent for the compressed requests. */
+    public long getEncodedBytesOut() {
+        return encodedBytesOut.sum();
+    }
+
+    /** @return the time spent compressing requests. */
+    public long getEncodeNanos() {
+        return encodeNanos.sum();
+    }
+
+    /** @return decoded bytes per compressed byte read, 0 when nothing was decoded yet. */
+    public double getResponseCompressionRatio() {
+        final long in = getDecodedBytesIn();
+        return in == 0 ? 0 : (double) getDecodedBytesOut() / in;
+    }
+
+    /** @return plain bytes per compressed byte sent, 0 when nothing was encoded yet. */
+    public double getRequestCompressionRatio() {
+        final long out = getEncodedBytesOut();
+        return out == 0 ? 0 : (double) getEncodedBytesIn() / out;
+    }
+}
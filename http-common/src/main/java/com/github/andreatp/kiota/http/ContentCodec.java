@@ -0,0 +1,34 @@
+package com.github.andreatp.kiota.http;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A content coding, as found in the Content-Encoding and Accept-Encoding headers. gzip and deflate
+ * are built in, other codings (e.g. br or zstd) can be registered in {@link Compression}.
+ */
+public interface ContentCodec {
+    /**
+     * @return the name of the coding, e.g. gzip.
+     */
+    @Nonnull
+    String getEncoding();
+
+    /**
+     * Wraps an encoded stream.
+     * @param in the encoded stream.
+     * @return the decoded stream.
+     */
+    @Nonnull
+    InputStream decode(@Nonnull InputStream in) throws IOException;
+
+    /**
+     * Wraps an output stream, closing the returned stream finishes the encoding.
+     * @param out the stream receiving the encoded bytes.
+     * @return the stream to write the plain bytes to.
+     */
+    @Nonnull
+    OutputStream encode(@Nonnull OutputStream out) throws IOException;
+}
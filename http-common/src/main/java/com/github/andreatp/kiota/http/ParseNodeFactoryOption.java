@@ -0,0 +1,39 @@
+package com.github.andreatp.kiota.http;
+
+import com.microsoft.kiota.RequestOption;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+
+/**
+ * Parses the response of a request with a dedicated factory instead of the one of the adapter,
+ * e.g. a factory reading only the fields the caller needs. Error responses still use the factory of
+ * the adapter. When the backing store of the adapter is enabled, the factory is wrapped to back the
+ * models it parses, as the factory of the adapter is.
+ */
+public class ParseNodeFactoryOption implements RequestOption {
+    @Nonnull private final ParseNodeFactory parseNodeFactory;
+
+    /**
+     * Creates a new option.
+     * @param parseNodeFactory the factory parsing the response.
+     */
+    public ParseNodeFactoryOption(@Nonnull final ParseNodeFactory parseNodeFactory) {
+        this.parseNodeFactory =
+                Objects.requireNonNull(
+                        parseNodeFactory, "parameter parseNodeFactory cannot be null");
+    }
+
+    @Nonnull
+    public ParseNodeFactory getParseNodeFactory() {
+        return parseNodeFactory;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public <T extends RequestOption> Class<T> getType() {
+        return (Class<T>) ParseNodeFactoryOption.class;
+    }
+}
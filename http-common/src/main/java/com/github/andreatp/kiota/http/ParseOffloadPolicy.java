@@ -0,0 +1,192 @@
+package com.github.andreatp.kiota.http;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Decides where response bodies are parsed by the asynchronous send methods: small bodies are
+ * parsed inline on the thread completing the response, bodies above a size threshold are parsed on
+ * a dedicated executor. The number of parses waiting for the executor is bounded, beyond it the
+ * parses fail with a {@link ParseRejectedException} rather than running on the thread completing
+ * the response. Parsing is inline by default, the blocking send methods always parse inline.
+ */
+public class ParseOffloadPolicy {
+    private volatile long thresholdBytes = Long.MAX_VALUE;
+    @Nullable private volatile ExecutorService executor;
+    private volatile int maxQueued;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder inlineParses = new LongAdder();
+    private final LongAdder offloadedParses = new LongAdder();
+    private final LongAdder rejectedParses = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+
+    public ParseOffloadPolicy() {}
+
+    /**
+     * Parses the bodies above a size threshold on an executor.
+     * @param thresholdBytes the minimum size of the bodies to offload, bodies of unknown size are
+     *     offloaded.
+     * @param executor the executor, not shut down by the adapter.
+     * @param maxQueued the maximum number of parses waiting for the executor.
+     */
+    public void offload(
+            final long thresholdBytes,
+            @Nonnull final ExecutorService executor,
+            final int maxQueued) {
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("thresholdBytes cannot be negative");
+        }
+        if (maxQueued <= 0) {
+            throw new IllegalArgumentException("maxQueued must be greater than 0");
+        }
+        this.executor = Objects.requireNonNull(executor, "parameter executor cannot be null");
+        this.maxQueued = maxQueued;
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    /** Parses all the bodies inline. */
+    public void disable() {
+        this.thresholdBytes = Long.MAX_VALUE;
+        this.executor = null;
+    }
+
+    /**
+     * @param parallelism the number of parsing threads.
+     * @return a ForkJoin executor suited to CPU bound parsing.
+     */
+    @Nonnull
+    public static ExecutorService newForkJoinExecutor(final int parallelism) {
+        return new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * @return an executor starting a virtual thread per parse.
+     * @throws UnsupportedOperationException when running on a Java version without virtual threads.
+     */
+    @Nonnull
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            // the library targets Java 11, virtual threads are looked up at runtime
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("virtual threads require Java 21 or later", e);
+        }
+    }
+
+    /** @return the number of parses waiting for the executor. */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    /** @return the number of bodies parsed on the calling thread. */
+    public long getInlineParses() {
+        return inlineParses.sum();
+    }
+
+    /** @return the number of bodies parsed on the executor. */
+    public long getOffloadedParses() {
+        return offloadedParses.sum();
+    }
+
+    /**
+     * @return the number of bodies above the threshold not parsed because the queue was full or the
+     *     executor rejected them.
+     */
+    public long getRejectedParses() {
+        return rejectedParses.sum();
+    }
+
+    /** @return the total time offloaded parses waited for the executor. */
+    public long getQueueNanos() {
+        return queueNanos.sum();
+    }
+
+    /** @return the total time spent parsing, inline or offloaded. */
+    public long getParseNanos() {
+        return parseNanos.sum();
+    }
+
+    /**
+     * Runs a parse on the calling thread, a caller waiting for the result gains nothing from
+     * handing the parse to the executor.
+     * @param parse the parse.
+     * @return the result of the parse.
+     */
+    public <T> T parse(@Nonnull final Supplier<T> parse) {
+        inlineParses.increment();
+        return timed(parse);
+    }
+
+    /**
+     * Runs a parse where the policy decides without waiting for it, bodies above the threshold are
+     * parsed on the executor.
+     * @param size the size of the body, -1 when unknown.
+     * @param parse the parse.
+     * @return the result of the parse, completed on the executor for offloaded parses, failed
+     *     with a {@link ParseRejectedException} when the executor cannot take the parse.
+     */
+    @Nonnull
+    public <T> CompletableFuture<T> parseAsync(final long size, @Nonnull final Supplier<T> parse) {
+        final ExecutorService current = executor;
+        if (current == null || (size >= 0 && size < thresholdBytes)) {
+            inlineParses.increment();
+            return inline(parse);
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejectedParses.increment();
+            return CompletableFuture.failedFuture(
+                    new ParseRejectedException(
+                            "the parse queue is full: " + maxQueued + " parses waiting", null));
+        }
+        final long submitted = System.nanoTime();
+        try {
+            final CompletableFuture<T> result =
+                    CompletableFuture.supplyAsync(
+                            () -> {
+                                queued.decrementAndGet();
+                                queueNanos.add(System.nanoTime() - submitted);
+                                return timed(parse);
+                            },
+                            current);
+            offloadedParses.increment();
+            return result;
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejectedParses.increment();
+            return CompletableFuture.failedFuture(
+                    new ParseRejectedException("the parse executor rejected the parse", e));
+        }
+    }
+
+    private <T> CompletableFuture<T> inline(final Supplier<T> parse) {
+        try {
+            return CompletableFuture.completedFuture(timed(parse));
+        } catch (RuntimeException e) {
+            final CompletableFuture<T> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+
+    private <T> T timed(final Supplier<T> parse) {
+        final long start = System.nanoTime();
+        try {
+            return parse.get();
+        } finally {
+            parseNanos.add(System.nanoTime() - start);
+        }
+    }
+}
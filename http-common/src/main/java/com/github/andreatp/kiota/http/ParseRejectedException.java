@@ -0,0 +1,15 @@
+package com.github.andreatp.kiota.http;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Thrown when a response body above the offload threshold cannot be handed to the parse executor,
+ * because too many parses are waiting for it or because it rejected the parse.
+ */
+public class ParseRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ParseRejectedException(@Nullable final String message, @Nullable final Throwable cause) {
+        super(message, cause);
+    }
+}
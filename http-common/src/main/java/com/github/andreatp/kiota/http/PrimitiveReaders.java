@@ -0,0 +1,99 @@
+package com.github.andreatp.kiota.http;
+
+import com.microsoft.kiota.PeriodAndDuration;
+import com.microsoft.kiota.serialization.ParseNode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The readers of the primitive response bodies, shared by the adapters. They are resolved once per
+ * class, and can be extended with user types.
+ */
+public final class PrimitiveReaders {
+    private static final Map<Class<?>, Function<ParseNode, ?>> registered =
+            new ConcurrentHashMap<>();
+    private static final ClassValue<Function<ParseNode, ?>> readers =
+            new ClassValue<>() {
+                @Override
+                protected Function<ParseNode, ?> computeValue(final Class<?> type) {
+                    return registered.get(type);
+                }
+            };
+
+    static {
+        register(Boolean.class, ParseNode::getBooleanValue);
+        register(Byte.class, ParseNode::getByteValue);
+        register(String.class, ParseNode::getStringValue);
+        register(Short.class, ParseNode::getShortValue);
+        register(BigDecimal.class, ParseNode::getBigDecimalValue);
+        register(Double.class, ParseNode::getDoubleValue);
+        register(Integer.class, ParseNode::getIntegerValue);
+        register(Float.class, ParseNode::getFloatValue);
+        register(Long.class, ParseNode::getLongValue);
+        register(UUID.class, ParseNode::getUUIDValue);
+        register(OffsetDateTime.class, ParseNode::getOffsetDateTimeValue);
+        register(LocalDate.class, ParseNode::getLocalDateValue);
+        register(LocalTime.class, ParseNode::getLocalTimeValue);
+        register(PeriodAndDuration.class, ParseNode::getPeriodAndDurationValue);
+        register(byte[].class, ParseNode::getByteArrayValue);
+    }
+
+    private PrimitiveReaders() {}
+
+    /**
+     * Registers the reader of a type, replacing any previous registration. Registrations apply to
+     * the exact class.
+     * @param type the type of the values.
+     * @param reader reads a value from a parse node.
+     */
+    public static <T> void register(
+            @Nonnull final Class<T> type, @Nonnull final Function<ParseNode, ? extends T> reader) {
+        Objects.requireNonNull(type, "parameter type cannot be null");
+        Objects.requireNonNull(reader, "parameter reader cannot be null");
+        registered.put(type, reader);
+        readers.remove(type);
+    }
+
+    /**
+     * Removes the reader of a type, its values can no longer be read.
+     * @param type the type of the values.
+     */
+    public static void unregister(@Nonnull final Class<?> type) {
+        Objects.requireNonNull(type, "parameter type cannot be null");
+        registered.remove(type);
+        readers.remove(type);
+    }
+
+    /**
+     * @param type the type of the values.
+     * @return the reader of the type, null when not registered.
+     */
+    @Nullable
+    public static Function<ParseNode, ?> getReader(@Nonnull final Class<?> type) {
+        return readers.get(type);
+    }
+
+    /**
+     * Reads a primitive value.
+     * @param rootNode the parse node of the response body.
+     * @param type the type of the value.
+     * @return the value.
+     */
+    @Nullable
+    public static Object read(@Nonnull final ParseNode rootNode, @Nonnull final Class<?> type) {
+        final Function<ParseNode, ?> reader = readers.get(type);
+        if (reader == null) {
+            throw new RuntimeException("unexpected payload type " + type.getName());
+        }
+        return reader.apply(rootNode);
+    }
+}
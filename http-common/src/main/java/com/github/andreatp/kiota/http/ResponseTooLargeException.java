@@ -0,0 +1,20 @@
+package com.github.andreatp.kiota.http;
+
+/**
+ * Thrown when a response body exceeds the in-memory limit of the adapter and spilling to disk is
+ * not enabled.
+ */
+public class ResponseTooLargeException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long maxBytes;
+
+    public ResponseTooLargeException(final long maxBytes) {
+        super("the response body exceeds the limit of " + maxBytes + " bytes");
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.andreatp.kiota.http;
+
+import com.microsoft.kiota.store.BackingStore;
+import com.microsoft.kiota.store.BackingStoreFactory;
+import com.microsoft.kiota.store.BackingStoreFactorySingleton;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Creates the backing stores of the models with the factory of the adapter parsing them on the
+ * current thread, and with the factory it replaced in the Kiota singleton everywhere else. The
+ * generated models take their stores from the singleton, installing this factory once lets each
+ * adapter use its own factory without changing the stores of the models of the other adapters and
+ * of the application.
+ */
+public final class ScopedBackingStoreFactory implements BackingStoreFactory {
+    private static final ThreadLocal<BackingStoreFactory> current = new ThreadLocal<>();
+    @Nullable private final BackingStoreFactory fallback;
+
+    private ScopedBackingStoreFactory(@Nullable final BackingStoreFactory fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Installs the factory in the Kiota singleton, unless already there. The singleton is global to
+     * the process, replacing the installed factory turns the scoping off.
+     */
+    public static synchronized void install() {
+        if (!(BackingStoreFactorySingleton.instance instanceof ScopedBackingStoreFactory)) {
+            BackingStoreFactorySingleton.instance =
+                    new ScopedBackingStoreFactory(BackingStoreFactorySingleton.instance);
+        }
+    }
+
+    /**
+     * Runs an action creating the backing stores with a factory on the current thread.
+     * @param factory the factory, the action runs unchanged when null.
+     * @param action the action.
+     * @return the result of the action.
+     */
+    public static <T> T call(
+            @Nullable final BackingStoreFactory factory, @Nonnull final Supplier<T> action) {
+        if (factory == null) {
+            return action.get();
+        }
+        final BackingStoreFactory previous = current.get();
+        current.set(factory);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Captures the factory of the current thread for the tasks parsing on other threads, as the
+     * context capture of the parallel parsing of the Jackson parse node factory.
+     * @return wraps a task to run it with the captured factory.
+     */
+    @Nonnull
+    public static UnaryOperator<Runnable> capture() {
+        final BackingStoreFactory factory = current.get();
+        return task ->
+                () ->
+                        call(
+                                factory,
+                                () -> {
+                                    task.run();
+                                    return null;
+                                });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public BackingStore createBackingStore() {
+        final BackingStoreFactory factory = current.get();
+        if (factory != null) {
+            return factory.createBackingStore();
+        } else if (fallback != null) {
+            return fallback.createBackingStore();
+        }
+        throw new IllegalStateException("no backing store factory is configured");
+    }
+}
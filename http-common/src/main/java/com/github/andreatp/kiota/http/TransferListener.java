@@ -0,0 +1,13 @@
+package com.github.andreatp.kiota.http;
+
+/** Receives the progress of a file upload or download. */
+@FunctionalInterface
+public interface TransferListener {
+    /**
+     * Called each time a chunk of the file is transferred, from the thread doing the transfer.
+     * @param transferred the bytes transferred so far, including the part of a download already on
+     *     disk when resuming.
+     * @param total the size of the file, -1 when unknown.
+     */
+    void onProgress(long transferred, long total);
+}
@@ -0,0 +1,464 @@
+package com.github.andreatp.kiota.http;
+
+import com.microsoft.kiota.PeriodAndDuration;
+import com.microsoft.kiota.serialization.ValuedEnum;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.lang.reflect.Array;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A RFC 6570 URI template parsed once and expanded many times. Compiled templates are cached, the
+ * expansion appends to a per-thread builder and only allocates the resulting String. Unlike Kiota
+ * the characters outside of the unreserved set are all percent encoded, as UTF-8 octets.
+ */
+public final class UriTemplate {
+    private static final int maxCachedTemplates = 1024;
+    private static final int maxRetainedBuilderCapacity = 4096;
+    private static final String baseUrlKey = "baseurl";
+    private static final Map<String, UriTemplate> cache = new ConcurrentHashMap<>();
+    private static final ThreadLocal<StringBuilder> builders =
+            ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final char[] hexDigits = "0123456789ABCDEF".toCharArray();
+
+    @Nonnull private final String template;
+    @Nonnull private final Object[] parts; // either String literals or Expressions
+
+    private UriTemplate(@Nonnull final String template) {
+        this.template = template;
+        this.parts = parse(template);
+    }
+
+    /**
+     * Returns the compiled form of a template, compiling it on first use.
+     * @param template the URI template.
+     * @return the compiled template.
+     */
+    @Nonnull
+    public static UriTemplate compile(@Nonnull final String template) {
+        Objects.requireNonNull(template, "parameter template cannot be null");
+        final UriTemplate cached = cache.get(template);
+        if (cached != null) {
+            return cached;
+        }
+        final UriTemplate compiled = new UriTemplate(template);
+        if (cache.size() < maxCachedTemplates) {
+            cache.putIfAbsent(template, compiled);
+        }
+        return compiled;
+    }
+
+    @Nonnull
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Expands the template with the parameters of a request, query parameters take precedence over
+     * path parameters.
+     * @param baseUrl the value of the baseurl variable, null to look it up in the path parameters.
+     * @param pathParameters the path parameters.
+     * @param queryParameters the query parameters.
+     * @return the expanded URI.
+     */
+    @Nonnull
+    public String expand(
+            @Nullable final String baseUrl,
+            @Nonnull final Map<String, Object> pathParameters,
+            @Nonnull final Map<String, Object> queryParameters) {
+        final StringBuilder builder = builders.get();
+        builder.setLength(0);
+        for (final Object part : parts) {
+            if (part instanceof String) {
+                builder.append((String) part);
+            } else {
+                ((Expression) part).expand(builder, baseUrl, pathParameters, queryParameters);
+            }
+        }
+        final String result = builder.toString();
+        if (builder.capacity() > maxRetainedBuilderCapacity) {
+            builders.remove();
+        }
+        return result;
+    }
+
+    private static Object[] parse(final String template) {
+        final List<Object> parts = new ArrayList<>();
+        int literalStart = 0;
+        int index = 0;
+        while (index < template.length()) {
+            if (template.charAt(index) == '{') {
+                final int close = template.indexOf('}', index);
+                if (close < 0) {
+                    throw new IllegalArgumentException("unterminated expression in " + template);
+                }
+                if (index > literalStart) {
+                    parts.add(template.substring(literalStart, index));
+                }
+                parts.add(new Expression(template.substring(index + 1, close), template));
+                index = close + 1;
+                literalStart = index;
+            } else {
+                index++;
+            }
+        }
+        if (literalStart < template.length()) {
+            parts.add(template.substring(literalStart));
+        }
+        return parts.toArray();
+    }
+
+    private static final class Expression {
+        private final String first;
+        private final char separator;
+        private final boolean named;
+        private final String ifEmpty;
+        private final boolean allowReserved;
+        private final String[] names;
+        private final boolean[] explode;
+        private final int[] prefixes;
+
+        private Expression(final String body, final String template) {
+            if (body.isEmpty()) {
+                throw new IllegalArgumentException("empty expression in " + template);
+            }
+            final char operator = body.charAt(0);
+            final String variables;
+            switch (operator) {
+                case '+':
+                case '#':
+                case '.':
+                case '/':
+                case ';':
+                case '?':
+                case '&':
+                    variables = body.substring(1);
+                    break;
+                default:
+                    variables = body;
+            }
+            switch (operator) {
+                case '+':
+                    first = "";
+                    separator = ',';
+                    named = false;
+                    ifEmpty = "";
+                    allowReserved = true;
+                    break;
+                case '#':
+                    first = "#";
+                    separator = ',';
+                    named = false;
+                    ifEmpty = "";
+                    allowReserved = true;
+                    break;
+                case '.':
+                    first = ".";
+                    separator = '.';
+                    named = false;
+                    ifEmpty = "";
+                    allowReserved = false;
+                    break;
+                case '/':
+                    first = "/";
+                    separator = '/';
+                    named = false;
+                    ifEmpty = "";
+                    allowReserved = false;
+                    break;
+                case ';':
+                    first = ";";
+                    separator = ';';
+                    named = true;
+                    ifEmpty = "";
+                    allowReserved = false;
+                    break;
+                case '?':
+                    first = "?";
+                    separator = '&';
+                    named = true;
+                    ifEmpty = "=";
+                    allowReserved = false;
+                    break;
+                case '&':
+                    first = "&";
+                    separator = '&';
+                    named = true;
+                    ifEmpty = "=";
+                    allowReserved = false;
+                    break;
+                default:
+                    first = "";
+                    separator = ',';
+                    named = false;
+                    ifEmpty = "";
+                    allowReserved = false;
+            }
+            final String[] specs = variables.split(",");
+            names = new String[specs.length];
+            explode = new boolean[specs.length];
+            prefixes = new int[specs.length];
+            for (int i = 0; i < specs.length; i++) {
+                String spec = specs[i].trim();
+                if (spec.endsWith("*")) {
+                    explode[i] = true;
+                    spec = spec.substring(0, spec.length() - 1);
+                }
+                final int colon = spec.indexOf(':');
+                if (colon >= 0) {
+                    try {
+                        prefixes[i] = Integer.parseInt(spec.substring(colon + 1));
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("invalid prefix in " + template, ex);
+                    }
+                    spec = spec.substring(0, colon);
+                }
+                if (spec.isEmpty()) {
+                    throw new IllegalArgumentException("empty variable name in " + template);
+                }
+                names[i] = spec;
+            }
+        }
+
+        private void expand(
+                final StringBuilder builder,
+                final String baseUrl,
+                final Map<String, Object> pathParameters,
+                final Map<String, Object> queryParameters) {
+            boolean isFirst = true;
+            for (int i = 0; i < names.length; i++) {
+                final String name = names[i];
+                Object raw;
+                if (baseUrl != null && baseUrlKey.equals(name)) {
+                    raw = baseUrl;
+                } else {
+                    raw = queryParameters.get(name);
+                    if (raw == null) {
+                        raw = pathParameters.get(name);
+                    }
+                }
+                final Object value = sanitize(raw);
+                if (value == null
+                        || value instanceof List && ((List<?>) value).isEmpty()
+                        || value instanceof Map && ((Map<?, ?>) value).isEmpty()) {
+                    continue;
+                }
+                if (isFirst) {
+                    builder.append(first);
+                    isFirst = false;
+                } else {
+                    builder.append(separator);
+                }
+                if (value instanceof String) {
+                    final String text = (String) value;
+                    if (named) {
+                        builder.append(name);
+                        if (text.isEmpty()) {
+                            builder.append(ifEmpty);
+                            continue;
+                        }
+                        builder.append('=');
+                    }
+                    encode(builder, text, prefixes[i], allowReserved);
+                } else if (value instanceof List) {
+                    expandList(builder, name, (List<?>) value, explode[i]);
+                } else {
+                    expandMap(builder, name, (Map<?, ?>) value, explode[i]);
+                }
+            }
+        }
+
+        private void expandList(
+                final StringBuilder builder,
+                final String name,
+                final List<?> values,
+                final boolean exploded) {
+            if (!exploded && named) {
+                builder.append(name).append('=');
+            }
+            boolean isFirst = true;
+            for (final Object item : values) {
+                if (!isFirst) {
+                    builder.append(exploded ? separator : ',');
+                }
+                isFirst = false;
+                final String text = String.valueOf(item);
+                if (exploded && named) {
+                    builder.append(name);
+                    if (text.isEmpty()) {
+                        builder.append(ifEmpty);
+                        continue;
+                    }
+                    builder.append('=');
+                }
+                encode(builder, text, 0, allowReserved);
+            }
+        }
+
+        private void expandMap(
+                final StringBuilder builder,
+                final String name,
+                final Map<?, ?> values,
+                final boolean exploded) {
+            if (!exploded && named) {
+                builder.append(name).append('=');
+            }
+            boolean isFirst = true;
+            for (final Map.Entry<?, ?> entry : values.entrySet()) {
+                if (!isFirst) {
+                    builder.append(exploded ? separator : ',');
+                }
+                isFirst = false;
+                encode(builder, String.valueOf(entry.getKey()), 0, allowReserved);
+                builder.append(exploded ? '=' : ',');
+                encode(builder, String.valueOf(entry.getValue()), 0, allowReserved);
+            }
+        }
+    }
+
+    /**
+     * Converts a request parameter to a String, a List of Strings or a Map, following the Kiota
+     * conventions. Unlike Kiota the arrays are accepted as well as the lists.
+     */
+    @Nullable
+    private static Object sanitize(@Nullable final Object value) {
+        if (value == null || value instanceof String || value instanceof Map) {
+            return value;
+        } else if (value instanceof Boolean) {
+            return ((Boolean) value) ? "true" : "false";
+        } else if (value instanceof ValuedEnum) {
+            return ((ValuedEnum) value).getValue();
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        } else if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        } else if (value instanceof PeriodAndDuration) {
+            return value.toString();
+        } else if (value instanceof Collection) {
+            final Collection<?> items = (Collection<?>) value;
+            final List<Object> result = new ArrayList<>(items.size());
+            for (final Object item : items) {
+                final Object sanitized = sanitize(item);
+                if (sanitized != null) {
+                    result.add(sanitized);
+                }
+            }
+            return result;
+        } else if (value.getClass().isArray()) {
+            final int length = Array.getLength(value);
+            final List<Object> result = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                final Object sanitized = sanitize(Array.get(value, i));
+                if (sanitized != null) {
+                    result.add(sanitized);
+                }
+            }
+            return result;
+        } else {
+            return value.toString();
+        }
+    }
+
+    private static void encode(
+            final StringBuilder builder,
+            final String value,
+            final int prefix,
+            final boolean allowReserved) {
+        final int length = value.length();
+        int codePoints = 0;
+        for (int i = 0; i < length; i++) {
+            if (prefix > 0 && codePoints++ >= prefix) {
+                return;
+            }
+            final char c = value.charAt(i);
+            if (isUnreserved(c)) {
+                builder.append(c);
+            } else if (allowReserved && isReserved(c)) {
+                builder.append(c);
+            } else if (allowReserved
+                    && c == '%'
+                    && i + 2 < length
+                    && isHexDigit(value.charAt(i + 1))
+                    && isHexDigit(value.charAt(i + 2))) {
+                builder.append(value, i, i + 3);
+                i += 2;
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                appendUtf8(builder, Character.toCodePoint(c, value.charAt(i + 1)));
+                i++;
+            } else {
+                appendUtf8(builder, c);
+            }
+        }
+    }
+
+    private static void appendUtf8(final StringBuilder builder, final int codePoint) {
+        if (codePoint < 0x80) {
+            appendEscaped(builder, codePoint);
+        } else if (codePoint < 0x800) {
+            appendEscaped(builder, 0xC0 | (codePoint >> 6));
+            appendEscaped(builder, 0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            appendEscaped(builder, 0xE0 | (codePoint >> 12));
+            appendEscaped(builder, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendEscaped(builder, 0x80 | (codePoint & 0x3F));
+        } else {
+            appendEscaped(builder, 0xF0 | (codePoint >> 18));
+            appendEscaped(builder, 0x80 | ((codePoint >> 12) & 0x3F));
+            appendEscaped(builder, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendEscaped(builder, 0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private static void appendEscaped(final StringBuilder builder, final int octet) {
+        builder.append('%').append(hexDigits[(octet >> 4) & 0xF]).append(hexDigits[octet & 0xF]);
+    }
+
+    private static boolean isUnreserved(final char c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '-'
+                || c == '.'
+                || c == '_'
+                || c == '~';
+    }
+
+    private static boolean isReserved(final char c) {
+        switch (c) {
+            case ':':
+            case '/':
+            case '?':
+            case '#':
+            case '[':
+            case ']':
+            case '@':
+            case '!':
+            case '$':
+            case '&':
+            case '\'':
+            case '(':
+            case ')':
+            case '*':
+            case '+':
+            case ',':
+            case ';':
+            case '=':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isHexDigit(final char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
@@ -0,0 +1,233 @@
+package com.github.andreatp.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.microsoft.kiota.RequestInformation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class BulkheadsTests {
+    private static RequestInformation request(
+            final String urlTemplate, final BulkheadOption option) {
+        final var requestInfo = new RequestInformation();
+        requestInfo.urlTemplate = urlTemplate;
+        if (option != null) {
+            requestInfo.addRequestOptions(List.of(option));
+        }
+        return requestInfo;
+    }
+
+    private static void awaitQueued(final Bulkhead bulkhead, final int queued)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + 5_000_000_000L;
+        while (bulkhead.getQueued() != queued) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for the queue");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void SelectsThePartitionOfTheOption() {
+        final var bulkheads = new Bulkheads();
+        final var users = bulkheads.register("users", 1, 0);
+        final var fallback = bulkheads.register(Bulkheads.DEFAULT, 1, 0);
+        bulkheads.bindUrlTemplate("{+baseurl}/users", "users");
+
+        assertSame(
+                fallback,
+                bulkheads.acquire(
+                        request("{+baseurl}/users", new BulkheadOption(Bulkheads.DEFAULT))));
+        assertSame(users, bulkheads.acquire(request(null, new BulkheadOption("users"))));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> bulkheads.acquire(request(null, new BulkheadOption("unknown"))));
+    }
+
+    @Test
+    void SelectsThePartitionOfTheUrlTemplate() {
+        final var bulkheads = new Bulkheads();
+        final var users = bulkheads.register("users", 2, 0);
+        final var fallback = bulkheads.register(Bulkheads.DEFAULT, 2, 0);
+        bulkheads.bindUrlTemplate("{+baseurl}/users", "users");
+
+        assertSame(users, bulkheads.acquire(request("{+baseurl}/users", null)));
+        assertSame(
+                users,
+                bulkheads.acquire(
+                        request(
+                                "{+baseurl}/users",
+                                BulkheadOption.withPriority(BulkheadOption.Priority.BATCH))));
+        assertSame(fallback, bulkheads.acquire(request("{+baseurl}/groups", null)));
+        assertSame(fallback, bulkheads.acquire(request(null, null)));
+        assertEquals(2, users.getInFlight());
+        assertEquals(2, fallback.getInFlight());
+    }
+
+    @Test
+    void DoesNotLimitTheRequestsWithoutPartition() {
+        final var bulkheads = new Bulkheads();
+        assertNull(bulkheads.acquire(request("{+baseurl}/users", null)));
+        bulkheads.register("users", 1, 0);
+        assertNull(bulkheads.acquire(request("{+baseurl}/groups", null)));
+    }
+
+    @Test
+    void RejectsTheRequestsBeyondTheQueue() {
+        final var bulkheads = new Bulkheads();
+        final var bulkhead = bulkheads.register(Bulkheads.DEFAULT, 1, 0);
+        bulkheads.acquire(request(null, null));
+        final var error =
+                assertThrows(
+                        BulkheadFullException.class,
+                        () -> bulkheads.acquire(request(null, null)));
+        assertEquals(Bulkheads.DEFAULT, error.getPartition());
+        bulkhead.release();
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    void ServesTheWaitersByPriority() throws InterruptedException {
+        final var bulkheads = new Bulkheads();
+        final var bulkhead = bulkheads.register(Bulkheads.DEFAULT, 1, 4);
+        bulkheads.acquire(request(null, null));
+        final List<BulkheadOption.Priority> served =
+                Collections.synchronizedList(new ArrayList<>());
+        final List<Thread> waiters = new ArrayList<>();
+        final BulkheadOption.Priority[] priorities = {
+            BulkheadOption.Priority.BATCH,
+            BulkheadOption.Priority.DEFAULT,
+            BulkheadOption.Priority.INTERACTIVE,
+            BulkheadOption.Priority.BATCH
+        };
+        for (final BulkheadOption.Priority priority : priorities) {
+            final Thread waiter =
+                    new Thread(
+                            () -> {
+                                bulkheads.acquire(
+                                        request(null, BulkheadOption.withPriority(priority)));
+                                served.add(priority);
+                                bulkhead.release();
+                            });
+            waiter.start();
+            waiters.add(waiter);
+            // the waiters are queued in a known order
+            awaitQueued(bulkhead, waiters.size());
+        }
+        bulkhead.release();
+        for (final Thread waiter : waiters) {
+            waiter.join();
+        }
+        assertEquals(
+                List.of(
+                        BulkheadOption.Priority.INTERACTIVE,
+                        BulkheadOption.Priority.DEFAULT,
+                        BulkheadOption.Priority.BATCH,
+                        BulkheadOption.Priority.BATCH),
+                served);
+        assertEquals(0, bulkhead.getInFlight());
+        assertEquals(0, bulkhead.getQueued());
+    }
+
+    @Test
+    void RestoresTheInterruptFlag() throws InterruptedException {
+        final var bulkheads = new Bulkheads();
+        final var bulkhead = bulkheads.register(Bulkheads.DEFAULT, 1, 1);
+        bulkheads.acquire(request(null, null));
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final Thread waiter =
+                new Thread(
+                        () -> {
+                            try {
+                                bulkheads.acquire(request(null, null));
+                            } catch (RuntimeException e) {
+                                interrupted.set(
+                                        e.getCause() instanceof InterruptedException
+                                                && Thread.currentThread().isInterrupted());
+                            }
+                        });
+        waiter.start();
+        awaitQueued(bulkhead, 1);
+        waiter.interrupt();
+        waiter.join();
+        assertTrue(interrupted.get());
+        assertEquals(0, bulkhead.getQueued());
+        assertEquals(1, bulkhead.getInFlight());
+    }
+
+    @Test
+    void AcquiresTheSlotsAsynchronously() {
+        final var bulkheads = new Bulkheads();
+        final var bulkhead = bulkheads.register(Bulkheads.DEFAULT, 1, 2);
+        assertNull(new Bulkheads().acquireAsync(request(null, null)).join());
+        assertSame(bulkhead, bulkheads.acquireAsync(request(null, null)).join());
+
+        // the waiters do not block the calling thread
+        final var cancelled = bulkheads.acquireAsync(request(null, null));
+        final var waiting = bulkheads.acquireAsync(request(null, null));
+        assertFalse(waiting.isDone());
+        final var error =
+                assertThrows(
+                        CompletionException.class,
+                        () -> bulkheads.acquireAsync(request(null, null)).join());
+        assertTrue(error.getCause() instanceof BulkheadFullException);
+        assertEquals(2, bulkhead.getQueued());
+
+        // a cancelled waiter hands the slot over to the next one
+        cancelled.cancel(false);
+        bulkhead.release();
+        assertSame(bulkhead, waiting.join());
+        assertEquals(1, bulkhead.getInFlight());
+        assertEquals(0, bulkhead.getQueued());
+        bulkhead.release();
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    void ReleasesTheSlotOnceTheRequestReturns() {
+        final var bulkheads = new Bulkheads();
+        final var bulkhead = bulkheads.register(Bulkheads.DEFAULT, 1, 0);
+        assertEquals(
+                "done",
+                bulkheads.call(
+                        request(null, null),
+                        () -> {
+                            assertEquals(1, bulkhead.getInFlight());
+                            return "done";
+                        }));
+        assertEquals(0, bulkhead.getInFlight());
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        bulkheads.call(
+                                request(null, null),
+                                () -> {
+                                    throw new IllegalStateException();
+                                }));
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    void HoldsTheSlotUntilTheStreamIsClosed() throws IOException {
+        final var bulkheads = new Bulkheads();
+        final var bulkhead = bulkheads.register(Bulkheads.DEFAULT, 1, 0);
+        final InputStream body =
+                bulkheads.stream(
+                        request(null, null), () -> new ByteArrayInputStream(new byte[] {1, 2}));
+        assertEquals(1, bulkhead.getInFlight());
+        assertArrayEquals(new byte[] {1, 2}, body.readAllBytes());
+        assertEquals(1, bulkhead.getInFlight());
+        body.close();
+        body.close();
+        assertEquals(0, bulkhead.getInFlight());
+
+        assertNull(bulkheads.stream(request(null, null), () -> null));
+        assertEquals(0, bulkhead.getInFlight());
+    }
+}
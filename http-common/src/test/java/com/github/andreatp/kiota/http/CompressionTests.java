@@ -0,0 +1,143 @@
+package com.github.andreatp.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+
+class CompressionTests {
+    private static final byte[] payload =
+            "{\"value\":[{\"id\":\"1\"},{\"id\":\"2\"},{\"id\":\"3\"}]}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private static byte[] gzip(final byte[] content) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(result)) {
+            out.write(content);
+        }
+        return result.toByteArray();
+    }
+
+    private static byte[] deflate(final byte[] content, final boolean raw) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+        try (OutputStream out = new DeflaterOutputStream(result, deflater)) {
+            out.write(content);
+        } finally {
+            deflater.end();
+        }
+        return result.toByteArray();
+    }
+
+    private static byte[] decode(
+            final Compression compression, final String contentEncoding, final byte[] body)
+            throws IOException {
+        try (InputStream decoded =
+                compression.decode(contentEncoding, new ByteArrayInputStream(body))) {
+            return decoded.readAllBytes();
+        }
+    }
+
+    @Test
+    void DecodesGzip() throws IOException {
+        final var compression = new Compression();
+        final byte[] body = gzip(payload);
+        assertArrayEquals(payload, decode(compression, "gzip", body));
+        assertArrayEquals(payload, decode(compression, "GZIP", body));
+        assertEquals(2, compression.getMetrics().getDecodedResponses());
+        assertEquals(2L * body.length, compression.getMetrics().getDecodedBytesIn());
+        assertEquals(2L * payload.length, compression.getMetrics().getDecodedBytesOut());
+    }
+
+    @Test
+    void SniffsTheDeflateFormat() throws IOException {
+        final var compression = new Compression();
+        // the spec requires the zlib format, some servers send raw deflate data
+        assertArrayEquals(payload, decode(compression, "deflate", deflate(payload, false)));
+        assertArrayEquals(payload, decode(compression, "deflate", deflate(payload, true)));
+    }
+
+    @Test
+    void DecodesTheCodingsInReverseOrder() throws IOException {
+        final var compression = new Compression();
+        final byte[] body = gzip(deflate(payload, false));
+        assertArrayEquals(payload, decode(compression, "deflate, identity, gzip", body));
+    }
+
+    @Test
+    void LeavesTheUnknownCodingsUndecoded() {
+        final var compression = new Compression();
+        final InputStream body = new ByteArrayInputStream(payload);
+        assertSame(body, compression.decode(null, body));
+        assertSame(body, compression.decode("", body));
+        assertSame(body, compression.decode("identity", body));
+        assertSame(body, compression.decode("gzip, br", body));
+        assertEquals(0, compression.getMetrics().getDecodedResponses());
+    }
+
+    @Test
+    void DecodesEmptyBodies() throws IOException {
+        final var compression = new Compression();
+        assertArrayEquals(new byte[0], decode(compression, "gzip", new byte[0]));
+        assertArrayEquals(new byte[0], decode(compression, "deflate", new byte[0]));
+    }
+
+    @Test
+    void EncodesTheRequestsAboveTheThreshold() throws IOException {
+        final var compression = new Compression();
+        assertNull(compression.getRequestCodec(Integer.MAX_VALUE));
+        compression.compressRequests("GZIP", payload.length);
+        assertNull(compression.getRequestCodec(payload.length - 1));
+        assertSame(Compression.GZIP, compression.getRequestCodec(payload.length));
+
+        final byte[] encoded =
+                compression.encode(Compression.GZIP, new ByteArrayInputStream(payload));
+        try (InputStream decoded = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            assertArrayEquals(payload, decoded.readAllBytes());
+        }
+        assertEquals(1, compression.getMetrics().getEncodedRequests());
+        assertEquals(payload.length, compression.getMetrics().getEncodedBytesIn());
+        assertEquals(encoded.length, compression.getMetrics().getEncodedBytesOut());
+
+        compression.disableRequestCompression();
+        assertNull(compression.getRequestCodec(payload.length));
+        assertThrows(IllegalArgumentException.class, () -> compression.compressRequests("br", 0));
+    }
+
+    @Test
+    void AdvertisesTheRegisteredCodings() {
+        final var compression = new Compression();
+        assertEquals("gzip, deflate", compression.getAcceptEncoding());
+        final ContentCodec brotli =
+                new ContentCodec() {
+                    @Override
+                    public String getEncoding() {
+                        return "br";
+                    }
+
+                    @Override
+                    public InputStream decode(final InputStream in) {
+                        return in;
+                    }
+
+                    @Override
+                    public OutputStream encode(final OutputStream out) {
+                        return out;
+                    }
+                };
+        compression.register(brotli);
+        compression.register(brotli);
+        assertEquals("gzip, deflate, br", compression.getAcceptEncoding());
+        compression.setAcceptCompressed(false);
+        assertNull(compression.getAcceptEncoding());
+    }
+}
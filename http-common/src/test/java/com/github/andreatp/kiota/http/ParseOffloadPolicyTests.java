@@ -0,0 +1,159 @@
+package com.github.andreatp.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParseOffloadPolicyTests {
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void ParsesInlineByDefault() {
+        final var policy = new ParseOffloadPolicy();
+        final Thread caller = Thread.currentThread();
+        final CompletableFuture<Thread> result = policy.parseAsync(-1, Thread::currentThread);
+        assertTrue(result.isDone());
+        assertSame(caller, result.join());
+        assertEquals(1, policy.getInlineParses());
+        assertEquals(0, policy.getOffloadedParses());
+    }
+
+    @Test
+    void ParsesTheLargeBodiesWithoutWaitingForThem() throws Exception {
+        final var policy = new ParseOffloadPolicy();
+        policy.offload(100, executor, 10);
+        final Thread caller = Thread.currentThread();
+
+        assertSame(caller, policy.parseAsync(99, Thread::currentThread).join());
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Thread> result =
+                policy.parseAsync(
+                        100,
+                        () -> {
+                            await(release);
+                            return Thread.currentThread();
+                        });
+        // the caller is not held while the parse runs
+        assertFalse(result.isDone());
+        release.countDown();
+        assertNotSame(caller, result.get(10, TimeUnit.SECONDS));
+        // bodies of unknown size are offloaded
+        final CompletableFuture<Thread> unknown = policy.parseAsync(-1, Thread::currentThread);
+        assertNotSame(caller, unknown.get(10, TimeUnit.SECONDS));
+        assertEquals(1, policy.getInlineParses());
+        assertEquals(2, policy.getOffloadedParses());
+        assertEquals(0, policy.getQueueDepth());
+    }
+
+    @Test
+    void RejectsTheParsesOnceTheQueueIsFull() throws Exception {
+        final var policy = new ParseOffloadPolicy();
+        policy.offload(0, executor, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Boolean> running =
+                policy.parseAsync(
+                        -1,
+                        () -> {
+                            started.countDown();
+                            return await(release);
+                        });
+        assertTrue(await(started));
+        final CompletableFuture<Boolean> waiting = policy.parseAsync(-1, () -> true);
+        assertEquals(1, policy.getQueueDepth());
+
+        // the thread completing the response is not used to parse
+        final AtomicBoolean parsed = new AtomicBoolean();
+        final var rejected =
+                assertThrows(
+                        ExecutionException.class,
+                        () -> policy.parseAsync(-1, () -> parsed.getAndSet(true)).get());
+        assertTrue(rejected.getCause() instanceof ParseRejectedException);
+        assertFalse(parsed.get());
+        assertEquals(1, policy.getRejectedParses());
+
+        release.countDown();
+        assertTrue(running.get(10, TimeUnit.SECONDS));
+        assertTrue(waiting.get(10, TimeUnit.SECONDS));
+        assertEquals(0, policy.getQueueDepth());
+        assertTrue(policy.getQueueNanos() > 0);
+    }
+
+    @Test
+    void FailsWhenTheExecutorRejects() {
+        final var policy = new ParseOffloadPolicy();
+        policy.offload(0, executor, 10);
+        executor.shutdown();
+        final var rejected =
+                assertThrows(
+                        ExecutionException.class,
+                        () -> policy.parseAsync(-1, () -> "parsed").get());
+        assertTrue(rejected.getCause() instanceof ParseRejectedException);
+        assertTrue(rejected.getCause().getCause() instanceof RejectedExecutionException);
+        assertEquals(1, policy.getRejectedParses());
+        assertEquals(0, policy.getQueueDepth());
+    }
+
+    @Test
+    void CompletesWithTheParseFailures() {
+        final var policy = new ParseOffloadPolicy();
+        final var failure = new IllegalStateException("invalid body");
+        final CompletableFuture<Object> inline =
+                policy.parseAsync(
+                        -1,
+                        () -> {
+                            throw failure;
+                        });
+        assertSame(failure, assertThrows(ExecutionException.class, inline::get).getCause());
+
+        policy.offload(0, executor, 10);
+        final CompletableFuture<Object> offloaded =
+                policy.parseAsync(
+                        -1,
+                        () -> {
+                            throw failure;
+                        });
+        final var error =
+                assertThrows(ExecutionException.class, () -> offloaded.get(10, TimeUnit.SECONDS));
+        assertSame(failure, error.getCause());
+    }
+
+    @Test
+    void ParsesOnTheCallingThreadWhenWaitedFor() {
+        final var policy = new ParseOffloadPolicy();
+        policy.offload(0, executor, 10);
+        assertSame(Thread.currentThread(), policy.parse(Thread::currentThread));
+        assertEquals(1, policy.getInlineParses());
+        assertEquals(0, policy.getOffloadedParses());
+    }
+
+    private static boolean await(final CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
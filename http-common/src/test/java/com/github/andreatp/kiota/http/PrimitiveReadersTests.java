@@ -0,0 +1,45 @@
+package com.github.andreatp.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.microsoft.kiota.serialization.ParseNode;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+
+class PrimitiveReadersTests {
+    /** A parse node holding a single string value. */
+    private static ParseNode stringNode(final String value) {
+        return (ParseNode)
+                Proxy.newProxyInstance(
+                        ParseNode.class.getClassLoader(),
+                        new Class<?>[] {ParseNode.class},
+                        (proxy, method, args) -> {
+                            if ("getStringValue".equals(method.getName())) {
+                                return value;
+                            }
+                            throw new UnsupportedOperationException(method.getName());
+                        });
+    }
+
+    @Test
+    void ReadsTheKiotaPrimitiveTypes() {
+        assertEquals("value", PrimitiveReaders.read(stringNode("value"), String.class));
+        assertNotNull(PrimitiveReaders.getReader(byte[].class));
+        assertThrows(
+                RuntimeException.class, () -> PrimitiveReaders.read(stringNode("x"), URI.class));
+    }
+
+    @Test
+    void ReadsTheUserTypes() {
+        PrimitiveReaders.register(URI.class, n -> URI.create(n.getStringValue()));
+        try {
+            assertEquals(
+                    URI.create("https://example.com/a"),
+                    PrimitiveReaders.read(stringNode("https://example.com/a"), URI.class));
+        } finally {
+            PrimitiveReaders.unregister(URI.class);
+        }
+        assertNull(PrimitiveReaders.getReader(URI.class));
+    }
+}
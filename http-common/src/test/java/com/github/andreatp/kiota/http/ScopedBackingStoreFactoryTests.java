@@ -0,0 +1,123 @@
+package com.github.andreatp.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.microsoft.kiota.store.BackingStore;
+import com.microsoft.kiota.store.BackingStoreFactory;
+import com.microsoft.kiota.store.BackingStoreFactorySingleton;
+import com.microsoft.kiota.store.InMemoryBackingStore;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ScopedBackingStoreFactoryTests {
+    private final BackingStore applicationStore = new InMemoryBackingStore();
+    private final BackingStore adapterStore = new InMemoryBackingStore();
+    private final BackingStoreFactory adapterFactory = () -> adapterStore;
+    private BackingStoreFactory singleton;
+
+    @BeforeEach
+    void setUp() {
+        singleton = BackingStoreFactorySingleton.instance;
+        BackingStoreFactorySingleton.instance = () -> applicationStore;
+        ScopedBackingStoreFactory.install();
+    }
+
+    @AfterEach
+    void tearDown() {
+        BackingStoreFactorySingleton.instance = singleton;
+    }
+
+    private static BackingStore create() {
+        return BackingStoreFactorySingleton.instance.createBackingStore();
+    }
+
+    @Test
+    void InstallsOnce() {
+        final BackingStoreFactory installed = BackingStoreFactorySingleton.instance;
+        assertTrue(installed instanceof ScopedBackingStoreFactory);
+        ScopedBackingStoreFactory.install();
+        assertSame(installed, BackingStoreFactorySingleton.instance);
+        // the replaced factory is still used outside of the adapters
+        assertSame(applicationStore, create());
+    }
+
+    @Test
+    void CreatesTheStoresWithTheFactoryOfTheCurrentThread() {
+        final AtomicReference<BackingStore> other = new AtomicReference<>();
+        final BackingStore store =
+                ScopedBackingStoreFactory.call(
+                        adapterFactory,
+                        () -> {
+                            final Thread thread = new Thread(() -> other.set(create()));
+                            thread.start();
+                            try {
+                                thread.join();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new RuntimeException(e);
+                            }
+                            return create();
+                        });
+        assertSame(adapterStore, store);
+        assertSame(applicationStore, other.get());
+        assertSame(applicationStore, create());
+    }
+
+    @Test
+    void RestoresTheEnclosingFactory() {
+        final BackingStore inner = new InMemoryBackingStore();
+        final BackingStore outer =
+                ScopedBackingStoreFactory.call(
+                        adapterFactory,
+                        () -> {
+                            assertSame(
+                                    inner,
+                                    ScopedBackingStoreFactory.call(() -> inner, () -> create()));
+                            // a null factory leaves the current one in place
+                            assertSame(
+                                    adapterStore,
+                                    ScopedBackingStoreFactory.call(null, () -> create()));
+                            return create();
+                        });
+        assertSame(adapterStore, outer);
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        ScopedBackingStoreFactory.call(
+                                adapterFactory,
+                                () -> {
+                                    throw new IllegalStateException("boom");
+                                }));
+        assertSame(applicationStore, create());
+    }
+
+    @Test
+    void CarriesTheFactoryToOtherThreads() throws Exception {
+        final Runnable[] task = new Runnable[1];
+        final AtomicReference<BackingStore> store = new AtomicReference<>();
+        ScopedBackingStoreFactory.call(
+                adapterFactory,
+                () -> {
+                    task[0] = ScopedBackingStoreFactory.capture().apply(() -> store.set(create()));
+                    return null;
+                });
+        CompletableFuture.runAsync(task[0]).get(10, TimeUnit.SECONDS);
+        assertSame(adapterStore, store.get());
+
+        // nothing is captured outside of an adapter
+        ScopedBackingStoreFactory.capture().apply(() -> store.set(create())).run();
+        assertSame(applicationStore, store.get());
+    }
+
+    @Test
+    void FailsWithoutAFactory() {
+        BackingStoreFactorySingleton.instance = null;
+        ScopedBackingStoreFactory.install();
+        assertThrows(IllegalStateException.class, ScopedBackingStoreFactoryTests::create);
+        assertSame(adapterStore, ScopedBackingStoreFactory.call(adapterFactory, () -> create()));
+    }
+}
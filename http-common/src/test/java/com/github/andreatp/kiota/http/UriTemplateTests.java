@@ -0,0 +1,252 @@
+package com.github.andreatp.kiota.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.microsoft.kiota.RequestInformation;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class UriTemplateTests {
+    private static final Map<String, Object> variables = new HashMap<>();
+
+    static {
+        // the variables of the examples of RFC 6570
+        final Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("semi", ";");
+        keys.put("dot", ".");
+        keys.put("comma", ",");
+        variables.put("var", "value");
+        variables.put("hello", "Hello World!");
+        variables.put("half", "50%");
+        variables.put("path", "/foo/bar");
+        variables.put("list", List.of("red", "green", "blue"));
+        variables.put("keys", keys);
+        variables.put("empty", "");
+        variables.put("x", "1024");
+        variables.put("y", "768");
+    }
+
+    /** Checks the expansion against the expected URI and against the one built by Kiota. */
+    private static void assertExpands(
+            final String expected,
+            final String template,
+            final Map<String, Object> pathParameters,
+            final Map<String, Object> queryParameters)
+            throws URISyntaxException {
+        final var requestInfo = new RequestInformation();
+        requestInfo.urlTemplate = template;
+        requestInfo.pathParameters.putAll(pathParameters);
+        queryParameters.forEach(requestInfo::addQueryParameter);
+        assertEquals(
+                expected,
+                UriTemplate.compile(template)
+                        .expand(
+                                null,
+                                requestInfo.pathParameters,
+                                requestInfo.getQueryParameters()));
+        assertEquals(expected, requestInfo.getUri().toString());
+    }
+
+    /** Checks the expansion against the expected URI, where Kiota builds a different one. */
+    private static void assertExpandsUnlikeKiota(
+            final String expected,
+            final String template,
+            final Map<String, Object> pathParameters,
+            final Map<String, Object> queryParameters) {
+        assertEquals(
+                expected,
+                UriTemplate.compile(template).expand(null, pathParameters, queryParameters));
+    }
+
+    private static void assertExpands(final String expected, final String template)
+            throws URISyntaxException {
+        assertExpands(expected, template, variables, Map.of());
+    }
+
+    @Test
+    void ExpandsSimpleStrings() throws URISyntaxException {
+        assertExpands("value", "{var}");
+        assertExpands("Hello%20World%21", "{hello}");
+        assertExpands("50%25", "{half}");
+        assertExpands("1024,Hello%20World%21,768", "{x,hello,y}");
+        assertExpands("map?1024,768", "map?{x,y}");
+    }
+
+    @Test
+    void ExpandsReservedStrings() throws URISyntaxException {
+        assertExpands("value", "{+var}");
+        assertExpands("Hello%20World!", "{+hello}");
+        assertExpands("50%25", "{+half}");
+        assertExpands("/foo/bar/here", "{+path}/here");
+        assertExpands("here?ref=/foo/bar", "here?ref={+path}");
+        assertExpands("1024,Hello%20World!,768", "{+x,hello,y}");
+        assertExpands("/foo/bar,1024/here", "{+path,x}/here");
+    }
+
+    @Test
+    void ExpandsFragments() throws URISyntaxException {
+        assertExpands("X#value", "X{#var}");
+        assertExpands("X#Hello%20World!", "X{#hello}");
+        assertExpands("#1024,Hello%20World!,768", "{#x,hello,y}");
+    }
+
+    @Test
+    void ExpandsLabelsAndPathSegments() throws URISyntaxException {
+        assertExpands("X.value", "X{.var}");
+        assertExpands("X.1024.768", "X{.x,y}");
+        assertExpands("/value", "{/var}");
+        assertExpands("/value/1024/here", "{/var,x}/here");
+    }
+
+    @Test
+    void ExpandsPathStyleParameters() throws URISyntaxException {
+        assertExpands(";x=1024;y=768", "{;x,y}");
+        assertExpands(";x=1024;y=768;empty", "{;x,y,empty}");
+    }
+
+    @Test
+    void ExpandsQueries() throws URISyntaxException {
+        assertExpands("?x=1024&y=768", "{?x,y}");
+        assertExpands("?x=1024&y=768&empty=", "{?x,y,empty}");
+        assertExpands("?fixed=yes&x=1024", "?fixed=yes{&x}");
+        assertExpands("&x=1024&y=768&empty=", "{&x,y,empty}");
+    }
+
+    @Test
+    void ExpandsPrefixes() throws URISyntaxException {
+        assertExpands("val", "{var:3}");
+        assertExpands("value", "{var:30}");
+        assertExpands("/foo/b/here", "{+path:6}/here");
+        assertExpands("/red/green/blue/%2Ffoo", "{/list*,path:4}");
+    }
+
+    @Test
+    void ExpandsLists() throws URISyntaxException {
+        assertExpands("red,green,blue", "{list}");
+        assertExpands("red,green,blue", "{list*}");
+        assertExpands("red,green,blue", "{+list}");
+        assertExpands("#red,green,blue", "{#list*}");
+        assertExpands("X.red,green,blue", "X{.list}");
+        assertExpands("X.red.green.blue", "X{.list*}");
+        assertExpands("/red,green,blue", "{/list}");
+        assertExpands("/red/green/blue", "{/list*}");
+        assertExpands(";list=red,green,blue", "{;list}");
+        assertExpands(";list=red;list=green;list=blue", "{;list*}");
+        assertExpands("?list=red,green,blue", "{?list}");
+        assertExpands("?list=red&list=green&list=blue", "{?list*}");
+        assertExpands("&list=red&list=green&list=blue", "{&list*}");
+    }
+
+    @Test
+    void ExpandsMaps() throws URISyntaxException {
+        assertExpands("semi,%3B,dot,.,comma,%2C", "{keys}");
+        assertExpands("semi=%3B,dot=.,comma=%2C", "{keys*}");
+        assertExpands("semi,;,dot,.,comma,,", "{+keys}");
+        assertExpands(";semi=%3B;dot=.;comma=%2C", "{;keys*}");
+        assertExpands("?keys=semi,%3B,dot,.,comma,%2C", "{?keys}");
+        assertExpands("?semi=%3B&dot=.&comma=%2C", "{?keys*}");
+    }
+
+    @Test
+    void EncodesTheCharactersOutsideOfTheUnreservedSet() throws URISyntaxException {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("pct", "a%2Fb");
+        values.put("accent", "\u00e9t\u00e9");
+        values.put("emoji", "\uD83D\uDE00");
+        values.put("reserved", "!$&'()*+,;=:@/?");
+        assertExpands("a%252Fb", "{pct}", values, Map.of());
+        assertExpands("a%2Fb", "{+pct}", values, Map.of());
+        assertExpands("%C3%A9t%C3%A9", "{accent}", values, Map.of());
+        assertExpands("%C3%A9", "{accent:1}", values, Map.of());
+        // Kiota encodes the characters outside of the Basic Multilingual Plane as %3F%3F
+        assertExpandsUnlikeKiota("%F0%9F%98%80", "{emoji}", values, Map.of());
+        assertExpandsUnlikeKiota("%F0%9F%98%80", "{emoji:1}", values, Map.of());
+        // Kiota leaves the asterisk unencoded, RFC 6570 only allows the unreserved characters
+        assertExpandsUnlikeKiota(
+                "%21%24%26%27%28%29%2A%2B%2C%3B%3D%3A%40%2F%3F",
+                "{reserved}",
+                values,
+                Map.of());
+        assertExpands("?reserved=!$&'()*+,;=:@/?", "?reserved={+reserved}", values, Map.of());
+    }
+
+    @Test
+    void SkipsTheMissingParameters() throws URISyntaxException {
+        assertExpands("?x=1024", "{?x,undef}");
+        assertExpands("", "{?undef}");
+        assertExpands("?x=1024&y=768", "{?undef,x,undef,y}");
+        assertExpands("x", "{/undef}x");
+        assertExpands("https://host/users", "https://host/users{?top,skip}", Map.of(), Map.of());
+        assertExpands(
+                "https://host/users",
+                "https://host/users{?ids}",
+                Map.of(),
+                Map.of("ids", List.of()));
+    }
+
+    @Test
+    void ConvertsTheKiotaParameterTypes() throws URISyntaxException {
+        final Map<String, Object> queryParameters = new HashMap<>();
+        queryParameters.put("%24count", true);
+        queryParameters.put("%24top", 10);
+        queryParameters.put("%24select", List.of("id", "displayName"));
+        assertExpands(
+                "https://host/users?%24count=true&%24top=10&%24select=id,displayName",
+                "https://host/users{?%24count,%24top,%24select}",
+                Map.of(),
+                queryParameters);
+
+        // Kiota only substitutes the lists its query parameters objects convert the arrays to
+        queryParameters.put("%24select", new String[] {"id", "displayName"});
+        assertExpandsUnlikeKiota(
+                "https://host/users?%24count=true&%24top=10&%24select=id,displayName",
+                "https://host/users{?%24count,%24top,%24select}",
+                Map.of(),
+                queryParameters);
+    }
+
+    @Test
+    void PrefersTheQueryParameters() throws URISyntaxException {
+        // the parameters form a single set of variables, as in Kiota
+        assertExpands(
+                "https://host/users/2?id=2",
+                "https://host/users/{id}{?id}",
+                Map.of("id", "1"),
+                Map.of("id", "2"));
+    }
+
+    @Test
+    void SubstitutesTheBaseUrl() throws URISyntaxException {
+        final String template = "{+baseurl}/users/{user%2Did}{?%24top}";
+        final Map<String, Object> pathParameters = new HashMap<>();
+        pathParameters.put("baseurl", "https://graph.microsoft.com/v1.0");
+        pathParameters.put("user%2Did", "me");
+        assertExpands(
+                "https://graph.microsoft.com/v1.0/users/me?%24top=5",
+                template,
+                pathParameters,
+                Map.of("%24top", 5));
+
+        // the base url of the adapter takes precedence without being stored in the parameters
+        final var expanded =
+                UriTemplate.compile(template)
+                        .expand("https://localhost:8080", pathParameters, Map.of());
+        assertEquals("https://localhost:8080/users/me", expanded);
+        assertEquals("https://graph.microsoft.com/v1.0", pathParameters.get("baseurl"));
+        pathParameters.put("baseurl", "https://localhost:8080");
+        assertExpands(expanded, template, pathParameters, Map.of());
+    }
+
+    @Test
+    void CachesTheCompiledTemplates() {
+        assertSame(
+                UriTemplate.compile("{+baseurl}/users"), UriTemplate.compile("{+baseurl}/users"));
+        assertThrows(IllegalArgumentException.class, () -> UriTemplate.compile("{+baseurl"));
+        assertThrows(IllegalArgumentException.class, () -> UriTemplate.compile("{}"));
+        assertThrows(IllegalArgumentException.class, () -> UriTemplate.compile("{var:x}"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.andreatp.kiota.jdk;
+
+import com.github.andreatp.kiota.http.TransferListener;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/** Body publishers and handlers moving request and response bodies from and to files. */
+final class FileTransfers {
+    private FileTransfers() {}
+
+    /**
+     * Reports the progress of a body publisher.
+     */
+    @Nonnull
+    static HttpRequest.BodyPublisher withProgress(
+            @Nonnull final HttpRequest.BodyPublisher delegate,
+            @Nullable final TransferListener listener) {
+        if (listener == null) {
+            return delegate;
+        }
+        return new HttpRequest.BodyPublisher() {
+            @Override
+            public long contentLength() {
+                return delegate.contentLength();
+            }
+
+            @Override
+            public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+                final long total = delegate.contentLength();
+                delegate.subscribe(
+                        new Flow.Subscriber<ByteBuffer>() {
+                            private long transferred;
+
+                            @Override
+                            public void onSubscribe(final Flow.Subscription subscription) {
+                                subscriber.onSubscribe(subscription);
+                            }
+
+                            @Override
+                            public void onNext(final ByteBuffer item) {
+                                transferred += item.remaining();
+                                subscriber.onNext(item);
+                                listener.onProgress(transferred, total);
+                            }
+
+                            @Override
+                            public void onError(final Throwable throwable) {
+                                subscriber.onError(throwable);
+                            }
+
+                            @Override
+                            public void onComplete() {
+                                subscriber.onComplete();
+                            }
+                        });
+            }
+        };
+    }
+
+    /**
+     * Writes successful response bodies to a file, other responses are kept as a stream to parse
+     * the error. The body of a successful response is null.
+     * @param target the file.
+     * @param offset the size of the part already downloaded, a partial content response is appended
+     *     to it.
+     * @param listener receives the progress of the download.
+     */
+    @Nonnull
+    static HttpResponse.BodyHandler<InputStream> toFile(
+            @Nonnull final Path target,
+            final long offset,
+            @Nullable final TransferListener listener) {
+        return responseInfo -> {
+            final int statusCode = responseInfo.statusCode();
+            if (statusCode < 200 || statusCode >= 300 || statusCode == 204) {
+                return HttpResponse.BodySubscribers.ofInputStream();
+            }
+            // a server ignoring the range sends the whole file
+            final boolean append = offset > 0 && statusCode == 206;
+            final HttpResponse.BodySubscriber<Path> file =
+                    HttpResponse.BodySubscribers.ofFile(
+                            target,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE,
+                            append
+                                    ? StandardOpenOption.APPEND
+                                    : StandardOpenOption.TRUNCATE_EXISTING);
+            final long length =
+                    responseInfo.headers().firstValueAsLong("Content-Length").orElse(-1);
+            final long start = append ? offset : 0;
+            return new HttpResponse.BodySubscriber<InputStream>() {
+                private long transferred = start;
+
+                @Override
+                public CompletionStage<InputStream> getBody() {
+                    return file.getBody().thenApply(path -> null);
+                }
+
+                @Override
+                public void onSubscribe(final Flow.Subscription subscription) {
+                    file.onSubscribe(subscription);
+                }
+
+                @Override
+                public void onNext(final List<ByteBuffer> item) {
+                    for (final ByteBuffer buffer : item) {
+                        transferred += buffer.remaining();
+                    }
+                    file.onNext(item);
+                    if (listener != null) {
+                        listener.onProgress(transferred, length < 0 ? -1 : start + length);
+                    }
+                }
+
+                @Override
+                public void onError(final Throwable throwable) {
+                    file.onError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    file.onComplete();
+                }
+            };
+        };
+    }
+}
@@ -6,38 +6,45 @@ import jakarta.annotation.Nonnull;
 
 import java.net.http.HttpHeaders;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
- * Compatibility class to bridge OkHttp Headers and Kiota Headers
+ * Compatibility class to bridge JDK HttpHeaders and Kiota Headers
  */
 public class HeadersCompatibility {
     private HeadersCompatibility() {}
 
+    /**
+     * Materializes the Kiota headers of a response, only meant to be called when the headers are
+     * actually read, e.g. when building an {@link com.microsoft.kiota.ApiException}.
+     */
     @Nonnull
     public static ResponseHeaders getResponseHeaders(@Nonnull final HttpHeaders headers) {
         Objects.requireNonNull(headers);
         final ResponseHeaders responseHeaders = new ResponseHeaders();
-        headers.map()
-                .forEach(
-                        (name, value) -> {
-                            Objects.requireNonNull(name);
-                            responseHeaders.put(name, new HashSet<>(value));
-                        });
+        for (final Map.Entry<String, List<String>> header : headers.map().entrySet()) {
+            responseHeaders.put(
+                    Objects.requireNonNull(header.getKey()), new HashSet<>(header.getValue()));
+        }
         return responseHeaders;
     }
 
+    /**
+     * Converts Kiota headers, e.g. to inspect them as the JDK client would. The requests are built
+     * with {@link HttpRequestCompatibility#newBuilder}, which adds the headers to the builder.
+     */
     @Nonnull
     public static HttpHeaders getHttpHeaders(@Nonnull final RequestHeaders headers) {
-        Map<String, List<String>> map = headers
-                .entrySet()
-                .stream()
-                .map((elem) -> Map.entry(elem.getKey(), new ArrayList<>(elem.getValue())))
-                .collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue()));
-        return HttpHeaders.of(map, (x, y) -> true);
+        Objects.requireNonNull(headers);
+        final Map<String, List<String>> values = new HashMap<>(headers.size());
+        for (final Map.Entry<String, Set<String>> header : headers.entrySet()) {
+            values.put(header.getKey(), new ArrayList<>(header.getValue()));
+        }
+        return HttpHeaders.of(values, (x, y) -> true);
     }
 }
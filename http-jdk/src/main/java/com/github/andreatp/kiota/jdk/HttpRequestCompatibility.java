@@ -1,32 +1,93 @@
 package com.github.andreatp.kiota.jdk;
 
+import com.github.andreatp.kiota.http.Compression;
+import com.github.andreatp.kiota.http.ContentCodec;
+import java.io.IOException;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpRequest;
 import java.util.Map;
 import java.util.Set;
 
 public class HttpRequestCompatibility {
+    private static final String contentEncodingHeaderKey = "content-encoding";
+    private static final String acceptEncodingHeaderKey = "accept-encoding";
+
     private HttpRequestCompatibility() {}
 
     public static HttpRequest convert(com.microsoft.kiota.RequestInformation requestInfo) {
-        final HttpRequest.BodyPublisher body = requestInfo.content == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofInputStream(() -> requestInfo.content);
-        final HttpRequest.Builder requestBuilder;
         try {
-            requestBuilder = HttpRequest.newBuilder()
-                    .uri(requestInfo.getUri())
-                    .method(requestInfo.httpMethod.toString(), body);
+            return convert(requestInfo, requestInfo.getUri());
         } catch (URISyntaxException e) {
             throw new RuntimeException(e);
         }
+    }
+
+    public static HttpRequest convert(com.microsoft.kiota.RequestInformation requestInfo, URI uri) {
+        return convert(requestInfo, uri, null);
+    }
+
+    public static HttpRequest convert(
+            com.microsoft.kiota.RequestInformation requestInfo,
+            URI uri,
+            Compression compression) {
+        HttpRequest.BodyPublisher body =
+                requestInfo.content == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofInputStream(() -> requestInfo.content);
+        String contentEncoding = null;
+        if (compression != null
+                && requestInfo.content != null
+                && (requestInfo.headers == null
+                        || !requestInfo.headers.containsKey(contentEncodingHeaderKey))) {
+            final ContentCodec codec;
+            try {
+                // the serialized bodies are in memory, so the available bytes are their size
+                codec = compression.getRequestCodec(requestInfo.content.available());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            if (codec != null) {
+                body =
+                        HttpRequest.BodyPublishers.ofByteArray(
+                                compression.encode(codec, requestInfo.content));
+                contentEncoding = codec.getEncoding();
+            }
+        }
+        final HttpRequest.Builder requestBuilder = newBuilder(requestInfo, uri, body);
+        if (contentEncoding != null) {
+            requestBuilder.setHeader(contentEncodingHeaderKey, contentEncoding);
+        }
+        if (compression != null
+                && compression.getAcceptEncoding() != null
+                && (requestInfo.headers == null
+                        || !requestInfo.headers.containsKey(acceptEncodingHeaderKey))) {
+            requestBuilder.setHeader(acceptEncodingHeaderKey, compression.getAcceptEncoding());
+        }
+
+        return requestBuilder.build();
+    }
+
+    /**
+     * Starts a request from the method and headers of a Kiota request with the given body, leaving
+     * out its content.
+     */
+    public static HttpRequest.Builder newBuilder(
+            com.microsoft.kiota.RequestInformation requestInfo,
+            URI uri,
+            HttpRequest.BodyPublisher body) {
+        final HttpRequest.Builder requestBuilder =
+                HttpRequest.newBuilder().uri(uri).method(requestInfo.httpMethod.toString(), body);
 
         if (requestInfo.headers != null) {
-            for (final Map.Entry<String, Set<String>> headerEntry : requestInfo.headers.entrySet()) {
+            for (final Map.Entry<String, Set<String>> headerEntry :
+                    requestInfo.headers.entrySet()) {
+                // adds each value, setting them would only keep the last one
                 for (final String headerValue : headerEntry.getValue()) {
-                    requestBuilder.setHeader(headerEntry.getKey(), headerValue);
+                    requestBuilder.header(headerEntry.getKey(), headerValue);
                 }
             }
         }
-
-        return requestBuilder.build();
+        return requestBuilder;
     }
 }
@@ -1,9 +1,19 @@
 package com.github.andreatp.kiota.jdk;
 
+import com.github.andreatp.kiota.http.Bulkhead;
+import com.github.andreatp.kiota.http.BulkheadFullException;
+import com.github.andreatp.kiota.http.Bulkheads;
+import com.github.andreatp.kiota.http.Compression;
+import com.github.andreatp.kiota.http.ParseNodeFactoryOption;
+import com.github.andreatp.kiota.http.ParseOffloadPolicy;
+import com.github.andreatp.kiota.http.ParseRejectedException;
+import com.github.andreatp.kiota.http.PrimitiveReaders;
+import com.github.andreatp.kiota.http.ScopedBackingStoreFactory;
+import com.github.andreatp.kiota.http.TransferListener;
+import com.github.andreatp.kiota.http.UriTemplate;
 import com.microsoft.kiota.ApiClientBuilder;
 import com.microsoft.kiota.ApiException;
 import com.microsoft.kiota.ApiExceptionBuilder;
-import com.microsoft.kiota.PeriodAndDuration;
 import com.microsoft.kiota.RequestAdapter;
 import com.microsoft.kiota.RequestInformation;
 import com.microsoft.kiota.RequestOption;
@@ -19,31 +29,44 @@ import com.microsoft.kiota.serialization.SerializationWriterFactory;
 import com.microsoft.kiota.serialization.SerializationWriterFactoryRegistry;
 import com.microsoft.kiota.serialization.ValuedEnumParser;
 import com.microsoft.kiota.store.BackingStoreFactory;
-import com.microsoft.kiota.store.BackingStoreFactorySingleton;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.OffsetDateTime;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /** RequestAdapter implementation for VertX */
 public class JDKRequestAdapter implements RequestAdapter {
     private static final String contentTypeHeaderKey = "Content-Type";
+    private static final String contentEncodingHeaderKey = "Content-Encoding";
+    private static final String acceptEncodingHeaderKey = "accept-encoding";
+    private static final String rangeHeaderKey = "Range";
+    private static final String contentLengthHeaderKey = "Content-Length";
+    private static final String rawUrlKey = "request-raw-url";
     @Nonnull private final HttpClient client;
     @Nonnull private ParseNodeFactory pNodeFactory;
     @Nonnull private SerializationWriterFactory sWriterFactory;
     @Nonnull private String baseUrl = "";
+    @Nonnull private final Bulkheads bulkheads = new Bulkheads();
+    @Nonnull private final Compression compression = new Compression();
+    @Nonnull private final ResponseBodyLimit responseBodyLimit = new ResponseBodyLimit();
+    @Nonnull private final ParseOffloadPolicy parseOffloadPolicy = new ParseOffloadPolicy();
+    @Nullable private BackingStoreFactory backingStoreFactory;
+    private boolean backingStoreEnabled;
 
     public void setBaseUrl(@Nonnull final String baseUrl) {
         this.baseUrl = Objects.requireNonNull(baseUrl);
@@ -54,6 +77,48 @@ public class JDKRequestAdapter implements RequestAdapter {
         return baseUrl;
     }
 
+    /**
+     * The bulkhead partitions isolating the requests sent through this adapter.
+     * @return the partitions, empty by default.
+     */
+    @Nonnull
+    public Bulkheads getBulkheads() {
+        return bulkheads;
+    }
+
+    /**
+     * The content codings used by this adapter, compressed responses are accepted and decoded by
+     * default.
+     * @return the compression settings and metrics.
+     */
+    @Nonnull
+    public Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * The bound of the response bodies buffered for parsing.
+     * @return the limit settings and metrics, unlimited by default.
+     */
+    @Nonnull
+    public ResponseBodyLimit getResponseBodyLimit() {
+        return responseBodyLimit;
+    }
+
+    /**
+     * Where the response bodies are parsed, large bodies can be parsed on a dedicated executor.
+     * @return the policy settings and metrics, parsing inline by default.
+     */
+    @Nonnull
+    public ParseOffloadPolicy getParseOffloadPolicy() {
+        return parseOffloadPolicy;
+    }
+
+    @Nonnull
+    HttpClient getHttpClient() {
+        return client;
+    }
+
     public JDKRequestAdapter() {
         this(null, null, null);
     }
@@ -94,17 +159,33 @@ public class JDKRequestAdapter implements RequestAdapter {
         return sWriterFactory;
     }
 
+    /**
+     * Enables the backing store of the models parsed and serialized by this adapter. The factory is
+     * bound to the thread parsing the response, arrays the Jackson parse node factory parses in
+     * parallel need {@link ScopedBackingStoreFactory#capture} as context capture of its parallel
+     * parsing to use it on the pool threads. A factory installs {@link ScopedBackingStoreFactory}
+     * as {@code BackingStoreFactorySingleton.instance} for the whole process: setting the singleton
+     * again afterwards replaces it and silently turns the factories of the adapters off, their
+     * models then take their stores from the new singleton.
+     * @param backingStoreFactory the factory of the stores of the models parsed by this adapter,
+     *     the factory of the Kiota singleton when null. The stores of the models of the other
+     *     adapters and of the application are left unchanged.
+     */
     public void enableBackingStore(@Nullable final BackingStoreFactory backingStoreFactory) {
-        this.pNodeFactory =
-                Objects.requireNonNull(
-                        ApiClientBuilder.enableBackingStoreForParseNodeFactory(pNodeFactory));
-        this.sWriterFactory =
-                Objects.requireNonNull(
-                        ApiClientBuilder.enableBackingStoreForSerializationWriterFactory(
-                                sWriterFactory));
+        if (!backingStoreEnabled) {
+            this.pNodeFactory =
+                    Objects.requireNonNull(
+                            ApiClientBuilder.enableBackingStoreForParseNodeFactory(pNodeFactory));
+            this.sWriterFactory =
+                    Objects.requireNonNull(
+                            ApiClientBuilder.enableBackingStoreForSerializationWriterFactory(
+                                    sWriterFactory));
+            backingStoreEnabled = true;
+        }
         if (backingStoreFactory != null) {
-            BackingStoreFactorySingleton.instance = backingStoreFactory;
+            ScopedBackingStoreFactory.install();
         }
+        this.backingStoreFactory = backingStoreFactory;
     }
 
     private static final String nullRequestInfoParameter = "parameter requestInfo cannot be null";
@@ -119,22 +200,24 @@ public class JDKRequestAdapter implements RequestAdapter {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(factory, nullFactoryParameter);
 
-        HttpResponse response = this.getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            final ParseNode rootNode = getRootParseNode(response);
-            if (rootNode == null) {
-                return null;
-            }
-            final List<ModelType> result = rootNode.getCollectionOfObjectValues(factory);
-            return result;
-        } else {
-            return responseHandler.handleResponse(response, errorMappings);
-        }
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    HttpResponse response = this.getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        return parseResponse(
+                                requestInfo,
+                                response,
+                                rootNode -> rootNode.getCollectionOfObjectValues(factory));
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                });
     }
 
     private ResponseHandler getResponseHandler(final RequestInformation requestInfo) {
@@ -156,22 +239,120 @@ public class JDKRequestAdapter implements RequestAdapter {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(factory, nullFactoryParameter);
 
-        HttpResponse response = this.getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            final ParseNode rootNode = getRootParseNode(response);
-            if (rootNode == null) {
-                return null;
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    HttpResponse response = this.getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        return (ModelType)
+                                parseResponse(
+                                        requestInfo,
+                                        response,
+                                        rootNode -> rootNode.getObjectValue(factory));
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                });
+    }
+
+    /**
+     * Sends a request without waiting for its response, the response body is parsed where the
+     * {@link ParseOffloadPolicy} decides. A slot of the bulkhead partition of the request is taken
+     * before sending, waiting for one without blocking the calling thread when the partition is
+     * full, and released once the body is parsed.
+     * @return the model, completed with null when there is no response body, failed with a {@link
+     *     BulkheadFullException} or a {@link ParseRejectedException} when the request or its parse
+     *     is rejected.
+     */
+    @Nonnull
+    public <ModelType extends Parsable> CompletableFuture<ModelType> sendAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(factory, nullFactoryParameter);
+
+        // the slot is awaited without blocking the calling thread
+        return bulkheads
+                .acquireAsync(requestInfo)
+                .thenCompose(bulkhead -> sendAsync(bulkhead, requestInfo, errorMappings, factory));
+    }
+
+    /** Sends a request in a slot of its bulkhead partition, released once the body is parsed. */
+    @Nonnull
+    private <ModelType extends Parsable> CompletableFuture<ModelType> sendAsync(
+            @Nullable final Bulkhead bulkhead,
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        final CompletableFuture<ModelType> result;
+        try {
+            result =
+                    this.client
+                            .sendAsync(
+                                    HttpRequestCompatibility.convert(
+                                            requestInfo, getRequestUri(requestInfo), compression),
+                                    HttpResponse.BodyHandlers.ofInputStream())
+                            .thenCompose(
+                                    response ->
+                                            handleResponseAsync(
+                                                    requestInfo,
+                                                    response,
+                                                    errorMappings,
+                                                    rootNode -> rootNode.getObjectValue(factory)));
+        } catch (RuntimeException e) {
+            if (bulkhead != null) {
+                bulkhead.release();
             }
-            final ModelType result = rootNode.getObjectValue(factory);
+            throw e;
+        }
+        if (bulkhead == null) {
             return result;
-        } else {
+        }
+        return result.whenComplete((value, error) -> bulkhead.release());
+    }
+
+    @Nonnull
+    private <T> CompletableFuture<T> handleResponseAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final HttpResponse<InputStream> response,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Function<ParseNode, T> parse) {
+        final long size = response.headers().firstValueAsLong(contentLengthHeaderKey).orElse(-1);
+        final CompletableFuture<T> result =
+                parseOffloadPolicy.parseAsync(
+                        size, () -> handleResponse(requestInfo, response, errorMappings, parse));
+        if (result.isCompletedExceptionally()) {
+            // the body of a rejected parse is not read
+            try {
+                response.body().close();
+            } catch (IOException e) {
+                // the parse failure is reported
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private <T> T handleResponse(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final HttpResponse<InputStream> response,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Function<ParseNode, T> parse) {
+        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+        if (responseHandler != null) {
             return responseHandler.handleResponse(response, errorMappings);
         }
+        this.throwIfFailedResponse(response, errorMappings);
+        if (this.shouldReturnNull(response)) {
+            return null;
+        }
+        return readResponse(requestInfo, response, parse);
     }
 
     @Nullable
@@ -182,63 +363,36 @@ public class JDKRequestAdapter implements RequestAdapter {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(targetClass, "parameter targetClass cannot be null");
 
-        HttpResponse response = this.getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            if (targetClass == Void.class) {
-                return null;
-            } else {
-                if (targetClass == InputStream.class) {
-                    // TODO: verify streaming responses
-                    return (ModelType) response.body();
-                }
-                final ParseNode rootNode = getRootParseNode(response);
-                if (rootNode == null) {
-                    return null;
-                }
-                Object result;
-                if (targetClass == Boolean.class) {
-                    result = rootNode.getBooleanValue();
-                } else if (targetClass == Byte.class) {
-                    result = rootNode.getByteValue();
-                } else if (targetClass == String.class) {
-                    result = rootNode.getStringValue();
-                } else if (targetClass == Short.class) {
-                    result = rootNode.getShortValue();
-                } else if (targetClass == BigDecimal.class) {
-                    result = rootNode.getBigDecimalValue();
-                } else if (targetClass == Double.class) {
-                    result = rootNode.getDoubleValue();
-                } else if (targetClass == Integer.class) {
-                    result = rootNode.getIntegerValue();
-                } else if (targetClass == Float.class) {
-                    result = rootNode.getFloatValue();
-                } else if (targetClass == Long.class) {
-                    result = rootNode.getLongValue();
-                } else if (targetClass == UUID.class) {
-                    result = rootNode.getUUIDValue();
-                } else if (targetClass == OffsetDateTime.class) {
-                    result = rootNode.getOffsetDateTimeValue();
-                } else if (targetClass == LocalDate.class) {
-                    result = rootNode.getLocalDateValue();
-                } else if (targetClass == LocalTime.class) {
-                    result = rootNode.getLocalTimeValue();
-                } else if (targetClass == PeriodAndDuration.class) {
-                    result = rootNode.getPeriodAndDurationValue();
-                } else if (targetClass == byte[].class) {
-                    result = rootNode.getByteArrayValue();
-                } else {
-                    throw new RuntimeException("unexpected payload type " + targetClass.getName());
-                }
-                return (ModelType) result;
-            }
-        } else {
-            return responseHandler.handleResponse(response, errorMappings);
+        final Supplier<ModelType> request =
+                () -> {
+                    HttpResponse response = this.getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        if (targetClass == Void.class) {
+                            return null;
+                        } else {
+                            if (targetClass == InputStream.class) {
+                                return (ModelType) getResponseBody(response);
+                            }
+                            return (ModelType)
+                                    parseResponse(
+                                            requestInfo,
+                                            response,
+                                            rootNode -> PrimitiveReaders.read(rootNode, targetClass));
+                        }
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                };
+        if (targetClass == InputStream.class) {
+            // the body is read from the connection, the slot is held until the stream is closed
+            return (ModelType) bulkheads.stream(requestInfo, () -> (InputStream) request.get());
         }
+        return bulkheads.call(requestInfo, request);
     }
 
     @Nullable
@@ -249,22 +403,25 @@ public class JDKRequestAdapter implements RequestAdapter {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(enumParser, nullEnumParserParameter);
 
-        HttpResponse response = this.getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            final ParseNode rootNode = getRootParseNode(response);
-            if (rootNode == null) {
-                return null;
-            }
-            final Object result = rootNode.getEnumValue(enumParser);
-            return (ModelType) result;
-        } else {
-            return responseHandler.handleResponse(response, errorMappings);
-        }
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    HttpResponse response = this.getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        return (ModelType)
+                                parseResponse(
+                                        requestInfo,
+                                        response,
+                                        rootNode -> rootNode.getEnumValue(enumParser));
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                });
     }
 
     @Nullable
@@ -275,22 +432,24 @@ public class JDKRequestAdapter implements RequestAdapter {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(enumParser, nullEnumParserParameter);
 
-        HttpResponse response = this.getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            final ParseNode rootNode = getRootParseNode(response);
-            if (rootNode == null) {
-                return null;
-            }
-            final Object result = rootNode.getCollectionOfEnumValues(enumParser);
-            return (List<ModelType>) result;
-        } else {
-            return responseHandler.handleResponse(response, errorMappings);
-        }
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    HttpResponse response = this.getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        return parseResponse(
+                                requestInfo,
+                                response,
+                                rootNode -> rootNode.getCollectionOfEnumValues(enumParser));
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                });
     }
 
     @Nullable
@@ -300,27 +459,196 @@ public class JDKRequestAdapter implements RequestAdapter {
             @Nonnull final Class<ModelType> targetClass) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
 
-        HttpResponse response = getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            final ParseNode rootNode = getRootParseNode(response);
-            if (rootNode == null) {
-                return null;
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    HttpResponse response = getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        return parseResponse(
+                                requestInfo,
+                                response,
+                                rootNode -> rootNode.getCollectionOfPrimitiveValues(targetClass));
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                });
+    }
+
+    /**
+     * Sends a request with the content of a file as body, the file is streamed instead of being
+     * read upfront.
+     * @param requestInfo the request, its content is ignored.
+     * @param source the file to upload.
+     * @param listener receives the progress of the upload.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @param factory the factory to create the parsable object from the response.
+     * @return the deserialized response model.
+     */
+    @Nullable
+    public <ModelType extends Parsable> ModelType sendFile(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Path source,
+            @Nullable final TransferListener listener,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(source, "parameter source cannot be null");
+        Objects.requireNonNull(factory, nullFactoryParameter);
+
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    final HttpRequest.BodyPublisher body;
+                    try {
+                        body =
+                                FileTransfers.withProgress(
+                                        HttpRequest.BodyPublishers.ofFile(source), listener);
+                    } catch (FileNotFoundException e) {
+                        throw new RuntimeException(e);
+                    }
+                    final HttpRequest.Builder request =
+                            HttpRequestCompatibility.newBuilder(
+                                    requestInfo, getRequestUri(requestInfo), body);
+                    final String acceptEncoding = compression.getAcceptEncoding();
+                    if (acceptEncoding != null
+                            && !requestInfo.headers.containsKey(acceptEncodingHeaderKey)) {
+                        request.setHeader(acceptEncodingHeaderKey, acceptEncoding);
+                    }
+                    final HttpResponse<InputStream> response =
+                            send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+                    this.throwIfFailedResponse(response, errorMappings);
+                    if (this.shouldReturnNull(response)) {
+                        return null;
+                    }
+                    return parseResponse(
+                            requestInfo,
+                            response,
+                            rootNode -> rootNode.getObjectValue(factory));
+                });
+    }
+
+    /**
+     * Sends a request and writes the response body straight to a file, the response is not decoded.
+     * @param requestInfo the request.
+     * @param target the file to write.
+     * @param resume whether to only request the part missing from an existing file, the file is
+     *     overwritten when the server does not support ranges.
+     * @param listener receives the progress of the download.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @return the size of the file.
+     */
+    public long receiveFile(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Path target,
+            final boolean resume,
+            @Nullable final TransferListener listener,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(target, "parameter target cannot be null");
+
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    try {
+                        final long offset =
+                                resume && Files.exists(target) ? Files.size(target) : 0;
+                        final HttpRequest.Builder request =
+                                HttpRequestCompatibility.newBuilder(
+                                        requestInfo,
+                                        getRequestUri(requestInfo),
+                                        requestInfo.content == null
+                                                ? HttpRequest.BodyPublishers.noBody()
+                                                : HttpRequest.BodyPublishers.ofInputStream(
+                                                        () -> requestInfo.content));
+                        if (offset > 0) {
+                            request.setHeader(rangeHeaderKey, "bytes=" + offset + "-");
+                        }
+                        final HttpResponse<InputStream> response =
+                                send(
+                                        request.build(),
+                                        FileTransfers.toFile(target, offset, listener));
+                        if (offset > 0 && response.statusCode() == 416) {
+                            // the file is already complete
+                            response.body().close();
+                            return offset;
+                        }
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return 0L;
+                        }
+                        return Files.size(target);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+    }
+
+    @Nullable
+    private InputStream getResponseBody(final HttpResponse<InputStream> response) {
+        final InputStream rawInputStream = response.body();
+        if (rawInputStream == null) {
+            return null;
+        }
+        return compression.decode(
+                response.headers().firstValue(contentEncodingHeaderKey).orElse(null),
+                rawInputStream);
+    }
+
+    /**
+     * Parses a response body on the calling thread.
+     * @return the parsed value, null when there is no body to parse.
+     */
+    @Nullable
+    private <T> T parseResponse(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final HttpResponse<InputStream> response,
+            @Nonnull final Function<ParseNode, T> parse) {
+        return parseOffloadPolicy.parse(() -> readResponse(requestInfo, response, parse));
+    }
+
+    @Nullable
+    private <T> T readResponse(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final HttpResponse<InputStream> response,
+            @Nonnull final Function<ParseNode, T> parse) {
+        return ScopedBackingStoreFactory.call(
+                backingStoreFactory,
+                () -> {
+                    final ParseNode rootNode =
+                            getRootParseNode(response, getParseNodeFactory(requestInfo));
+                    return rootNode == null ? null : parse.apply(rootNode);
+                });
+    }
+
+    @Nonnull
+    private ParseNodeFactory getParseNodeFactory(final RequestInformation requestInfo) {
+        for (final RequestOption rOption : requestInfo.getRequestOptions()) {
+            if (rOption instanceof ParseNodeFactoryOption) {
+                final ParseNodeFactory parseNodeFactory =
+                        ((ParseNodeFactoryOption) rOption).getParseNodeFactory();
+                // the models are backed as the ones parsed by the factory of the adapter
+                return backingStoreEnabled
+                        ? ApiClientBuilder.enableBackingStoreForParseNodeFactory(parseNodeFactory)
+                        : parseNodeFactory;
             }
-            final List<ModelType> result = rootNode.getCollectionOfPrimitiveValues(targetClass);
-            return result;
-        } else {
-            return responseHandler.handleResponse(response, errorMappings);
         }
+        return pNodeFactory;
     }
 
     @Nullable
     private ParseNode getRootParseNode(final HttpResponse<InputStream> response) {
-        final InputStream rawInputStream = response.body();
+        return getRootParseNode(response, pNodeFactory);
+    }
+
+    @Nullable
+    private ParseNode getRootParseNode(
+            final HttpResponse<InputStream> response, final ParseNodeFactory parseNodeFactory) {
+        final InputStream rawInputStream = getResponseBody(response);
         if (rawInputStream == null) {
             return null;
         }
@@ -329,7 +657,13 @@ public class JDKRequestAdapter implements RequestAdapter {
         if (contentType == null) {
             return null;
         }
-        return pNodeFactory.getParseNode(contentType, rawInputStream);
+        // the declared length is the one of the encoded body
+        final long contentLength =
+                rawInputStream == response.body()
+                        ? response.headers().firstValueAsLong(contentLengthHeaderKey).orElse(-1L)
+                        : -1L;
+        return parseNodeFactory.getParseNode(
+                contentType, responseBodyLimit.apply(rawInputStream, contentLength));
     }
 
     private boolean shouldReturnNull(final HttpResponse response) {
@@ -385,21 +719,60 @@ public class JDKRequestAdapter implements RequestAdapter {
             throw result;
         }
         ApiException result =
-                new ApiExceptionBuilder(() -> rootNode.getObjectValue(errorClass))
+                new ApiExceptionBuilder(
+                                () ->
+                                        ScopedBackingStoreFactory.call(
+                                                backingStoreFactory,
+                                                () -> rootNode.getObjectValue(errorClass)))
                         .withResponseStatusCode(statusCode)
                         .withResponseHeaders(responseHeaders)
                         .build();
         throw result;
     }
 
-    private HttpResponse<InputStream> getHttpResponseMessage(@Nonnull final RequestInformation requestInfo) {
+    private HttpResponse<InputStream> getHttpResponseMessage(
+            @Nonnull final RequestInformation requestInfo) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
-        this.setBaseUrlForRequestInformation(requestInfo);
+        return send(
+                HttpRequestCompatibility.convert(
+                        requestInfo, getRequestUri(requestInfo), compression),
+                HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private <T> HttpResponse<T> send(
+            @Nonnull final HttpRequest request,
+            @Nonnull final HttpResponse.BodyHandler<T> bodyHandler) {
         try {
-            return this.client.send(HttpRequestCompatibility.convert(requestInfo), HttpResponse.BodyHandlers.ofInputStream());
+            return this.client.send(request, bodyHandler);
         } catch (IOException e) {
             throw new RuntimeException(e);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Expands the URI of a request through the compiled form of its template, the adapter base url
+     * is used without being stored in the path parameters. Falls back to {@link
+     * RequestInformation#getUri()} for raw urls.
+     */
+    @Nonnull
+    URI getRequestUri(@Nonnull final RequestInformation requestInfo) {
+        try {
+            if (requestInfo.urlTemplate == null
+                    || requestInfo.pathParameters.isEmpty()
+                    || requestInfo.pathParameters.containsKey(rawUrlKey)) {
+                this.setBaseUrlForRequestInformation(requestInfo);
+                return requestInfo.getUri();
+            }
+            return new URI(
+                    UriTemplate.compile(requestInfo.urlTemplate)
+                            .expand(
+                                    getBaseUrl(),
+                                    requestInfo.pathParameters,
+                                    requestInfo.getQueryParameters()));
+        } catch (URISyntaxException e) {
             throw new RuntimeException(e);
         }
     }
@@ -417,6 +790,6 @@ public class JDKRequestAdapter implements RequestAdapter {
 
     protected @Nonnull HttpRequest getRequestFromRequestInformation(
             @Nonnull final RequestInformation requestInfo) {
-        return HttpRequestCompatibility.convert(requestInfo);
+        return HttpRequestCompatibility.convert(requestInfo, getRequestUri(requestInfo));
     }
 }
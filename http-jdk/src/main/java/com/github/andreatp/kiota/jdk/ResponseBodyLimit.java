@@ -0,0 +1,291 @@
+package com.github.andreatp.kiota.jdk;
+
+import com.github.andreatp.kiota.http.ResponseTooLargeException;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the size of the response bodies buffered in memory before being parsed.
+ * Bodies exceeding the limit either fail with a {@link ResponseTooLargeException} or are spilled
+ * to a memory-mapped temporary file. Streamed responses (e.g. requested as {@link InputStream}) are
+ * not bounded.
+ */
+public class ResponseBodyLimit {
+    /** What to do with a body exceeding the limit. */
+    public enum Policy {
+        FAIL,
+        SPILL
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private volatile long maxInMemoryBytes = Long.MAX_VALUE;
+    @Nonnull private volatile Policy policy = Policy.FAIL;
+    @Nullable private volatile Path spillDirectory;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder spills = new LongAdder();
+    private final LongAdder spilledBytes = new LongAdder();
+
+    ResponseBodyLimit() {}
+
+    /**
+     * Sets the limit, unlimited by default.
+     * @param maxInMemoryBytes the maximum size of a body kept in memory.
+     * @param policy what to do with bodies exceeding it.
+     */
+    public void setMaxInMemoryBytes(final long maxInMemoryBytes, @Nonnull final Policy policy) {
+        if (maxInMemoryBytes < 0) {
+            throw new IllegalArgumentException("maxInMemoryBytes cannot be negative");
+        }
+        this.policy = Objects.requireNonNull(policy, "parameter policy cannot be null");
+        this.maxInMemoryBytes = maxInMemoryBytes;
+    }
+
+    /**
+     * Sets the directory of the spill files.
+     * @param spillDirectory the directory, null for the default temporary directory.
+     */
+    public void setSpillDirectory(@Nullable final Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    public long getMaxInMemoryBytes() {
+        return maxInMemoryBytes;
+    }
+
+    @Nonnull
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    @Nullable
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    /** @return the number of bodies rejected for exceeding the limit. */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /** @return the number of bodies spilled to disk. */
+    public long getSpills() {
+        return spills.sum();
+    }
+
+    /** @return the total size of the bodies spilled to disk. */
+    public long getSpilledBytes() {
+        return spilledBytes.sum();
+    }
+
+    /**
+     * Applies the limit to a body about to be parsed.
+     * A declared length decides upfront whether the body is kept in memory, rejected or spilled.
+     * Without one, the body is read up to the limit before being spilled.
+     * @param body the body.
+     * @param contentLength the declared length of the body, negative when unknown.
+     * @return a stream failing once the limit is exceeded, or the body read up to the limit,
+     *     spilled to disk if longer.
+     */
+    @Nonnull
+    InputStream apply(@Nonnull final InputStream body, final long contentLength) {
+        if (maxInMemoryBytes == Long.MAX_VALUE) {
+            return body;
+        }
+        try {
+            if (policy == Policy.FAIL) {
+                if (contentLength > maxInMemoryBytes) {
+                    rejected.increment();
+                    body.close();
+                    throw new ResponseTooLargeException(maxInMemoryBytes);
+                }
+                return new LimitedInputStream(body, maxInMemoryBytes);
+            }
+            // an in-memory body is backed by a single array
+            final long max = Math.min(maxInMemoryBytes, MAX_ARRAY_SIZE - 1);
+            if (contentLength > max) {
+                return spill(new byte[0], 0, body);
+            }
+            // one byte past the declared length finds the end of the body without growing
+            final long initialSize =
+                    contentLength < 0 ? Math.min(BUFFER_SIZE, max + 1) : contentLength + 1;
+            byte[] buffer = new byte[(int) initialSize];
+            int size = 0;
+            int read;
+            // reads one byte past the limit to find out whether the body fits
+            while (size <= max && (read = body.read(buffer, size, buffer.length - size)) != -1) {
+                size += read;
+                if (size == buffer.length && size <= max) {
+                    buffer =
+                            Arrays.copyOf(
+                                    buffer, (int) Math.min((long) buffer.length * 2, max + 1));
+                }
+            }
+            if (size <= max) {
+                body.close();
+                return new ByteArrayInputStream(buffer, 0, size);
+            }
+            return spill(buffer, size, body);
+        } catch (IOException e) {
+            throw new RuntimeException("could not read the response body", e);
+        }
+    }
+
+    private InputStream spill(final byte[] head, final int headSize, final InputStream body)
+            throws IOException {
+        final Path directory = spillDirectory;
+        final Path file =
+                directory == null
+                        ? Files.createTempFile("kiota-", ".body")
+                        : Files.createTempFile(directory, "kiota-", ".body");
+        final FileChannel spillChannel;
+        try {
+            spillChannel =
+                    FileChannel.open(
+                            file,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        // the mappings stay valid once the channel is closed and the file deleted
+        try (body;
+                FileChannel channel = spillChannel) {
+            final ByteBuffer headBuffer = ByteBuffer.wrap(head, 0, headSize);
+            while (headBuffer.hasRemaining()) {
+                channel.write(headBuffer);
+            }
+            body.transferTo(Channels.newOutputStream(channel));
+            final long size = channel.size();
+            final ByteBuffer[] segments =
+                    new ByteBuffer[(int) ((size - 1) / Integer.MAX_VALUE + 1)];
+            for (int i = 0; i < segments.length; i++) {
+                final long position = (long) i * Integer.MAX_VALUE;
+                segments[i] =
+                        channel.map(
+                                FileChannel.MapMode.READ_ONLY,
+                                position,
+                                Math.min(Integer.MAX_VALUE, size - position));
+            }
+            spills.increment();
+            spilledBytes.add(size);
+            return new MappedInputStream(segments);
+        }
+    }
+
+    private final class LimitedInputStream extends FilterInputStream {
+        private final long max;
+        private long count;
+
+        private LimitedInputStream(final InputStream in, final long max) {
+            super(in);
+            this.max = max;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int result = in.read();
+            if (result != -1) {
+                count(1);
+            }
+            return result;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int result = in.read(b, off, len);
+            if (result > 0) {
+                count(result);
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long result = in.skip(n);
+            count(result);
+            return result;
+        }
+
+        private void count(final long read) throws IOException {
+            count += read;
+            if (count > max) {
+                rejected.increment();
+                in.close();
+                throw new ResponseTooLargeException(max);
+            }
+        }
+    }
+
+    /** Reads the segments of a mapped file without copying them to the heap beforehand. */
+    private static final class MappedInputStream extends InputStream {
+        private final ByteBuffer[] segments;
+        private int current;
+
+        private MappedInputStream(final ByteBuffer[] segments) {
+            this.segments = segments;
+        }
+
+        private ByteBuffer segment() {
+            while (current < segments.length && !segments[current].hasRemaining()) {
+                current++;
+            }
+            return current < segments.length ? segments[current] : null;
+        }
+
+        @Override
+        public int read() {
+            final ByteBuffer segment = segment();
+            return segment == null ? -1 : segment.get() & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            final ByteBuffer segment = segment();
+            if (segment == null) {
+                return -1;
+            }
+            final int result = Math.min(len, segment.remaining());
+            segment.get(b, off, result);
+            return result;
+        }
+
+        @Override
+        public long skip(final long n) {
+            long skipped = 0;
+            ByteBuffer segment;
+            while (skipped < n && (segment = segment()) != null) {
+                final int step = (int) Math.min(n - skipped, segment.remaining());
+                segment.position(segment.position() + step);
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            final ByteBuffer segment = segment();
+            return segment == null ? 0 : segment.remaining();
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package com.github.andreatp.kiota.jdk;
+
+import com.github.andreatp.kiota.http.Bulkhead;
+import com.github.andreatp.kiota.http.BulkheadFullException;
+import com.github.andreatp.kiota.http.TransferListener;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downloads a file as parallel byte ranges written in place into a preallocated file.
+ * The size and ETag of the file are probed with a HEAD request, each range is requested with
+ * If-Range so that a file changing during the download fails it instead of mixing versions. A
+ * failed range is requested again from the last byte written, a range failing for good cancels the
+ * other ones. Each range in flight holds a slot of the bulkhead of the request. Servers not
+ * supporting ranges get a single {@link JDKRequestAdapter#receiveFile} download.
+ */
+public class SegmentedDownloader {
+    private static final String rangeHeaderKey = "Range";
+    private static final String ifRangeHeaderKey = "If-Range";
+
+    @Nonnull private final JDKRequestAdapter adapter;
+    private int segments = 4;
+    private long minSegmentSize = 8L * 1024 * 1024;
+    private int maxAttempts = 3;
+
+    public SegmentedDownloader(@Nonnull final JDKRequestAdapter adapter) {
+        this.adapter = Objects.requireNonNull(adapter, "parameter adapter cannot be null");
+    }
+
+    /**
+     * @param segments the maximum number of ranges fetched in parallel, 4 by default.
+     */
+    public void setSegments(final int segments) {
+        if (segments <= 0) {
+            throw new IllegalArgumentException("segments must be greater than 0");
+        }
+        this.segments = segments;
+    }
+
+    /**
+     * @param minSegmentSize the minimum size of a range, smaller files are fetched with fewer
+     *     ranges, 8MiB by default.
+     */
+    public void setMinSegmentSize(final long minSegmentSize) {
+        if (minSegmentSize <= 0) {
+            throw new IllegalArgumentException("minSegmentSize must be greater than 0");
+        }
+        this.minSegmentSize = minSegmentSize;
+    }
+
+    /**
+     * @param maxAttempts the number of times a range is requested before failing the download, 3
+     *     by default.
+     */
+    public void setMaxAttempts(final int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be greater than 0");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Downloads the response body of a GET request to a file, the file is overwritten.
+     * @param requestInfo the request.
+     * @param target the file to write.
+     * @param listener receives the progress of the download, possibly from several threads at once.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @return the size of the file.
+     */
+    public long download(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Path target,
+            @Nullable final TransferListener listener,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        Objects.requireNonNull(requestInfo, "parameter requestInfo cannot be null");
+        Objects.requireNonNull(target, "parameter target cannot be null");
+
+        final HttpResponse<Void> probe =
+                send(
+                        HttpRequestCompatibility.newBuilder(
+                                        requestInfo,
+                                        adapter.getRequestUri(requestInfo),
+                                        HttpRequest.BodyPublishers.noBody())
+                                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                                .build());
+        final long total = probe.headers().firstValueAsLong("Content-Length").orElse(-1);
+        final boolean ranges =
+                probe.headers().allValues("Accept-Ranges").stream()
+                        .anyMatch(v -> v.contains("bytes"));
+        if (probe.statusCode() != 200 || !ranges || total <= 0) {
+            // also lets the single download report the errors
+            return adapter.receiveFile(requestInfo, target, false, listener, errorMappings);
+        }
+        final String etag = probe.headers().firstValue("ETag").orElse(null);
+        final int count =
+                (int)
+                        Math.max(
+                                1,
+                                Math.min(
+                                        segments, (total + minSegmentSize - 1) / minSegmentSize));
+
+        try (FileChannel channel =
+                FileChannel.open(
+                        target,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            // preallocates the file so that the ranges can be written in place
+            channel.write(ByteBuffer.wrap(new byte[1]), total - 1);
+            final Transfer transfer = new Transfer(total, listener);
+            final Queue<Segment> pending = new ConcurrentLinkedQueue<>();
+            final long size = total / count;
+            for (int i = 0; i < count; i++) {
+                final long start = i * size;
+                final long end = i == count - 1 ? total : start + size;
+                pending.add(new Segment(channel, start, end, etag, transfer));
+            }
+            final List<CompletableFuture<Void>> lanes = new ArrayList<>(count);
+            try {
+                // each lane fetches ranges in a slot of the bulkhead, the ranges without a slot
+                // wait for a lane rather than being rejected
+                while (lanes.size() < count && !pending.isEmpty() && !transfer.isFailed()) {
+                    final Bulkhead bulkhead;
+                    try {
+                        bulkhead = adapter.getBulkheads().acquire(requestInfo);
+                    } catch (BulkheadFullException e) {
+                        if (lanes.isEmpty()) {
+                            throw e;
+                        }
+                        break;
+                    }
+                    lanes.add(
+                            lane(requestInfo, pending, transfer)
+                                    .whenComplete(
+                                            (result, error) -> {
+                                                if (bulkhead != null) {
+                                                    bulkhead.release();
+                                                }
+                                            }));
+                }
+            } catch (RuntimeException e) {
+                transfer.fail(e);
+            }
+            CompletableFuture.allOf(lanes.toArray(new CompletableFuture<?>[0]))
+                    .whenComplete((result, error) -> transfer.complete());
+            // returns as soon as a range fails, the other ones being cancelled
+            transfer.await();
+            return total;
+        } catch (IOException e) {
+            throw new RuntimeException("could not download to " + target, e);
+        }
+    }
+
+    /** Fetches the pending ranges one after the other. */
+    private CompletableFuture<Void> lane(
+            final RequestInformation requestInfo,
+            final Queue<Segment> pending,
+            final Transfer transfer) {
+        final Segment segment = pending.poll();
+        if (segment == null || transfer.isFailed()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return fetch(requestInfo, segment, 1)
+                .whenComplete(
+                        (result, error) -> {
+                            if (error != null) {
+                                transfer.fail(error);
+                            }
+                        })
+                .thenCompose(result -> lane(requestInfo, pending, transfer));
+    }
+
+    private CompletableFuture<Void> fetch(
+            final RequestInformation requestInfo, final Segment segment, final int attempt) {
+        final HttpRequest.Builder request =
+                HttpRequestCompatibility.newBuilder(
+                        requestInfo,
+                        adapter.getRequestUri(requestInfo),
+                        HttpRequest.BodyPublishers.noBody());
+        request.method("GET", HttpRequest.BodyPublishers.noBody());
+        request.setHeader(rangeHeaderKey, "bytes=" + segment.position + "-" + (segment.end - 1));
+        if (segment.etag != null && !segment.etag.startsWith("W/")) {
+            // only strong validators are allowed in If-Range
+            request.setHeader(ifRangeHeaderKey, segment.etag);
+        }
+        final CompletableFuture<HttpResponse<Void>> exchange =
+                segment.transfer.track(
+                        adapter.getHttpClient().sendAsync(request.build(), segment));
+        return exchange.<Void>thenApply(
+                        response -> {
+                            if (segment.position != segment.end) {
+                                throw new SegmentException(
+                                        "range "
+                                                + segment.start
+                                                + "-"
+                                                + segment.end
+                                                + " ended early",
+                                        true);
+                            }
+                            return null;
+                        })
+                .handle(
+                        (result, error) -> {
+                            if (error == null) {
+                                return CompletableFuture.completedFuture(result);
+                            }
+                            final Throwable cause =
+                                    error instanceof CompletionException ? error.getCause() : error;
+                            if (attempt < maxAttempts
+                                    && !segment.transfer.isFailed()
+                                    && (!(cause instanceof SegmentException)
+                                            || ((SegmentException) cause).retryable)) {
+                                // resumes from the last byte written
+                                return fetch(requestInfo, segment, attempt + 1);
+                            }
+                            return CompletableFuture.<Void>failedFuture(cause);
+                        })
+                .thenCompose(result -> result);
+    }
+
+    private HttpResponse<Void> send(final HttpRequest request) {
+        try {
+            return adapter.getHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** Thrown when a range cannot be fetched. */
+    private static final class SegmentException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean retryable;
+
+        private SegmentException(final String message, final boolean retryable) {
+            super(message);
+            this.retryable = retryable;
+        }
+    }
+
+    /** The progress and the outcome shared by the ranges of a download. */
+    private static final class Transfer {
+        private final long total;
+        @Nullable private final TransferListener listener;
+        private final AtomicLong transferred = new AtomicLong();
+        private final CompletableFuture<Void> outcome = new CompletableFuture<>();
+        private final Set<CompletableFuture<?>> exchanges = ConcurrentHashMap.newKeySet();
+
+        private Transfer(final long total, @Nullable final TransferListener listener) {
+            this.total = total;
+            this.listener = listener;
+        }
+
+        private void add(final long bytes) {
+            final long current = transferred.addAndGet(bytes);
+            if (listener != null) {
+                listener.onProgress(current, total);
+            }
+        }
+
+        /** Keeps track of an exchange to cancel it if another range fails. */
+        private <T> CompletableFuture<T> track(final CompletableFuture<T> exchange) {
+            exchanges.add(exchange);
+            exchange.whenComplete((result, error) -> exchanges.remove(exchange));
+            if (isFailed()) {
+                exchange.cancel(true);
+            }
+            return exchange;
+        }
+
+        private boolean isFailed() {
+            return outcome.isCompletedExceptionally();
+        }
+
+        /** Fails the download with the first error, cancelling the ranges in flight. */
+        private void fail(final Throwable error) {
+            final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (outcome.completeExceptionally(cause)) {
+                for (final CompletableFuture<?> exchange : exchanges) {
+                    exchange.cancel(true);
+                }
+            }
+        }
+
+        private void complete() {
+            outcome.complete(null);
+        }
+
+        private void await() {
+            try {
+                outcome.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RuntimeException("could not download a range", e.getCause());
+            } catch (InterruptedException e) {
+                fail(e);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("interrupted while downloading", e);
+            }
+        }
+    }
+
+    /** A byte range of the file, writing the partial content responses in place. */
+    private static final class Segment implements HttpResponse.BodyHandler<Void> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        @Nullable private final String etag;
+        private final Transfer transfer;
+        private volatile long position;
+
+        private Segment(
+                final FileChannel channel,
+                final long start,
+                final long end,
+                @Nullable final String etag,
+                final Transfer transfer) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.etag = etag;
+            this.transfer = transfer;
+            this.position = start;
+        }
+
+        @Override
+        public HttpResponse.BodySubscriber<Void> apply(
+                final HttpResponse.ResponseInfo responseInfo) {
+            // throwing cancels the exchange instead of reading the body
+            final int statusCode = responseInfo.statusCode();
+            if (statusCode != 206) {
+                // a server sending the whole file means that the file changed since the If-Range
+                // validator
+                throw new SegmentException(
+                        "range " + start + "-" + end + " failed with status code " + statusCode,
+                        statusCode >= 500);
+            }
+            final Optional<String> contentRange =
+                    responseInfo.headers().firstValue("Content-Range");
+            if (contentRange.isEmpty()
+                    || !contentRange.get().startsWith("bytes " + position + "-")) {
+                throw new SegmentException(
+                        "unexpected content range " + contentRange.orElse(null), false);
+            }
+            final Optional<String> responseEtag = responseInfo.headers().firstValue("ETag");
+            if (etag != null && responseEtag.isPresent() && !etag.equals(responseEtag.get())) {
+                throw new SegmentException("the file changed during the download", false);
+            }
+            return new HttpResponse.BodySubscriber<Void>() {
+                private final CompletableFuture<Void> body = new CompletableFuture<>();
+                private Flow.Subscription subscription;
+
+                @Override
+                public CompletionStage<Void> getBody() {
+                    return body;
+                }
+
+                @Override
+                public void onSubscribe(final Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(final List<ByteBuffer> item) {
+                    if (transfer.isFailed()) {
+                        // another range failed
+                        subscription.cancel();
+                        body.completeExceptionally(new CancellationException());
+                        return;
+                    }
+                    try {
+                        for (final ByteBuffer buffer : item) {
+                            // ignores anything past the range
+                            final int length = (int) Math.min(buffer.remaining(), end - position);
+                            buffer.limit(buffer.position() + length);
+                            while (buffer.hasRemaining()) {
+                                position += channel.write(buffer, position);
+                            }
+                            transfer.add(length);
+                        }
+                        subscription.request(1);
+                    } catch (IOException e) {
+                        subscription.cancel();
+                        body.completeExceptionally(e);
+                    }
+                }
+
+                @Override
+                public void onError(final Throwable throwable) {
+                    body.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    body.complete(null);
+                }
+            };
+        }
+    }
+}
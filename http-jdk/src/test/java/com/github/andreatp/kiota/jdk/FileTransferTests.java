@@ -0,0 +1,202 @@
+package com.github.andreatp.kiota.jdk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FileTransferTests {
+    private static final byte[] content = new byte[64 * 1024];
+
+    static {
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+    }
+
+    private static final class Model implements Parsable {
+        @Override
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            return Map.of();
+        }
+
+        @Override
+        public void serialize(final SerializationWriter writer) {}
+    }
+
+    private volatile int statusCode = 200;
+    private volatile String range;
+    private volatile byte[] uploaded;
+    private HttpServer server;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/files", this::serve);
+        server.createContext("/uploads", this::upload);
+        server.start();
+        file = Files.createTempFile("kiota-tests", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.stop(0);
+        Files.deleteIfExists(file);
+    }
+
+    /** Serves the content with the configured status code, honouring the ranges on 206. */
+    private void serve(final HttpExchange exchange) throws IOException {
+        range = exchange.getRequestHeaders().getFirst("Range");
+        try (OutputStream body = exchange.getResponseBody()) {
+            switch (statusCode) {
+                case 206:
+                    final int start = Integer.parseInt(range.substring(6, range.length() - 1));
+                    exchange.getResponseHeaders()
+                            .set(
+                                    "Content-Range",
+                                    "bytes "
+                                            + start
+                                            + "-"
+                                            + (content.length - 1)
+                                            + "/"
+                                            + content.length);
+                    exchange.sendResponseHeaders(206, content.length - start);
+                    body.write(content, start, content.length - start);
+                    break;
+                case 200:
+                    exchange.sendResponseHeaders(200, content.length);
+                    body.write(content);
+                    break;
+                case 204:
+                case 416:
+                    exchange.sendResponseHeaders(statusCode, -1);
+                    break;
+                default:
+                    final byte[] error = "failed".getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "text/plain");
+                    exchange.sendResponseHeaders(statusCode, error.length);
+                    body.write(error);
+            }
+        }
+    }
+
+    private void upload(final HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            uploaded = body.readAllBytes();
+        }
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+    }
+
+    private JDKRequestAdapter adapter() {
+        final var adapter = new JDKRequestAdapter();
+        adapter.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        return adapter;
+    }
+
+    private static RequestInformation request(final HttpMethod method, final String path) {
+        final var requestInfo = new RequestInformation();
+        requestInfo.httpMethod = method;
+        requestInfo.urlTemplate = "{+baseurl}/" + path + "/{name}";
+        requestInfo.pathParameters.put("name", "content.bin");
+        return requestInfo;
+    }
+
+    private long receive(final boolean resume) {
+        return adapter().receiveFile(request(HttpMethod.GET, "files"), file, resume, null, null);
+    }
+
+    @Test
+    void SendsTheContentOfTheFile() throws IOException {
+        Files.write(file, content);
+        final AtomicLong transferred = new AtomicLong();
+        final Model model =
+                adapter()
+                        .sendFile(
+                                request(HttpMethod.PUT, "uploads"),
+                                file,
+                                (current, total) -> transferred.set(current),
+                                null,
+                                parseNode -> new Model());
+        // nothing to parse from a 204 response
+        assertNull(model);
+        assertArrayEquals(content, uploaded);
+        assertEquals(content.length, transferred.get());
+    }
+
+    @Test
+    void ResumesTheDownloadWithARange() throws IOException {
+        Files.write(file, Arrays.copyOf(content, 1000));
+        statusCode = 206;
+        final AtomicLong transferred = new AtomicLong();
+        final long size =
+                adapter()
+                        .receiveFile(
+                                request(HttpMethod.GET, "files"),
+                                file,
+                                true,
+                                (current, total) -> transferred.set(current),
+                                null);
+        assertEquals("bytes=1000-", range);
+        assertEquals(content.length, size);
+        assertEquals(content.length, transferred.get());
+        assertArrayEquals(content, Files.readAllBytes(file));
+    }
+
+    @Test
+    void OverwritesTheFileWhenTheRangeIsIgnored() throws IOException {
+        Files.write(file, new byte[1000]);
+        assertEquals(content.length, receive(true));
+        assertEquals("bytes=1000-", range);
+        assertArrayEquals(content, Files.readAllBytes(file));
+    }
+
+    @Test
+    void KeepsTheCompleteFileOnRangeNotSatisfiable() throws IOException {
+        Files.write(file, content);
+        statusCode = 416;
+        assertEquals(content.length, receive(true));
+        assertEquals("bytes=" + content.length + "-", range);
+        assertArrayEquals(content, Files.readAllBytes(file));
+    }
+
+    @Test
+    void LeavesTheFileUntouchedWithoutContent() throws IOException {
+        final byte[] partial = Arrays.copyOf(content, 1000);
+        Files.write(file, partial);
+        statusCode = 204;
+        assertEquals(0, receive(false));
+        assertArrayEquals(partial, Files.readAllBytes(file));
+    }
+
+    @Test
+    void LeavesTheFileUntouchedOnErrors() throws IOException {
+        final byte[] partial = Arrays.copyOf(content, 1000);
+        Files.write(file, partial);
+        statusCode = 500;
+        final var error = assertThrows(ApiException.class, () -> receive(false));
+        assertEquals(500, error.getResponseStatusCode());
+        assertArrayEquals(partial, Files.readAllBytes(file));
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.andreatp.kiota.jdk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.http.ParseNodeFactoryOption;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParseNodeFactoryOptionTests {
+    private static final String contentType = "application/json";
+
+    private static final class Model implements Parsable {
+        @Override
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            return Map.of();
+        }
+
+        @Override
+        public void serialize(final SerializationWriter writer) {}
+    }
+
+    /** Creates parse nodes counting the hooks set around the assignment of the fields. */
+    private static final class HookCountingFactory implements ParseNodeFactory {
+        private final AtomicInteger parseNodes = new AtomicInteger();
+        private final AtomicInteger hooks = new AtomicInteger();
+
+        @Override
+        public String getValidContentType() {
+            return contentType;
+        }
+
+        @Override
+        public ParseNode getParseNode(final String contentType, final InputStream rawResponse) {
+            try (rawResponse) {
+                rawResponse.readAllBytes();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            parseNodes.incrementAndGet();
+            return (ParseNode)
+                    Proxy.newProxyInstance(
+                            ParseNode.class.getClassLoader(),
+                            new Class<?>[] {ParseNode.class},
+                            (proxy, method, args) -> {
+                                switch (method.getName()) {
+                                    case "setOnBeforeAssignFieldValues":
+                                    case "setOnAfterAssignFieldValues":
+                                        hooks.incrementAndGet();
+                                        return null;
+                                    case "getOnBeforeAssignFieldValues":
+                                    case "getOnAfterAssignFieldValues":
+                                        return null;
+                                    case "getObjectValue":
+                                        return new Model();
+                                    default:
+                                        throw new UnsupportedOperationException(method.getName());
+                                }
+                            });
+        }
+    }
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users", this::serve);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void serve(final HttpExchange exchange) throws IOException {
+        final byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private JDKRequestAdapter adapter() {
+        final var adapter = new JDKRequestAdapter();
+        adapter.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        return adapter;
+    }
+
+    private static Model send(final JDKRequestAdapter adapter, final ParseNodeFactory factory) {
+        final var requestInfo = new RequestInformation();
+        requestInfo.httpMethod = HttpMethod.GET;
+        requestInfo.urlTemplate = "{+baseurl}/users/{id}";
+        requestInfo.pathParameters.put("id", "1");
+        requestInfo.addRequestOptions(List.of(new ParseNodeFactoryOption(factory)));
+        return adapter.send(requestInfo, null, parseNode -> new Model());
+    }
+
+    @Test
+    void ParsesWithTheFactoryOfTheOption() {
+        final var factory = new HookCountingFactory();
+        assertNotNull(send(adapter(), factory));
+        assertEquals(1, factory.parseNodes.get());
+        assertEquals(0, factory.hooks.get());
+    }
+
+    @Test
+    void BacksTheModelsParsedByTheFactoryOfTheOption() {
+        final var adapter = adapter();
+        adapter.enableBackingStore(null);
+        final var factory = new HookCountingFactory();
+        assertNotNull(send(adapter, factory));
+        assertEquals(1, factory.parseNodes.get());
+        // the backing store proxy of Kiota hooks the assignment of the fields
+        assertEquals(2, factory.hooks.get());
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.andreatp.kiota.jdk;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.http.ResponseTooLargeException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ResponseBodyLimitTests {
+    private static final int LIMIT = 16;
+
+    /** Records the size of the reads and whether it is closed. */
+    private static final class RecordingInputStream extends InputStream {
+        private final InputStream in;
+        private final List<Integer> reads = new ArrayList<>();
+        private boolean closed;
+
+        private RecordingInputStream(final int size) {
+            in = new ByteArrayInputStream(body(size));
+        }
+
+        @Override
+        public int read() throws IOException {
+            reads.add(1);
+            return in.read();
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            reads.add(len);
+            return in.read(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static byte[] body(final int size) {
+        final byte[] body = new byte[size];
+        for (int i = 0; i < size; i++) {
+            body[i] = (byte) i;
+        }
+        return body;
+    }
+
+    private static ResponseBodyLimit limit(final ResponseBodyLimit.Policy policy) {
+        final var limit = new ResponseBodyLimit();
+        limit.setMaxInMemoryBytes(LIMIT, policy);
+        return limit;
+    }
+
+    private static byte[] readAll(final InputStream body) throws IOException {
+        try (body) {
+            return body.readAllBytes();
+        }
+    }
+
+    @Test
+    void LeavesTheBodiesUnboundedByDefault() {
+        final var body = new RecordingInputStream(100);
+        assertSame(body, new ResponseBodyLimit().apply(body, 100));
+    }
+
+    @Test
+    void KeepsTheBodiesWithinTheLimitInMemory() throws IOException {
+        final var limit = limit(ResponseBodyLimit.Policy.SPILL);
+        final var body = new RecordingInputStream(LIMIT);
+        assertArrayEquals(body(LIMIT), readAll(limit.apply(body, -1)));
+        assertTrue(body.closed);
+
+        // a declared length sizes the buffer upfront
+        final var declared = new RecordingInputStream(10);
+        assertArrayEquals(body(10), readAll(limit.apply(declared, 10)));
+        assertEquals(11, declared.reads.get(0));
+        assertEquals(0, limit.getSpills());
+    }
+
+    @Test
+    void SpillsTheBodiesBeyondTheLimit() throws IOException {
+        final Path directory = Files.createTempDirectory("kiota-tests");
+        try {
+            final var limit = limit(ResponseBodyLimit.Policy.SPILL);
+            limit.setSpillDirectory(directory);
+            final var body = new RecordingInputStream(100);
+            assertArrayEquals(body(100), readAll(limit.apply(body, -1)));
+            assertTrue(body.closed);
+            assertEquals(1, limit.getSpills());
+            assertEquals(100, limit.getSpilledBytes());
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(0, files.count());
+            }
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void SpillsTheDeclaredBodiesWithoutBufferingThem() throws IOException {
+        final var limit = limit(ResponseBodyLimit.Policy.SPILL);
+        final var body = new RecordingInputStream(100);
+        assertArrayEquals(body(100), readAll(limit.apply(body, 100)));
+        // copied straight to the spill file rather than read up to the limit beforehand
+        assertTrue(body.reads.get(0) > LIMIT + 1);
+        assertEquals(1, limit.getSpills());
+        assertEquals(100, limit.getSpilledBytes());
+    }
+
+    @Test
+    void FailsOnceTheLimitIsExceeded() throws IOException {
+        final var limit = limit(ResponseBodyLimit.Policy.FAIL);
+        assertArrayEquals(body(LIMIT), readAll(limit.apply(new RecordingInputStream(LIMIT), -1)));
+
+        final var body = new RecordingInputStream(100);
+        final InputStream limited = limit.apply(body, -1);
+        final var error = assertThrows(ResponseTooLargeException.class, () -> readAll(limited));
+        assertEquals(LIMIT, error.getMaxBytes());
+        assertTrue(body.closed);
+        assertEquals(1, limit.getRejected());
+    }
+
+    @Test
+    void RejectsTheDeclaredBodiesBeyondTheLimit() {
+        final var limit = limit(ResponseBodyLimit.Policy.FAIL);
+        final var body = new RecordingInputStream(100);
+        assertThrows(ResponseTooLargeException.class, () -> limit.apply(body, 100));
+        assertTrue(body.reads.isEmpty());
+        assertTrue(body.closed);
+        assertEquals(1, limit.getRejected());
+    }
+}
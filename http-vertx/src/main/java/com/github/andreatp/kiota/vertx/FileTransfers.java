@@ -0,0 +1,310 @@
+package com.github.andreatp.kiota.vertx;
+
+import com.github.andreatp.kiota.http.TransferListener;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.ext.web.client.HttpResponse;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** Streams moving request and response bodies from and to files. */
+final class FileTransfers {
+    private FileTransfers() {}
+
+    /**
+     * Reports the progress of a stream read by a request.
+     */
+    @Nonnull
+    static ReadStream<Buffer> withProgress(
+            @Nonnull final ReadStream<Buffer> source,
+            final long total,
+            @Nullable final TransferListener listener) {
+        if (listener == null) {
+            return source;
+        }
+        return new ReadStream<Buffer>() {
+            private long transferred;
+
+            @Override
+            public ReadStream<Buffer> exceptionHandler(final Handler<Throwable> handler) {
+                source.exceptionHandler(handler);
+                return this;
+            }
+
+            @Override
+            public ReadStream<Buffer> handler(final Handler<Buffer> handler) {
+                if (handler == null) {
+                    source.handler(null);
+                } else {
+                    source.handler(
+                            data -> {
+                                transferred += data.length();
+                                handler.handle(data);
+                                listener.onProgress(transferred, total);
+                            });
+                }
+                return this;
+            }
+
+            @Override
+            public ReadStream<Buffer> pause() {
+                source.pause();
+                return this;
+            }
+
+            @Override
+            public ReadStream<Buffer> resume() {
+                source.resume();
+                return this;
+            }
+
+            @Override
+            public ReadStream<Buffer> fetch(final long amount) {
+                source.fetch(amount);
+                return this;
+            }
+
+            @Override
+            public ReadStream<Buffer> endHandler(final Handler<Void> endHandler) {
+                source.endHandler(endHandler);
+                return this;
+            }
+        };
+    }
+
+    /**
+     * Writes a response body to a file opened once the response status is known, so that a failed
+     * or empty response leaves the file untouched. Nothing is written past the announced length.
+     */
+    static final class Download implements WriteStream<Buffer> {
+        @Nonnull private final FileSystem fileSystem;
+        @Nonnull private final Path target;
+        private final boolean overwrite;
+        @Nullable private final TransferListener listener;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean cancelled;
+        @Nullable private volatile Future<AsyncFile> file;
+        @Nullable private Handler<Throwable> exceptionHandler;
+        private volatile long position;
+        private volatile long total = -1;
+
+        /**
+         * @param fileSystem the file system of the Vert.x instance of the request.
+         * @param target the file to write.
+         * @param overwrite whether a body starting at 0 replaces the content of the file.
+         * @param listener receives the progress of the download.
+         */
+        Download(
+                @Nonnull final FileSystem fileSystem,
+                @Nonnull final Path target,
+                final boolean overwrite,
+                @Nullable final TransferListener listener) {
+            this.fileSystem = fileSystem;
+            this.target = target;
+            this.overwrite = overwrite;
+            this.listener = listener;
+        }
+
+        /**
+         * Opens the file, the body being written from the given position.
+         * @param start the size of the part already downloaded, 0 to write the whole file.
+         * @param length the length of the body, -1 when unknown.
+         */
+        void start(final long start, final long length) {
+            position = start;
+            total = length < 0 ? -1 : start + length;
+            if (cancelled) {
+                file = Future.failedFuture(new CancellationException("the download is cancelled"));
+                return;
+            }
+            file =
+                    fileSystem
+                            .open(
+                                    target.toString(),
+                                    new OpenOptions()
+                                            .setRead(false)
+                                            .setCreate(true)
+                                            .setTruncateExisting(overwrite && start == 0))
+                            .map(
+                                    opened -> {
+                                        opened.setWritePos(start);
+                                        if (exceptionHandler != null) {
+                                            opened.exceptionHandler(exceptionHandler);
+                                        }
+                                        return opened;
+                                    });
+        }
+
+        /**
+         * @return the position after the last byte written.
+         */
+        long getPosition() {
+            return position;
+        }
+
+        /**
+         * Closes the file when the body was not piped to its end, e.g. when the request failed.
+         * @return completed once the file is closed.
+         */
+        @Nonnull
+        Future<Void> close() {
+            final Future<AsyncFile> current = file;
+            if (current == null || !closed.compareAndSet(false, true)) {
+                return Future.succeededFuture();
+            }
+            return current.compose(AsyncFile::close);
+        }
+
+        /** Stops the download, failing the next writes and closing the file. */
+        void cancel() {
+            cancelled = true;
+            close();
+        }
+
+        @Override
+        public WriteStream<Buffer> exceptionHandler(final Handler<Throwable> handler) {
+            exceptionHandler = handler;
+            final Future<AsyncFile> current = file;
+            if (current != null) {
+                current.onSuccess(opened -> opened.exceptionHandler(handler));
+            }
+            return this;
+        }
+
+        @Override
+        public Future<Void> write(final Buffer data) {
+            final Future<AsyncFile> current = file;
+            if (current == null) {
+                return Future.failedFuture(
+                        new IllegalStateException("the download is not started"));
+            }
+            if (cancelled) {
+                return Future.failedFuture(new CancellationException("the download is cancelled"));
+            }
+            // a server may send more than the requested range
+            final Buffer written =
+                    total < 0 || position + data.length() <= total
+                            ? data
+                            : data.getBuffer(0, (int) Math.max(0, total - position));
+            if (written.length() == 0) {
+                return Future.succeededFuture();
+            }
+            progress(written);
+            return current.compose(opened -> opened.write(written));
+        }
+
+        @Override
+        public void write(final Buffer data, final Handler<AsyncResult<Void>> handler) {
+            final Future<Void> written = write(data);
+            if (handler != null) {
+                written.onComplete(handler);
+            }
+        }
+
+        private void progress(final Buffer data) {
+            position += data.length();
+            if (listener != null) {
+                listener.onProgress(position, total);
+            }
+        }
+
+        @Override
+        public Future<Void> end() {
+            final Future<AsyncFile> current = file;
+            if (current == null || !closed.compareAndSet(false, true)) {
+                // nothing was written
+                return Future.succeededFuture();
+            }
+            return current.compose(AsyncFile::end);
+        }
+
+        @Override
+        public void end(final Handler<AsyncResult<Void>> handler) {
+            final Future<Void> ended = end();
+            if (handler != null) {
+                ended.onComplete(handler);
+            }
+        }
+
+        @Override
+        public WriteStream<Buffer> setWriteQueueMaxSize(final int maxSize) {
+            final Future<AsyncFile> current = file;
+            if (current != null) {
+                current.onSuccess(opened -> opened.setWriteQueueMaxSize(maxSize));
+            }
+            return this;
+        }
+
+        @Override
+        public boolean writeQueueFull() {
+            final Future<AsyncFile> current = file;
+            if (current == null || current.failed()) {
+                return false;
+            }
+            // the body waits for the file to be opened
+            return !current.succeeded() || current.result().writeQueueFull();
+        }
+
+        @Override
+        public WriteStream<Buffer> drainHandler(final Handler<Void> handler) {
+            final Future<AsyncFile> current = file;
+            if (current != null) {
+                current.onComplete(
+                        ar -> {
+                            if (ar.succeeded() && ar.result().writeQueueFull()) {
+                                ar.result().drainHandler(handler);
+                            } else if (handler != null) {
+                                // the file only calls its drain handler after its queue was full,
+                                // a body paused while the file was opening is resumed here
+                                handler.handle(null);
+                            }
+                        });
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Carries a response failing the status check of a download, with its body to parse the error.
+     */
+    static final class FailedResponse extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        @Nonnull private final transient HttpResponse<Buffer> response;
+
+        FailedResponse(@Nonnull final HttpResponse<Buffer> response) {
+            super("unexpected status code " + response.statusCode(), null, false, false);
+            this.response = response;
+        }
+
+        @Nonnull
+        HttpResponse<Buffer> getResponse() {
+            return response;
+        }
+
+        /**
+         * @param result the result of a request expecting a successful response.
+         * @return the result, or the response carried by a failure.
+         */
+        @Nonnull
+        static Future<HttpResponse> recover(@Nonnull final Future<? extends HttpResponse> result) {
+            return result.<HttpResponse>map(r -> r)
+                    .recover(
+                            cause ->
+                                    cause instanceof FailedResponse
+                                            ? Future.succeededFuture(
+                                                    ((FailedResponse) cause).getResponse())
+                                            : Future.failedFuture(cause));
+        }
+    }
+}
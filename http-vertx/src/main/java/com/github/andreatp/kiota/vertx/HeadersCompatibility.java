@@ -4,32 +4,49 @@ import com.microsoft.kiota.RequestHeaders;
 import com.microsoft.kiota.ResponseHeaders;
 import io.vertx.core.MultiMap;
 import jakarta.annotation.Nonnull;
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
- * Compatibility class to bridge OkHttp Headers and Kiota Headers
+ * Compatibility class to bridge VertX MultiMap and Kiota Headers
  */
 public class HeadersCompatibility {
     private HeadersCompatibility() {}
 
+    /**
+     * Materializes the Kiota headers of a response in a single pass over the native headers, only
+     * meant to be called when the headers are actually read, e.g. when building an {@link
+     * com.microsoft.kiota.ApiException}.
+     */
     @Nonnull
     public static ResponseHeaders getResponseHeaders(@Nonnull final MultiMap headers) {
         Objects.requireNonNull(headers);
         final ResponseHeaders responseHeaders = new ResponseHeaders();
-        headers.names()
-                .forEach(
-                        (name) -> {
-                            Objects.requireNonNull(name);
-                            responseHeaders.put(name, new HashSet<>(headers.getAll(name)));
-                        });
+        for (final Map.Entry<String, String> header : headers) {
+            responseHeaders.add(Objects.requireNonNull(header.getKey()), header.getValue());
+        }
         return responseHeaders;
     }
 
     @Nonnull
     public static MultiMap getMultiMap(@Nonnull final RequestHeaders headers) {
-        MultiMap result = MultiMap.caseInsensitiveMultiMap();
-        headers.entrySet().forEach((elem) -> result.add(elem.getKey(), elem.getValue()));
-        return result;
+        return putHeaders(headers, MultiMap.caseInsensitiveMultiMap());
+    }
+
+    /**
+     * Writes Kiota headers straight into native headers, e.g. the ones of a request, without an
+     * intermediate copy.
+     * @return the target headers.
+     */
+    @Nonnull
+    public static MultiMap putHeaders(
+            @Nonnull final RequestHeaders headers, @Nonnull final MultiMap target) {
+        Objects.requireNonNull(headers);
+        Objects.requireNonNull(target);
+        for (final Map.Entry<String, Set<String>> header : headers.entrySet()) {
+            target.add(header.getKey(), header.getValue());
+        }
+        return target;
     }
 }
@@ -0,0 +1,336 @@
+package com.github.andreatp.kiota.vertx;
+
+import com.github.andreatp.kiota.http.ResponseTooLargeException;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.ext.web.codec.BodyCodec;
+import io.vertx.ext.web.codec.spi.BodyStream;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the size of the response bodies buffered in memory.
+ * Bodies exceeding the limit either fail with a {@link ResponseTooLargeException} or are spilled
+ * to a memory-mapped temporary file, the resulting buffer being backed by the mapping instead of
+ * the heap. The spill files are written from the worker pool, never from the event loop.
+ */
+public class ResponseBodyLimit {
+    /** What to do with a body exceeding the limit. */
+    public enum Policy {
+        FAIL,
+        SPILL
+    }
+
+    private volatile long maxInMemoryBytes = Long.MAX_VALUE;
+    @Nonnull private volatile Policy policy = Policy.FAIL;
+    @Nullable private volatile Path spillDirectory;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder spills = new LongAdder();
+    private final LongAdder spilledBytes = new LongAdder();
+
+    ResponseBodyLimit() {}
+
+    /**
+     * Sets the limit, unlimited by default.
+     * @param maxInMemoryBytes the maximum size of a body kept in memory.
+     * @param policy what to do with bodies exceeding it.
+     */
+    public void setMaxInMemoryBytes(final long maxInMemoryBytes, @Nonnull final Policy policy) {
+        if (maxInMemoryBytes < 0) {
+            throw new IllegalArgumentException("maxInMemoryBytes cannot be negative");
+        }
+        this.policy = Objects.requireNonNull(policy, "parameter policy cannot be null");
+        this.maxInMemoryBytes = maxInMemoryBytes;
+    }
+
+    /**
+     * Sets the directory of the spill files.
+     * @param spillDirectory the directory, null for the default temporary directory.
+     */
+    public void setSpillDirectory(@Nullable final Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    public long getMaxInMemoryBytes() {
+        return maxInMemoryBytes;
+    }
+
+    @Nonnull
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    @Nullable
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    /** @return the number of bodies rejected for exceeding the limit. */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /** @return the number of bodies spilled to disk. */
+    public long getSpills() {
+        return spills.sum();
+    }
+
+    /** @return the total size of the bodies spilled to disk. */
+    public long getSpilledBytes() {
+        return spilledBytes.sum();
+    }
+
+    /**
+     * @return the codec enforcing the limit, null when unlimited.
+     */
+    @Nullable
+    BodyCodec<Buffer> bodyCodec() {
+        final long max = maxInMemoryBytes;
+        if (max == Long.MAX_VALUE) {
+            return null;
+        }
+        final Policy currentPolicy = policy;
+        final Path directory = spillDirectory;
+        return handler ->
+                handler.handle(
+                        Future.succeededFuture(
+                                new LimitedBodyStream(
+                                        Vertx.currentContext(), max, currentPolicy, directory)));
+    }
+
+    /**
+     * Accumulates a body in memory up to the limit, then either fails or moves it to a spill file.
+     * The file operations run one after the other as blocking tasks of the context of the
+     * response, the response being paused while the queued writes exceed the write queue size.
+     */
+    private final class LimitedBodyStream implements BodyStream<Buffer> {
+        @Nullable private final Context context;
+        private final long max;
+        private final Policy policy;
+        @Nullable private final Path directory;
+        private final Promise<Buffer> result = Promise.promise();
+        @Nullable private Buffer buffer = Buffer.buffer();
+        private long size;
+        // the file operations queued so far, null until the body is spilled
+        @Nullable private Future<Void> pending;
+        private long queued;
+        private int writeQueueMaxSize = 1024 * 1024;
+        @Nullable private Handler<Void> drainHandler;
+        // only used by the blocking tasks
+        @Nullable private Path file;
+        @Nullable private FileChannel channel;
+
+        private LimitedBodyStream(
+                @Nullable final Context context,
+                final long max,
+                final Policy policy,
+                @Nullable final Path directory) {
+            this.context = context;
+            this.max = max;
+            this.policy = policy;
+            this.directory = directory;
+        }
+
+        @Override
+        public Future<Buffer> result() {
+            return result.future();
+        }
+
+        @Override
+        public void handle(final Throwable cause) {
+            fail(cause);
+        }
+
+        @Override
+        public WriteStream<Buffer> exceptionHandler(final Handler<Throwable> handler) {
+            return this;
+        }
+
+        @Override
+        public Future<Void> write(final Buffer data) {
+            if (result.future().isComplete()) {
+                return Future.succeededFuture();
+            }
+            size += data.length();
+            if (pending == null && size <= max) {
+                buffer.appendBuffer(data);
+            } else if (policy == Policy.SPILL && size <= Integer.MAX_VALUE) {
+                if (pending == null) {
+                    final Buffer head = buffer;
+                    buffer = null;
+                    pending = Future.succeededFuture();
+                    enqueue(head, () -> open(head));
+                }
+                enqueue(data, () -> append(data));
+            } else {
+                // a buffer cannot address more than Integer.MAX_VALUE bytes
+                rejected.increment();
+                fail(
+                        new ResponseTooLargeException(
+                                policy == Policy.SPILL
+                                        ? Integer.MAX_VALUE
+                                        : Math.min(max, Integer.MAX_VALUE)));
+            }
+            return Future.succeededFuture();
+        }
+
+        @Override
+        public void write(final Buffer data, final Handler<AsyncResult<Void>> handler) {
+            final Future<Void> written = write(data);
+            if (handler != null) {
+                handler.handle(written);
+            }
+        }
+
+        private void enqueue(final Buffer data, final Callable<Void> task) {
+            final int length = data.length();
+            queued += length;
+            pending = pending.compose(v -> blocking(task));
+            pending.onComplete(
+                    ar -> {
+                        queued -= length;
+                        if (ar.failed()) {
+                            fail(ar.cause());
+                        } else if (drainHandler != null && queued <= writeQueueMaxSize / 2) {
+                            final Handler<Void> handler = drainHandler;
+                            drainHandler = null;
+                            handler.handle(null);
+                        }
+                    });
+        }
+
+        private <T> Future<T> blocking(final Callable<T> task) {
+            final Handler<Promise<T>> code =
+                    promise -> {
+                        try {
+                            promise.complete(task.call());
+                        } catch (Exception e) {
+                            promise.fail(e);
+                        }
+                    };
+            return context == null ? Future.future(code) : context.executeBlocking(code, true);
+        }
+
+        private Void open(final Buffer head) throws IOException {
+            final Path dir = directory;
+            file =
+                    dir == null
+                            ? Files.createTempFile("kiota-", ".body")
+                            : Files.createTempFile(dir, "kiota-", ".body");
+            channel =
+                    FileChannel.open(
+                            file,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.DELETE_ON_CLOSE);
+            return append(head);
+        }
+
+        private Void append(final Buffer data) throws IOException {
+            for (final ByteBuffer nioBuffer : data.getByteBuf().nioBuffers()) {
+                while (nioBuffer.hasRemaining()) {
+                    channel.write(nioBuffer);
+                }
+            }
+            return null;
+        }
+
+        // the mapping stays valid once the channel is closed and the file deleted
+        private Buffer map() throws IOException {
+            try (FileChannel spilled = channel) {
+                channel = null;
+                return Buffer.buffer(
+                        Unpooled.wrappedBuffer(
+                                spilled.map(FileChannel.MapMode.READ_ONLY, 0, spilled.size())));
+            }
+        }
+
+        private Void discard() {
+            try {
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                }
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException e) {
+                // deleted on exit at the latest
+                file.toFile().deleteOnExit();
+            }
+            return null;
+        }
+
+        @Override
+        public Future<Void> end() {
+            if (result.future().isComplete()) {
+                return Future.succeededFuture();
+            }
+            if (pending == null) {
+                result.tryComplete(buffer);
+            } else {
+                pending.compose(v -> blocking(this::map))
+                        .onComplete(
+                                ar -> {
+                                    if (ar.failed()) {
+                                        fail(ar.cause());
+                                    } else {
+                                        spills.increment();
+                                        spilledBytes.add(ar.result().length());
+                                        result.tryComplete(ar.result());
+                                    }
+                                });
+            }
+            return Future.succeededFuture();
+        }
+
+        @Override
+        public void end(final Handler<AsyncResult<Void>> handler) {
+            final Future<Void> ended = end();
+            if (handler != null) {
+                handler.handle(ended);
+            }
+        }
+
+        private void fail(final Throwable cause) {
+            buffer = null;
+            if (result.tryFail(cause) && pending != null) {
+                // once the queued operations are done
+                pending.onComplete(ar -> blocking(this::discard));
+            }
+        }
+
+        @Override
+        public WriteStream<Buffer> setWriteQueueMaxSize(final int maxSize) {
+            writeQueueMaxSize = maxSize;
+            return this;
+        }
+
+        @Override
+        public boolean writeQueueFull() {
+            return queued >= writeQueueMaxSize;
+        }
+
+        @Override
+        public WriteStream<Buffer> drainHandler(final Handler<Void> handler) {
+            drainHandler = handler;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.github.andreatp.kiota.vertx;
+
+import com.github.andreatp.kiota.http.Bulkhead;
+import com.github.andreatp.kiota.http.BulkheadFullException;
+import com.github.andreatp.kiota.http.TransferListener;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.predicate.ErrorConverter;
+import io.vertx.ext.web.client.predicate.ResponsePredicate;
+import io.vertx.ext.web.client.predicate.ResponsePredicateResult;
+import io.vertx.ext.web.codec.BodyCodec;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downloads a file as parallel byte ranges piped in place into a preallocated file.
+ * The size and ETag of the file are probed with a HEAD request, each range is requested with
+ * If-Range so that a file changing during the download fails it instead of mixing versions. A
+ * failed range is requested again from the last byte written, a range failing for good cancels the
+ * other ones. Each range in flight holds a slot of the bulkhead of the request. Servers not
+ * supporting ranges get a single {@link VertXRequestAdapter#receiveFile} download.
+ */
+public class SegmentedDownloader {
+    @Nonnull private final VertXRequestAdapter adapter;
+    private int segments = 4;
+    private long minSegmentSize = 8L * 1024 * 1024;
+    private int maxAttempts = 3;
+
+    public SegmentedDownloader(@Nonnull final VertXRequestAdapter adapter) {
+        this.adapter = Objects.requireNonNull(adapter, "parameter adapter cannot be null");
+    }
+
+    /**
+     * @param segments the maximum number of ranges fetched in parallel, 4 by default.
+     */
+    public void setSegments(final int segments) {
+        if (segments <= 0) {
+            throw new IllegalArgumentException("segments must be greater than 0");
+        }
+        this.segments = segments;
+    }
+
+    /**
+     * @param minSegmentSize the minimum size of a range, smaller files are fetched with fewer
+     *     ranges, 8MiB by default.
+     */
+    public void setMinSegmentSize(final long minSegmentSize) {
+        if (minSegmentSize <= 0) {
+            throw new IllegalArgumentException("minSegmentSize must be greater than 0");
+        }
+        this.minSegmentSize = minSegmentSize;
+    }
+
+    /**
+     * @param maxAttempts the number of times a range is requested before failing the download, 3
+     *     by default.
+     */
+    public void setMaxAttempts(final int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be greater than 0");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Downloads the response body of a GET request to a file, the file is overwritten.
+     * @param requestInfo the request.
+     * @param target the file to write.
+     * @param listener receives the progress of the download.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @return the size of the file.
+     */
+    public long download(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Path target,
+            @Nullable final TransferListener listener,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        Objects.requireNonNull(requestInfo, "parameter requestInfo cannot be null");
+        Objects.requireNonNull(target, "parameter target cannot be null");
+
+        final HttpResponse<Buffer> probe;
+        try {
+            probe =
+                    VertXRequestAdapter.await(
+                            adapter.createRequest(requestInfo, HttpMethod.HEAD, false).send());
+        } catch (URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+        final String length = probe.getHeader(HttpHeaders.CONTENT_LENGTH.toString());
+        final long total = length == null ? -1 : Long.parseLong(length);
+        final String acceptRanges = probe.getHeader(HttpHeaders.ACCEPT_RANGES.toString());
+        if (probe.statusCode() != 200
+                || acceptRanges == null
+                || !acceptRanges.contains("bytes")
+                || total <= 0) {
+            // also lets the single download report the errors
+            return adapter.receiveFile(requestInfo, target, false, listener, errorMappings);
+        }
+        final String etag = probe.getHeader(HttpHeaders.ETAG.toString());
+        final int count =
+                (int)
+                        Math.max(
+                                1,
+                                Math.min(
+                                        segments, (total + minSegmentSize - 1) / minSegmentSize));
+
+        try (FileChannel channel =
+                FileChannel.open(
+                        target,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            // preallocates the file so that the ranges can be written in place
+            channel.write(ByteBuffer.wrap(new byte[1]), total - 1);
+        } catch (IOException e) {
+            throw new RuntimeException("could not download to " + target, e);
+        }
+        final Transfer transfer = new Transfer(total, listener);
+        final Queue<Segment> pending = new ConcurrentLinkedQueue<>();
+        final long size = total / count;
+        for (int i = 0; i < count; i++) {
+            final long start = i * size;
+            final long end = i == count - 1 ? total : start + size;
+            pending.add(new Segment(start, end, etag, transfer));
+        }
+        final List<Future> lanes = new ArrayList<>(count);
+        try {
+            // each lane fetches ranges in a slot of the bulkhead, the ranges without a slot wait
+            // for a lane rather than being rejected
+            while (lanes.size() < count && !pending.isEmpty() && !transfer.isFailed()) {
+                final Bulkhead bulkhead;
+                try {
+                    bulkhead = adapter.getBulkheads().acquire(requestInfo);
+                } catch (BulkheadFullException e) {
+                    if (lanes.isEmpty()) {
+                        throw e;
+                    }
+                    break;
+                }
+                lanes.add(
+                        lane(requestInfo, target, pending, transfer)
+                                .onComplete(
+                                        ar -> {
+                                            if (bulkhead != null) {
+                                                bulkhead.release();
+                                            }
+                                        }));
+            }
+        } catch (RuntimeException e) {
+            transfer.fail(e);
+        }
+        CompositeFuture.join(lanes).onComplete(ar -> transfer.complete());
+        // returns as soon as a range fails, the other ones being cancelled
+        VertXRequestAdapter.await(transfer.outcome.future());
+        return total;
+    }
+
+    /** Fetches the pending ranges one after the other. */
+    private Future<Void> lane(
+            final RequestInformation requestInfo,
+            final Path target,
+            final Queue<Segment> pending,
+            final Transfer transfer) {
+        final Segment segment = pending.poll();
+        if (segment == null || transfer.isFailed()) {
+            return Future.succeededFuture();
+        }
+        return fetch(requestInfo, target, segment, 1)
+                .onFailure(transfer::fail)
+                .compose(v -> lane(requestInfo, target, pending, transfer));
+    }
+
+    private Future<Void> fetch(
+            final RequestInformation requestInfo,
+            final Path target,
+            final Segment segment,
+            final int attempt) {
+        final HttpRequest<Buffer> request;
+        try {
+            request = adapter.createRequest(requestInfo, HttpMethod.GET, false);
+        } catch (URISyntaxException e) {
+            return Future.failedFuture(e);
+        }
+        request.headers()
+                .set(HttpHeaderNames.RANGE, "bytes=" + segment.position + "-" + (segment.end - 1));
+        if (segment.etag != null && !segment.etag.startsWith("W/")) {
+            // only strong validators are allowed in If-Range
+            request.headers().set(HttpHeaderNames.IF_RANGE, segment.etag);
+        }
+        // the preallocated file is opened once the range is accepted
+        final FileTransfers.Download download =
+                segment.transfer.track(
+                        new FileTransfers.Download(
+                                adapter.getVertx().fileSystem(),
+                                target,
+                                false,
+                                (position, total) -> segment.advance(position)));
+        return request.as(BodyCodec.pipe(download))
+                .expect(
+                        ResponsePredicate.create(
+                                response -> segment.check(response, download),
+                                ErrorConverter.create(
+                                        result ->
+                                                new SegmentException(
+                                                        result.message(),
+                                                        result.response().statusCode() >= 500))))
+                .send()
+                .compose(
+                        response -> {
+                            if (segment.position != segment.end) {
+                                return Future.failedFuture(
+                                        new SegmentException(
+                                                "range "
+                                                        + segment.start
+                                                        + "-"
+                                                        + segment.end
+                                                        + " ended early",
+                                                true));
+                            }
+                            return Future.<Void>succeededFuture();
+                        },
+                        error -> {
+                            // the pipe closes the file once the body ends
+                            download.close();
+                            return Future.failedFuture(error);
+                        })
+                .onComplete(ar -> segment.transfer.untrack(download))
+                .compose(
+                        Future::succeededFuture,
+                        error -> {
+                            if (attempt < maxAttempts
+                                    && !segment.transfer.isFailed()
+                                    && (!(error instanceof SegmentException)
+                                            || ((SegmentException) error).retryable)) {
+                                // resumes from the last byte written
+                                return fetch(requestInfo, target, segment, attempt + 1);
+                            }
+                            return Future.failedFuture(error);
+                        });
+    }
+
+    /** Thrown when a range cannot be fetched. */
+    private static final class SegmentException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean retryable;
+
+        private SegmentException(final String message, final boolean retryable) {
+            super(message);
+            this.retryable = retryable;
+        }
+    }
+
+    /** The progress and the outcome shared by the ranges of a download. */
+    private static final class Transfer {
+        private final long total;
+        @Nullable private final TransferListener listener;
+        private final AtomicLong transferred = new AtomicLong();
+        private final Promise<Void> outcome = Promise.promise();
+        private final Set<FileTransfers.Download> downloads = ConcurrentHashMap.newKeySet();
+
+        private Transfer(final long total, @Nullable final TransferListener listener) {
+            this.total = total;
+            this.listener = listener;
+        }
+
+        private void add(final long bytes) {
+            final long current = transferred.addAndGet(bytes);
+            if (listener != null) {
+                listener.onProgress(current, total);
+            }
+        }
+
+        /** Keeps track of a download to cancel it if another range fails. */
+        private FileTransfers.Download track(final FileTransfers.Download download) {
+            downloads.add(download);
+            if (isFailed()) {
+                download.cancel();
+            }
+            return download;
+        }
+
+        private void untrack(final FileTransfers.Download download) {
+            downloads.remove(download);
+        }
+
+        private boolean isFailed() {
+            return outcome.future().failed();
+        }
+
+        /** Fails the download with the first error, cancelling the ranges in flight. */
+        private void fail(final Throwable error) {
+            if (outcome.tryFail(error)) {
+                for (final FileTransfers.Download download : downloads) {
+                    download.cancel();
+                }
+            }
+        }
+
+        private void complete() {
+            outcome.tryComplete();
+        }
+    }
+
+    /** A byte range of the file. */
+    private static final class Segment {
+        private final long start;
+        private final long end;
+        @Nullable private final String etag;
+        private final Transfer transfer;
+        private volatile long position;
+
+        private Segment(
+                final long start,
+                final long end,
+                @Nullable final String etag,
+                final Transfer transfer) {
+            this.start = start;
+            this.end = end;
+            this.etag = etag;
+            this.transfer = transfer;
+            this.position = start;
+        }
+
+        /** Checks a response before its body is piped to the file at the current position. */
+        private ResponsePredicateResult check(
+                final HttpResponse<Void> response, final FileTransfers.Download download) {
+            if (response.statusCode() != 206) {
+                // a server sending the whole file means that the file changed since the If-Range
+                // validator
+                return ResponsePredicateResult.failure(
+                        "range "
+                                + start
+                                + "-"
+                                + end
+                                + " failed with status code "
+                                + response.statusCode());
+            }
+            final String contentRange = response.getHeader(HttpHeaders.CONTENT_RANGE.toString());
+            if (contentRange == null || !contentRange.startsWith("bytes " + position + "-")) {
+                return ResponsePredicateResult.failure("unexpected content range " + contentRange);
+            }
+            final String responseEtag = response.getHeader(HttpHeaders.ETAG.toString());
+            if (etag != null && responseEtag != null && !etag.equals(responseEtag)) {
+                return ResponsePredicateResult.failure("the file changed during the download");
+            }
+            download.start(position, end - position);
+            return ResponsePredicateResult.success();
+        }
+
+        private void advance(final long written) {
+            // the server may send more than the range, only the range is accounted
+            final long next = Math.min(written, end);
+            if (next > position) {
+                transfer.add(next - position);
+                position = next;
+            }
+        }
+    }
+}
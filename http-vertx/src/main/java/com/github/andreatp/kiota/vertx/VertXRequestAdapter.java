@@ -1,9 +1,21 @@
 package com.github.andreatp.kiota.vertx;
 
+import com.github.andreatp.kiota.http.Bulkhead;
+import com.github.andreatp.kiota.http.BulkheadFullException;
+import com.github.andreatp.kiota.http.Bulkheads;
+import com.github.andreatp.kiota.http.Compression;
+import com.github.andreatp.kiota.http.ContentCodec;
+import com.github.andreatp.kiota.http.ParseNodeFactoryOption;
+import com.github.andreatp.kiota.http.ParseOffloadPolicy;
+import com.github.andreatp.kiota.http.ParseRejectedException;
+import com.github.andreatp.kiota.http.PrimitiveReaders;
+import com.github.andreatp.kiota.http.ResponseTooLargeException;
+import com.github.andreatp.kiota.http.ScopedBackingStoreFactory;
+import com.github.andreatp.kiota.http.TransferListener;
+import com.github.andreatp.kiota.http.UriTemplate;
 import com.microsoft.kiota.ApiClientBuilder;
 import com.microsoft.kiota.ApiException;
 import com.microsoft.kiota.ApiExceptionBuilder;
-import com.microsoft.kiota.PeriodAndDuration;
 import com.microsoft.kiota.RequestAdapter;
 import com.microsoft.kiota.RequestInformation;
 import com.microsoft.kiota.RequestOption;
@@ -19,39 +31,57 @@ import com.microsoft.kiota.serialization.SerializationWriterFactory;
 import com.microsoft.kiota.serialization.SerializationWriterFactoryRegistry;
 import com.microsoft.kiota.serialization.ValuedEnumParser;
 import com.microsoft.kiota.store.BackingStoreFactory;
-import com.microsoft.kiota.store.BackingStoreFactorySingleton;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.predicate.ErrorConverter;
+import io.vertx.ext.web.client.predicate.ResponsePredicate;
+import io.vertx.ext.web.client.predicate.ResponsePredicateResult;
+import io.vertx.ext.web.codec.BodyCodec;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigDecimal;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
-import java.net.URL;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.OffsetDateTime;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 /** RequestAdapter implementation for VertX */
 public class VertXRequestAdapter implements RequestAdapter {
-    private static final String contentTypeHeaderKey = "Content-Type";
+    private static final CharSequence contentTypeHeaderKey = HttpHeaders.CONTENT_TYPE;
+    private static final CharSequence contentEncodingHeaderKey = HttpHeaders.CONTENT_ENCODING;
+    private static final CharSequence acceptEncodingHeaderKey = HttpHeaders.ACCEPT_ENCODING;
+    private static final String rawUrlKey = "request-raw-url";
+    @Nullable private final Vertx vertx;
     @Nonnull private final WebClient client;
     @Nonnull private ParseNodeFactory pNodeFactory;
     @Nonnull private SerializationWriterFactory sWriterFactory;
     @Nonnull private String baseUrl = "";
+    @Nonnull private final Bulkheads bulkheads = new Bulkheads();
+    @Nonnull private final Compression compression = new Compression();
+    @Nonnull private final ResponseBodyLimit responseBodyLimit = new ResponseBodyLimit();
+    @Nonnull private final ParseOffloadPolicy parseOffloadPolicy = new ParseOffloadPolicy();
+    @Nullable private BackingStoreFactory backingStoreFactory;
+    private boolean backingStoreEnabled;
 
     public void setBaseUrl(@Nonnull final String baseUrl) {
         this.baseUrl = Objects.requireNonNull(baseUrl);
@@ -62,8 +92,45 @@ public class VertXRequestAdapter implements RequestAdapter {
         return baseUrl;
     }
 
+    /**
+     * The bulkhead partitions isolating the requests sent through this adapter.
+     * @return the partitions, empty by default.
+     */
+    @Nonnull
+    public Bulkheads getBulkheads() {
+        return bulkheads;
+    }
+
+    /**
+     * The content codings used by this adapter, compressed responses are accepted and decoded by
+     * default.
+     * @return the compression settings and metrics.
+     */
+    @Nonnull
+    public Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * The bound of the response bodies buffered in memory.
+     * @return the limit settings and metrics, unlimited by default.
+     */
+    @Nonnull
+    public ResponseBodyLimit getResponseBodyLimit() {
+        return responseBodyLimit;
+    }
+
+    /**
+     * Where the response bodies are parsed, large bodies can be parsed on a dedicated executor.
+     * @return the policy settings and metrics, parsing inline by default.
+     */
+    @Nonnull
+    public ParseOffloadPolicy getParseOffloadPolicy() {
+        return parseOffloadPolicy;
+    }
+
     public VertXRequestAdapter(@Nonnull final Vertx vertx) {
-        this(WebClient.create(vertx));
+        this(vertx, WebClient.create(vertx), null, null);
     }
 
     public VertXRequestAdapter(@Nullable final WebClient client) {
@@ -79,9 +146,28 @@ public class VertXRequestAdapter implements RequestAdapter {
             @Nullable final WebClient client,
             @Nullable final ParseNodeFactory parseNodeFactory,
             @Nullable final SerializationWriterFactory serializationWriterFactory) {
+        this(null, client, parseNodeFactory, serializationWriterFactory);
+    }
+
+    /**
+     * Creates a new adapter.
+     * @param vertx the instance the client belongs to, needed to transfer files when not called
+     *     from a Vert.x thread.
+     * @param client the client, created from a new Vertx instance when null.
+     * @param parseNodeFactory the parse node factory, the default registry when null.
+     * @param serializationWriterFactory the serialization writer factory, the default registry when
+     *     null.
+     */
+    public VertXRequestAdapter(
+            @Nullable final Vertx vertx,
+            @Nullable final WebClient client,
+            @Nullable final ParseNodeFactory parseNodeFactory,
+            @Nullable final SerializationWriterFactory serializationWriterFactory) {
         if (client == null) {
-            this.client = WebClient.create(Vertx.vertx());
+            this.vertx = vertx == null ? Vertx.vertx() : vertx;
+            this.client = WebClient.create(this.vertx);
         } else {
+            this.vertx = vertx;
             this.client = client;
         }
         if (parseNodeFactory == null) {
@@ -102,17 +188,33 @@ public class VertXRequestAdapter implements RequestAdapter {
         return sWriterFactory;
     }
 
+    /**
+     * Enables the backing store of the models parsed and serialized by this adapter. The factory is
+     * bound to the thread parsing the response, arrays the Jackson parse node factory parses in
+     * parallel need {@link ScopedBackingStoreFactory#capture} as context capture of its parallel
+     * parsing to use it on the pool threads. A factory installs {@link ScopedBackingStoreFactory}
+     * as {@code BackingStoreFactorySingleton.instance} for the whole process: setting the singleton
+     * again afterwards replaces it and silently turns the factories of the adapters off, their
+     * models then take their stores from the new singleton.
+     * @param backingStoreFactory the factory of the stores of the models parsed by this adapter,
+     *     the factory of the Kiota singleton when null. The stores of the models of the other
+     *     adapters and of the application are left unchanged.
+     */
     public void enableBackingStore(@Nullable final BackingStoreFactory backingStoreFactory) {
-        this.pNodeFactory =
-                Objects.requireNonNull(
-                        ApiClientBuilder.enableBackingStoreForParseNodeFactory(pNodeFactory));
-        this.sWriterFactory =
-                Objects.requireNonNull(
-                        ApiClientBuilder.enableBackingStoreForSerializationWriterFactory(
-                                sWriterFactory));
+        if (!backingStoreEnabled) {
+            this.pNodeFactory =
+                    Objects.requireNonNull(
+                            ApiClientBuilder.enableBackingStoreForParseNodeFactory(pNodeFactory));
+            this.sWriterFactory =
+                    Objects.requireNonNull(
+                            ApiClientBuilder.enableBackingStoreForSerializationWriterFactory(
+                                    sWriterFactory));
+            backingStoreEnabled = true;
+        }
         if (backingStoreFactory != null) {
-            BackingStoreFactorySingleton.instance = backingStoreFactory;
+            ScopedBackingStoreFactory.install();
         }
+        this.backingStoreFactory = backingStoreFactory;
     }
 
     private static final String nullRequestInfoParameter = "parameter requestInfo cannot be null";
@@ -127,22 +229,24 @@ public class VertXRequestAdapter implements RequestAdapter {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(factory, nullFactoryParameter);
 
-        HttpResponse response = this.getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            final ParseNode rootNode = getRootParseNode(response);
-            if (rootNode == null) {
-                return null;
-            }
-            final List<ModelType> result = rootNode.getCollectionOfObjectValues(factory);
-            return result;
-        } else {
-            return responseHandler.handleResponse(response, errorMappings);
-        }
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    HttpResponse response = this.getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        return parseResponse(
+                                requestInfo,
+                                response,
+                                rootNode -> rootNode.getCollectionOfObjectValues(factory));
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                });
     }
 
     private ResponseHandler getResponseHandler(final RequestInformation requestInfo) {
@@ -164,22 +268,108 @@ public class VertXRequestAdapter implements RequestAdapter {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(factory, nullFactoryParameter);
 
-        HttpResponse response = this.getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            final ParseNode rootNode = getRootParseNode(response);
-            if (rootNode == null) {
-                return null;
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    HttpResponse response = this.getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        return parseResponse(
+                                requestInfo,
+                                response,
+                                rootNode -> rootNode.getObjectValue(factory));
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                });
+    }
+
+    /**
+     * Sends a request without waiting for its response, the response body is parsed where the
+     * {@link ParseOffloadPolicy} decides, small bodies on the event loop. A slot of the bulkhead
+     * partition of the request is taken before sending, waiting for one without blocking the
+     * calling thread when the partition is full, and released once the body is parsed.
+     * @return the model, completed with null when there is no response body, failed with a {@link
+     *     BulkheadFullException} or a {@link ParseRejectedException} when the request or its parse
+     *     is rejected.
+     */
+    @Nonnull
+    public <ModelType extends Parsable> CompletableFuture<ModelType> sendAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(factory, nullFactoryParameter);
+
+        // the slot is awaited without blocking the calling thread, e.g. an event loop
+        return bulkheads
+                .acquireAsync(requestInfo)
+                .thenCompose(bulkhead -> sendAsync(bulkhead, requestInfo, errorMappings, factory));
+    }
+
+    /** Sends a request in a slot of its bulkhead partition, released once the body is parsed. */
+    @Nonnull
+    private <ModelType extends Parsable> CompletableFuture<ModelType> sendAsync(
+            @Nullable final Bulkhead bulkhead,
+            @Nonnull final RequestInformation requestInfo,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        final CompletableFuture<ModelType> result;
+        try {
+            result =
+                    sendRequest(requestInfo)
+                            .toCompletionStage()
+                            .toCompletableFuture()
+                            .thenCompose(
+                                    response ->
+                                            handleResponseAsync(
+                                                    requestInfo,
+                                                    response,
+                                                    errorMappings,
+                                                    rootNode -> rootNode.getObjectValue(factory)));
+        } catch (RuntimeException e) {
+            if (bulkhead != null) {
+                bulkhead.release();
             }
-            final ModelType result = rootNode.getObjectValue(factory);
+            throw e;
+        }
+        if (bulkhead == null) {
             return result;
-        } else {
+        }
+        return result.whenComplete((value, error) -> bulkhead.release());
+    }
+
+    @Nonnull
+    private <T> CompletableFuture<T> handleResponseAsync(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final HttpResponse response,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Function<ParseNode, T> parse) {
+        final Buffer body = response.bodyAsBuffer();
+        return parseOffloadPolicy.parseAsync(
+                body == null ? 0 : body.length(),
+                () -> handleResponse(requestInfo, response, errorMappings, parse));
+    }
+
+    @Nullable
+    private <T> T handleResponse(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final HttpResponse response,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final Function<ParseNode, T> parse) {
+        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+        if (responseHandler != null) {
             return responseHandler.handleResponse(response, errorMappings);
         }
+        this.throwIfFailedResponse(response, errorMappings);
+        if (this.shouldReturnNull(response)) {
+            return null;
+        }
+        return readResponse(requestInfo, response, parse);
     }
 
     @Nullable
@@ -190,65 +380,34 @@ public class VertXRequestAdapter implements RequestAdapter {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(targetClass, "parameter targetClass cannot be null");
 
-        HttpResponse response = this.getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            if (targetClass == Void.class) {
-                return null;
-            } else {
-                if (targetClass == InputStream.class) {
-                    // TODO: verify streaming responses
-                    final InputStream rawInputStream =
-                            new ByteArrayInputStream(response.bodyAsBuffer().getBytes());
-                    return (ModelType) rawInputStream;
-                }
-                final ParseNode rootNode = getRootParseNode(response);
-                if (rootNode == null) {
-                    return null;
-                }
-                Object result;
-                if (targetClass == Boolean.class) {
-                    result = rootNode.getBooleanValue();
-                } else if (targetClass == Byte.class) {
-                    result = rootNode.getByteValue();
-                } else if (targetClass == String.class) {
-                    result = rootNode.getStringValue();
-                } else if (targetClass == Short.class) {
-                    result = rootNode.getShortValue();
-                } else if (targetClass == BigDecimal.class) {
-                    result = rootNode.getBigDecimalValue();
-                } else if (targetClass == Double.class) {
-                    result = rootNode.getDoubleValue();
-                } else if (targetClass == Integer.class) {
-                    result = rootNode.getIntegerValue();
-                } else if (targetClass == Float.class) {
-                    result = rootNode.getFloatValue();
-                } else if (targetClass == Long.class) {
-                    result = rootNode.getLongValue();
-                } else if (targetClass == UUID.class) {
-                    result = rootNode.getUUIDValue();
-                } else if (targetClass == OffsetDateTime.class) {
-                    result = rootNode.getOffsetDateTimeValue();
-                } else if (targetClass == LocalDate.class) {
-                    result = rootNode.getLocalDateValue();
-                } else if (targetClass == LocalTime.class) {
-                    result = rootNode.getLocalTimeValue();
-                } else if (targetClass == PeriodAndDuration.class) {
-                    result = rootNode.getPeriodAndDurationValue();
-                } else if (targetClass == byte[].class) {
-                    result = rootNode.getByteArrayValue();
-                } else {
-                    throw new RuntimeException("unexpected payload type " + targetClass.getName());
-                }
-                return (ModelType) result;
-            }
-        } else {
-            return responseHandler.handleResponse(response, errorMappings);
-        }
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    HttpResponse response = this.getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        if (targetClass == Void.class) {
+                            return null;
+                        } else {
+                            if (targetClass == InputStream.class) {
+                                // TODO: verify streaming responses
+                                final InputStream rawInputStream = getResponseBody(response);
+                                return (ModelType) rawInputStream;
+                            }
+                            return (ModelType)
+                                    parseResponse(
+                                            requestInfo,
+                                            response,
+                                            rootNode -> PrimitiveReaders.read(rootNode, targetClass));
+                        }
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                });
     }
 
     @Nullable
@@ -259,22 +418,25 @@ public class VertXRequestAdapter implements RequestAdapter {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(enumParser, nullEnumParserParameter);
 
-        HttpResponse response = this.getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            final ParseNode rootNode = getRootParseNode(response);
-            if (rootNode == null) {
-                return null;
-            }
-            final Object result = rootNode.getEnumValue(enumParser);
-            return (ModelType) result;
-        } else {
-            return responseHandler.handleResponse(response, errorMappings);
-        }
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    HttpResponse response = this.getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        return (ModelType)
+                                parseResponse(
+                                        requestInfo,
+                                        response,
+                                        rootNode -> rootNode.getEnumValue(enumParser));
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                });
     }
 
     @Nullable
@@ -285,22 +447,24 @@ public class VertXRequestAdapter implements RequestAdapter {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
         Objects.requireNonNull(enumParser, nullEnumParserParameter);
 
-        HttpResponse response = this.getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            final ParseNode rootNode = getRootParseNode(response);
-            if (rootNode == null) {
-                return null;
-            }
-            final Object result = rootNode.getCollectionOfEnumValues(enumParser);
-            return (List<ModelType>) result;
-        } else {
-            return responseHandler.handleResponse(response, errorMappings);
-        }
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    HttpResponse response = this.getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        return parseResponse(
+                                requestInfo,
+                                response,
+                                rootNode -> rootNode.getCollectionOfEnumValues(enumParser));
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                });
     }
 
     @Nullable
@@ -310,38 +474,265 @@ public class VertXRequestAdapter implements RequestAdapter {
             @Nonnull final Class<ModelType> targetClass) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
 
-        HttpResponse response = getHttpResponseMessage(requestInfo);
-        final ResponseHandler responseHandler = getResponseHandler(requestInfo);
-        if (responseHandler == null) {
-            this.throwIfFailedResponse(response, errorMappings);
-            if (this.shouldReturnNull(response)) {
-                return null;
-            }
-            final ParseNode rootNode = getRootParseNode(response);
-            if (rootNode == null) {
-                return null;
-            }
-            final List<ModelType> result = rootNode.getCollectionOfPrimitiveValues(targetClass);
-            return result;
-        } else {
-            return responseHandler.handleResponse(response, errorMappings);
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    HttpResponse response = getHttpResponseMessage(requestInfo);
+                    final ResponseHandler responseHandler = getResponseHandler(requestInfo);
+                    if (responseHandler == null) {
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        return parseResponse(
+                                requestInfo,
+                                response,
+                                rootNode -> rootNode.getCollectionOfPrimitiveValues(targetClass));
+                    } else {
+                        return responseHandler.handleResponse(response, errorMappings);
+                    }
+                });
+    }
+
+    /**
+     * Sends a request with the content of a file as body, the file is piped to the connection
+     * without being read on the heap.
+     * @param requestInfo the request, its content is ignored.
+     * @param source the file to upload.
+     * @param listener receives the progress of the upload.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @param factory the factory to create the parsable object from the response.
+     * @return the deserialized response model.
+     */
+    @Nullable
+    public <ModelType extends Parsable> ModelType sendFile(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Path source,
+            @Nullable final TransferListener listener,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings,
+            @Nonnull final ParsableFactory<ModelType> factory) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(source, "parameter source cannot be null");
+        Objects.requireNonNull(factory, nullFactoryParameter);
+
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    try {
+                        final long size = Files.size(source);
+                        final AsyncFile file =
+                                await(
+                                        getVertx()
+                                                .fileSystem()
+                                                .open(
+                                                        source.toString(),
+                                                        new OpenOptions().setWrite(false)));
+                        final HttpResponse response;
+                        try {
+                            var req = createRequest(requestInfo, true);
+                            req.headers().set(HttpHeaders.CONTENT_LENGTH, Long.toString(size));
+                            response =
+                                    await(
+                                            req.sendStream(
+                                                    FileTransfers.withProgress(
+                                                            file, size, listener)));
+                        } finally {
+                            file.close();
+                        }
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return null;
+                        }
+                        return parseResponse(
+                                requestInfo,
+                                response,
+                                rootNode -> rootNode.getObjectValue(factory));
+                    } catch (URISyntaxException | IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+    }
+
+    /**
+     * Sends a request and pipes the response body straight to a file without buffering it on the
+     * heap, the response is not decoded.
+     * @param requestInfo the request.
+     * @param target the file to write.
+     * @param resume whether to only request the part missing from an existing file, the file is
+     *     overwritten when the server does not support ranges.
+     * @param listener receives the progress of the download.
+     * @param errorMappings the error factories mapping to use in case of a failed request.
+     * @return the size of the file.
+     */
+    public long receiveFile(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final Path target,
+            final boolean resume,
+            @Nullable final TransferListener listener,
+            @Nullable final HashMap<String, ParsableFactory<? extends Parsable>> errorMappings) {
+        Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
+        Objects.requireNonNull(target, "parameter target cannot be null");
+
+        return bulkheads.call(
+                requestInfo,
+                () -> {
+                    try {
+                        final long offset =
+                                resume && Files.exists(target) ? Files.size(target) : 0;
+                        // the file is only opened once the status of the response is known
+                        final FileTransfers.Download download =
+                                new FileTransfers.Download(
+                                        getVertx().fileSystem(), target, true, listener);
+                        final HttpResponse response;
+                        try {
+                            final var req =
+                                    createRequest(requestInfo, false)
+                                            .as(BodyCodec.pipe(download))
+                                            .expect(downloadPredicate(offset, download));
+                            if (offset > 0) {
+                                req.headers().set(HttpHeaderNames.RANGE, "bytes=" + offset + "-");
+                            }
+                            final Future<HttpResponse<Void>> result =
+                                    requestInfo.content == null
+                                            ? req.send()
+                                            : req.sendBuffer(
+                                                    Buffer.buffer(
+                                                            requestInfo.content.readAllBytes()));
+                            response = await(FileTransfers.FailedResponse.recover(result));
+                        } catch (RuntimeException e) {
+                            // the pipe closes the file once the body ends
+                            download.close();
+                            throw e;
+                        }
+                        if (offset > 0 && response.statusCode() == 416) {
+                            // the file is already complete
+                            return offset;
+                        }
+                        this.throwIfFailedResponse(response, errorMappings);
+                        if (this.shouldReturnNull(response)) {
+                            return 0L;
+                        }
+                        return download.getPosition();
+                    } catch (URISyntaxException | IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+    }
+
+    /**
+     * Checks the status of a download before its body is piped to the file, opening the file.
+     * @param offset the size of the part of the file already downloaded.
+     * @param download the pipe to the file.
+     */
+    @Nonnull
+    private static ResponsePredicate downloadPredicate(
+            final long offset, @Nonnull final FileTransfers.Download download) {
+        return ResponsePredicate.create(
+                r -> {
+                    if (r.statusCode() < 200 || r.statusCode() >= 300) {
+                        return ResponsePredicateResult.failure(
+                                "unexpected status code " + r.statusCode());
+                    }
+                    if (r.statusCode() == 204) {
+                        // leaves the file untouched
+                        return ResponsePredicateResult.success();
+                    }
+                    final String length = r.getHeader(HttpHeaders.CONTENT_LENGTH.toString());
+                    // a server ignoring the range sends the whole file
+                    download.start(
+                            offset > 0 && r.statusCode() == 206 ? offset : 0,
+                            length == null ? -1 : Long.parseLong(length));
+                    return ResponsePredicateResult.success();
+                },
+                ErrorConverter.createFullBody(
+                        result -> new FileTransfers.FailedResponse(result.response())));
+    }
+
+    @Nonnull
+    Vertx getVertx() {
+        if (vertx != null) {
+            return vertx;
         }
+        final Context context = Vertx.currentContext();
+        if (context == null) {
+            throw new IllegalStateException(
+                    "transferring files requires the adapter to be created with a Vertx instance");
+        }
+        return context.owner();
     }
 
     @Nullable
-    private ParseNode getRootParseNode(final HttpResponse response) {
+    private InputStream getResponseBody(final HttpResponse response) {
         final Buffer body =
                 response.bodyAsBuffer(); // closing the response closes the body and stream
         if (body == null) {
             return null;
         }
-        final InputStream rawInputStream = new ByteArrayInputStream(body.getBytes());
+        // reads the buffer in place, it may be backed by a spill file
+        return compression.decode(
+                response.headers().get(contentEncodingHeaderKey),
+                new ByteBufInputStream(body.getByteBuf()));
+    }
+
+    /**
+     * Parses a response body on the calling thread.
+     * @return the parsed value, null when there is no body to parse.
+     */
+    @Nullable
+    private <T> T parseResponse(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final HttpResponse response,
+            @Nonnull final Function<ParseNode, T> parse) {
+        return parseOffloadPolicy.parse(() -> readResponse(requestInfo, response, parse));
+    }
+
+    @Nullable
+    private <T> T readResponse(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final HttpResponse response,
+            @Nonnull final Function<ParseNode, T> parse) {
+        return ScopedBackingStoreFactory.call(
+                backingStoreFactory,
+                () -> {
+                    final ParseNode rootNode =
+                            getRootParseNode(response, getParseNodeFactory(requestInfo));
+                    return rootNode == null ? null : parse.apply(rootNode);
+                });
+    }
+
+    @Nonnull
+    private ParseNodeFactory getParseNodeFactory(final RequestInformation requestInfo) {
+        for (final RequestOption rOption : requestInfo.getRequestOptions()) {
+            if (rOption instanceof ParseNodeFactoryOption) {
+                final ParseNodeFactory parseNodeFactory =
+                        ((ParseNodeFactoryOption) rOption).getParseNodeFactory();
+                // the models are backed as the ones parsed by the factory of the adapter
+                return backingStoreEnabled
+                        ? ApiClientBuilder.enableBackingStoreForParseNodeFactory(parseNodeFactory)
+                        : parseNodeFactory;
+            }
+        }
+        return pNodeFactory;
+    }
+
+    @Nullable
+    private ParseNode getRootParseNode(final HttpResponse response) {
+        return getRootParseNode(response, pNodeFactory);
+    }
+
+    @Nullable
+    private ParseNode getRootParseNode(
+            final HttpResponse response, final ParseNodeFactory parseNodeFactory) {
+        final InputStream rawInputStream = getResponseBody(response);
+        if (rawInputStream == null) {
+            return null;
+        }
 
         final String contentType = response.headers().get(contentTypeHeaderKey);
         if (contentType == null) {
             return null;
         }
-        return pNodeFactory.getParseNode(contentType, rawInputStream);
+        return parseNodeFactory.getParseNode(contentType, rawInputStream);
     }
 
     private boolean shouldReturnNull(final HttpResponse response) {
@@ -397,7 +788,11 @@ public class VertXRequestAdapter implements RequestAdapter {
             throw result;
         }
         ApiException result =
-                new ApiExceptionBuilder(() -> rootNode.getObjectValue(errorClass))
+                new ApiExceptionBuilder(
+                                () ->
+                                        ScopedBackingStoreFactory.call(
+                                                backingStoreFactory,
+                                                () -> rootNode.getObjectValue(errorClass)))
                         .withResponseStatusCode(statusCode)
                         .withResponseHeaders(responseHeaders)
                         .build();
@@ -406,20 +801,27 @@ public class VertXRequestAdapter implements RequestAdapter {
 
     private HttpResponse getHttpResponseMessage(@Nonnull final RequestInformation requestInfo) {
         Objects.requireNonNull(requestInfo, nullRequestInfoParameter);
-        this.setBaseUrlForRequestInformation(requestInfo);
+        return await(sendRequest(requestInfo));
+    }
+
+    @Nonnull
+    private Future<HttpResponse<Buffer>> sendRequest(
+            @Nonnull final RequestInformation requestInfo) {
         Future<HttpResponse<Buffer>> result;
         try {
-            var req =
-                    this.client
-                            .requestAbs(
-                                    HttpMethodCompatibility.convert(requestInfo.httpMethod),
-                                    requestInfo.getUri().toString())
-                            .putHeaders(HeadersCompatibility.getMultiMap(requestInfo.headers))
-                            .followRedirects(true);
+            var req = createRequest(requestInfo, true);
             if (requestInfo.content == null) {
                 result = req.send();
             } else {
                 byte[] content = requestInfo.content.readAllBytes();
+                final ContentCodec codec =
+                        req.headers().contains(contentEncodingHeaderKey)
+                                ? null
+                                : compression.getRequestCodec(content.length);
+                if (codec != null && content.length > 0) {
+                    content = compression.encode(codec, new ByteArrayInputStream(content));
+                    req.headers().set(contentEncodingHeaderKey, codec.getEncoding());
+                }
                 if (content.length > 0) {
                     result = req.sendBuffer(Buffer.buffer(content));
                 } else {
@@ -427,19 +829,81 @@ public class VertXRequestAdapter implements RequestAdapter {
                 }
             }
 
-            // TODO: move this to await in VirtualThreads, should be easy!
-            return result.toCompletionStage().toCompletableFuture().get();
+            return result;
         } catch (URISyntaxException e) {
             throw new RuntimeException(e);
         } catch (IOException e) {
             throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Starts a request with the url and headers of a Kiota request.
+     * @param buffered whether the response body is buffered in memory, in which case it is bounded
+     *     and a content coding is negotiated.
+     */
+    @Nonnull
+    private HttpRequest<Buffer> createRequest(
+            @Nonnull final RequestInformation requestInfo, final boolean buffered)
+            throws URISyntaxException {
+        return createRequest(
+                requestInfo, HttpMethodCompatibility.convert(requestInfo.httpMethod), buffered);
+    }
+
+    @Nonnull
+    HttpRequest<Buffer> createRequest(
+            @Nonnull final RequestInformation requestInfo,
+            @Nonnull final HttpMethod method,
+            final boolean buffered)
+            throws URISyntaxException {
+        var req = this.client.requestAbs(method, getRequestUri(requestInfo)).followRedirects(true);
+        HeadersCompatibility.putHeaders(requestInfo.headers, req.headers());
+        if (buffered) {
+            final BodyCodec<Buffer> bodyCodec = responseBodyLimit.bodyCodec();
+            if (bodyCodec != null) {
+                req = req.as(bodyCodec);
+            }
+            final String acceptEncoding = compression.getAcceptEncoding();
+            if (acceptEncoding != null && !req.headers().contains(acceptEncodingHeaderKey)) {
+                req.headers().set(acceptEncodingHeaderKey, acceptEncoding);
+            }
+        }
+        return req;
+    }
+
+    static <T> T await(@Nonnull final Future<T> future) {
+        try {
+            // TODO: move this to await in VirtualThreads, should be easy!
+            return future.toCompletionStage().toCompletableFuture().get();
         } catch (ExecutionException e) {
+            if (e.getCause() instanceof ResponseTooLargeException) {
+                throw (ResponseTooLargeException) e.getCause();
+            }
             throw new RuntimeException(e);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Expands the URI of a request through the compiled form of its template, the adapter base url
+     * is used without being stored in the path parameters. Falls back to {@link
+     * RequestInformation#getUri()} for raw urls.
+     */
+    @Nonnull
+    private String getRequestUri(@Nonnull final RequestInformation requestInfo)
+            throws URISyntaxException {
+        if (requestInfo.urlTemplate == null
+                || requestInfo.pathParameters.isEmpty()
+                || requestInfo.pathParameters.containsKey(rawUrlKey)) {
+            this.setBaseUrlForRequestInformation(requestInfo);
+            return requestInfo.getUri().toString();
+        }
+        return UriTemplate.compile(requestInfo.urlTemplate)
+                .expand(getBaseUrl(), requestInfo.pathParameters, requestInfo.getQueryParameters());
+    }
+
     private void setBaseUrlForRequestInformation(@Nonnull final RequestInformation requestInfo) {
         Objects.requireNonNull(requestInfo);
         requestInfo.pathParameters.put("baseurl", getBaseUrl());
@@ -458,13 +922,13 @@ public class VertXRequestAdapter implements RequestAdapter {
     protected @Nonnull HttpRequest getRequestFromRequestInformation(
             @Nonnull final RequestInformation requestInfo)
             throws URISyntaxException, MalformedURLException {
-        final URL requestURL = requestInfo.getUri().toURL();
-
         final HttpRequest request =
-                client.requestAbs(HttpMethodCompatibility.convert(requestInfo.httpMethod), requestURL.toString())
+                client.requestAbs(
+                                HttpMethodCompatibility.convert(requestInfo.httpMethod),
+                                getRequestUri(requestInfo))
                         .followRedirects(true);
 
-        request.putHeaders(HeadersCompatibility.getMultiMap(requestInfo.headers));
+        HeadersCompatibility.putHeaders(requestInfo.headers, request.headers());
         return request;
     }
 }
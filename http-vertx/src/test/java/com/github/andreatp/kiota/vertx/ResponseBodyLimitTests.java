@@ -0,0 +1,134 @@
+package com.github.andreatp.kiota.vertx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.http.ResponseTooLargeException;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.codec.spi.BodyStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResponseBodyLimitTests {
+    private static final int LIMIT = 16;
+
+    private Vertx vertx;
+
+    @BeforeEach
+    void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    private static Buffer body(final int size) {
+        final Buffer body = Buffer.buffer(size);
+        for (int i = 0; i < size; i++) {
+            body.appendByte((byte) i);
+        }
+        return body;
+    }
+
+    private static ResponseBodyLimit limit(final ResponseBodyLimit.Policy policy) {
+        final var limit = new ResponseBodyLimit();
+        limit.setMaxInMemoryBytes(LIMIT, policy);
+        return limit;
+    }
+
+    /** Writes to a body stream of the limit from the event loop, as a response would. */
+    private Buffer receive(final ResponseBodyLimit limit, final Consumer<BodyStream<Buffer>> writer)
+            throws Exception {
+        final CompletableFuture<Buffer> result = new CompletableFuture<>();
+        vertx.getOrCreateContext()
+                .runOnContext(
+                        v ->
+                                limit.bodyCodec()
+                                        .create(
+                                                ar -> {
+                                                    final BodyStream<Buffer> stream = ar.result();
+                                                    stream.result()
+                                                            .onSuccess(result::complete)
+                                                            .onFailure(
+                                                                    result::completeExceptionally);
+                                                    writer.accept(stream);
+                                                }));
+        try {
+            return result.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    @Test
+    void LeavesTheBodiesUnboundedByDefault() {
+        assertNull(new ResponseBodyLimit().bodyCodec());
+    }
+
+    @Test
+    void KeepsTheBodiesWithinTheLimitInMemory() throws Exception {
+        final var limit = limit(ResponseBodyLimit.Policy.SPILL);
+        final Buffer body = body(LIMIT);
+        final Buffer received =
+                receive(
+                        limit,
+                        stream -> {
+                            stream.write(body.getBuffer(0, 10));
+                            stream.write(body.getBuffer(10, LIMIT));
+                            stream.end();
+                        });
+        assertEquals(body, received);
+        assertEquals(0, limit.getSpills());
+    }
+
+    @Test
+    void SpillsTheBodiesFromTheWorkerPool() throws Exception {
+        final var limit = limit(ResponseBodyLimit.Policy.SPILL);
+        final Buffer body = body(4 * LIMIT);
+        final AtomicBoolean queued = new AtomicBoolean();
+        final AtomicBoolean drained = new AtomicBoolean();
+        final Buffer received =
+                receive(
+                        limit,
+                        stream -> {
+                            stream.setWriteQueueMaxSize(LIMIT);
+                            for (int i = 0; i < 4; i++) {
+                                stream.write(body.getBuffer(i * LIMIT, (i + 1) * LIMIT));
+                            }
+                            // nothing is written from the event loop
+                            queued.set(stream.writeQueueFull());
+                            stream.drainHandler(v -> drained.set(true));
+                            stream.end();
+                        });
+        assertEquals(body, received);
+        assertTrue(queued.get());
+        assertTrue(drained.get());
+        assertEquals(1, limit.getSpills());
+        assertEquals(4 * LIMIT, limit.getSpilledBytes());
+    }
+
+    @Test
+    void FailsOnceTheLimitIsExceeded() {
+        final var limit = limit(ResponseBodyLimit.Policy.FAIL);
+        final var error =
+                assertThrows(
+                        ResponseTooLargeException.class,
+                        () ->
+                                receive(
+                                        limit,
+                                        stream -> {
+                                            stream.write(body(LIMIT + 1));
+                                            stream.end();
+                                        }));
+        assertEquals(LIMIT, error.getMaxBytes());
+        assertEquals(1, limit.getRejected());
+    }
+}
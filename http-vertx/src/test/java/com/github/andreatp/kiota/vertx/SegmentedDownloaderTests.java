@@ -0,0 +1,171 @@
+package com.github.andreatp.kiota.vertx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.http.Bulkheads;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestInformation;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.vertx.core.Vertx;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(30)
+class SegmentedDownloaderTests {
+    private static final byte[] content = new byte[64 * 1024];
+
+    static {
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+    }
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final CountDownLatch stalled = new CountDownLatch(1);
+    private volatile boolean failFirstRange;
+    private ExecutorService executor;
+    private HttpServer server;
+    private Path target;
+    private Vertx vertx;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        vertx = Vertx.vertx();
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/files", this::serve);
+        server.start();
+        target = Files.createTempFile("kiota-tests", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        stalled.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+        Files.deleteIfExists(target);
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    /** Serves the content by byte ranges, each range taking some time. */
+    private void serve(final HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+        exchange.getResponseHeaders().set("ETag", "\"v1\"");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", Integer.toString(content.length));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try (OutputStream body = exchange.getResponseBody()) {
+            final String[] range =
+                    exchange.getRequestHeaders().getFirst("Range").substring(6).split("-");
+            final int start = Integer.parseInt(range[0]);
+            final int end = Integer.parseInt(range[1]) + 1;
+            if (start == 0 && failFirstRange) {
+                // as if the file changed since the If-Range validator
+                exchange.sendResponseHeaders(200, content.length);
+                body.write(content);
+                return;
+            }
+            exchange.getResponseHeaders()
+                    .set(
+                            "Content-Range",
+                            "bytes " + start + "-" + (end - 1) + "/" + content.length);
+            exchange.sendResponseHeaders(206, end - start);
+            body.write(content, start, 1);
+            body.flush();
+            if (failFirstRange) {
+                stalled.await(10, TimeUnit.SECONDS);
+            } else {
+                Thread.sleep(50);
+            }
+            body.write(content, start + 1, end - start - 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private RequestInformation request() {
+        final var requestInfo = new RequestInformation();
+        requestInfo.httpMethod = HttpMethod.GET;
+        requestInfo.urlTemplate = "{+baseurl}/files/{name}";
+        requestInfo.pathParameters.put("name", "content.bin");
+        return requestInfo;
+    }
+
+    private VertXRequestAdapter adapter() {
+        final var adapter = new VertXRequestAdapter(vertx);
+        adapter.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        return adapter;
+    }
+
+    private SegmentedDownloader downloader(final VertXRequestAdapter adapter) {
+        final var downloader = new SegmentedDownloader(adapter);
+        downloader.setSegments(4);
+        downloader.setMinSegmentSize(1024);
+        return downloader;
+    }
+
+    @Test
+    void DownloadsTheRangesInPlace() throws IOException {
+        final AtomicLong transferred = new AtomicLong();
+        final long size =
+                downloader(adapter())
+                        .download(
+                                request(),
+                                target,
+                                (current, total) ->
+                                        transferred.accumulateAndGet(current, Math::max),
+                                null);
+        assertEquals(content.length, size);
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(content.length, transferred.get());
+        assertEquals(4, maxInFlight.get());
+    }
+
+    @Test
+    void HoldsASlotOfTheBulkheadPerRange() throws IOException {
+        final var adapter = adapter();
+        final var bulkhead = adapter.getBulkheads().register(Bulkheads.DEFAULT, 2, 0);
+        assertEquals(content.length, downloader(adapter).download(request(), target, null, null));
+        assertArrayEquals(content, Files.readAllBytes(target));
+        // the ranges beyond the slots wait for the ones in flight
+        assertEquals(2, maxInFlight.get());
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    void CancelsTheOtherRangesOnceOneFails() {
+        failFirstRange = true;
+        final long started = System.nanoTime();
+        final var error =
+                assertThrows(
+                        RuntimeException.class,
+                        () ->
+                                downloader(adapter())
+                                        .download(request(), target, null, null));
+        assertTrue(error.getMessage().contains("status code 200"), error.getMessage());
+        // the stalled ranges are not waited for
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(5));
+    }
+}
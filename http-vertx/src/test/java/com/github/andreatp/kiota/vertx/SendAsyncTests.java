@@ -0,0 +1,155 @@
+package com.github.andreatp.kiota.vertx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.http.Bulkheads;
+import com.github.andreatp.kiota.http.ParseNodeFactoryOption;
+import com.microsoft.kiota.HttpMethod;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(30)
+class SendAsyncTests {
+    private static final String contentType = "application/json";
+    private static final String parserName = "kiota-parser";
+
+    /** A model recording the thread it was parsed on. */
+    private static final class Model implements Parsable {
+        private final Thread parsedOn = Thread.currentThread();
+        private final boolean parsedOnEventLoop = Context.isOnEventLoopThread();
+
+        @Override
+        public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+            return Map.of();
+        }
+
+        @Override
+        public void serialize(final SerializationWriter writer) {}
+    }
+
+    private static final class ModelFactory implements ParseNodeFactory {
+        @Override
+        public String getValidContentType() {
+            return contentType;
+        }
+
+        @Override
+        public ParseNode getParseNode(final String contentType, final InputStream rawResponse) {
+            try (rawResponse) {
+                rawResponse.readAllBytes();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return (ParseNode)
+                    Proxy.newProxyInstance(
+                            ParseNode.class.getClassLoader(),
+                            new Class<?>[] {ParseNode.class},
+                            (proxy, method, args) -> {
+                                if ("getObjectValue".equals(method.getName())) {
+                                    return new Model();
+                                }
+                                throw new UnsupportedOperationException(method.getName());
+                            });
+        }
+    }
+
+    private HttpServer server;
+    private ExecutorService parser;
+    private Vertx vertx;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        vertx = Vertx.vertx();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users", this::serve);
+        server.start();
+        parser = Executors.newSingleThreadExecutor(task -> new Thread(task, parserName));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop(0);
+        parser.shutdownNow();
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    private void serve(final HttpExchange exchange) throws IOException {
+        final byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private VertXRequestAdapter adapter() {
+        final var adapter = new VertXRequestAdapter(vertx);
+        adapter.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        return adapter;
+    }
+
+    private static RequestInformation request() {
+        final var requestInfo = new RequestInformation();
+        requestInfo.httpMethod = HttpMethod.GET;
+        requestInfo.urlTemplate = "{+baseurl}/users/{id}";
+        requestInfo.pathParameters.put("id", "1");
+        requestInfo.addRequestOptions(List.of(new ParseNodeFactoryOption(new ModelFactory())));
+        return requestInfo;
+    }
+
+    @Test
+    void ParsesOnTheExecutorOfThePolicy() throws Exception {
+        final var adapter = adapter();
+        adapter.getParseOffloadPolicy().offload(0, parser, 10);
+        final Model model =
+                adapter.sendAsync(request(), null, parseNode -> new Model())
+                        .get(10, TimeUnit.SECONDS);
+        assertEquals(parserName, model.parsedOn.getName());
+        assertFalse(model.parsedOnEventLoop);
+        assertEquals(1, adapter.getParseOffloadPolicy().getOffloadedParses());
+        assertEquals(0, adapter.getParseOffloadPolicy().getInlineParses());
+    }
+
+    @Test
+    void WaitsForTheBulkheadWithoutBlocking() throws Exception {
+        final var adapter = adapter();
+        final var bulkhead = adapter.getBulkheads().register(Bulkheads.DEFAULT, 1, 1);
+        assertSame(bulkhead, adapter.getBulkheads().acquire(request()));
+
+        // returns to the event loop while the partition is saturated
+        final CompletableFuture<CompletableFuture<Model>> sent = new CompletableFuture<>();
+        vertx.runOnContext(
+                v -> sent.complete(adapter.sendAsync(request(), null, parseNode -> new Model())));
+        final CompletableFuture<Model> result = sent.get(10, TimeUnit.SECONDS);
+        assertFalse(result.isDone());
+        assertEquals(1, bulkhead.getQueued());
+
+        bulkhead.release();
+        assertNotNull(result.get(10, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getInFlight());
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.andreatp.kiota.serialization;
+
+/**
+ * How the objects and arrays of the fields without a deserializer are kept in the additional data.
+ * Strings, numbers and booleans are always stored as their Java values.
+ */
+public enum AdditionalDataPolicy {
+    /**
+     * Stores the parsed {@link com.fasterxml.jackson.databind.JsonNode}s, the default.
+     * The nodes are part of the tree of the payload, which stays reachable from the model.
+     */
+    JSON_NODES,
+    /** Leaves the objects and arrays out of the additional data. */
+    DROP,
+    /**
+     * Stores the objects and arrays as {@link RawJson}, their UTF-8 bytes, parsed again on access.
+     */
+    RAW_JSON,
+    /**
+     * Stores the objects as unmodifiable {@link java.util.Map}s keeping the order of the fields,
+     * and the arrays as unmodifiable {@link java.util.List}s, of the Java values of their elements.
+     */
+    JAVA_VALUES
+}
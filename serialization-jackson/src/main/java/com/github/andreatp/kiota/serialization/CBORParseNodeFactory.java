@@ -0,0 +1,19 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Creates new parse nodes from CBOR payloads, the binary counterpart of Json.
+ * Requires the optional {@code jackson-dataformat-cbor} dependency. The mapper is a copy of
+ * {@link JsonMapper#mapper}, the changes made to the Json mapper once this class is loaded are not
+ * carried over.
+ */
+public class CBORParseNodeFactory extends JacksonParseNodeFactory {
+    static final ObjectMapper mapper = JsonMapper.mapper.copyWith(new CBORFactory());
+
+    /** Creates a new factory */
+    public CBORParseNodeFactory() {
+        super("application/cbor", mapper);
+    }
+}
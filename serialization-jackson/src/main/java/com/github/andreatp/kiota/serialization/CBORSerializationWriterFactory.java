@@ -0,0 +1,12 @@
+package com.github.andreatp.kiota.serialization;
+
+/**
+ * Creates new serialization writers producing CBOR payloads, the binary counterpart of Json.
+ * Requires the optional {@code jackson-dataformat-cbor} dependency.
+ */
+public class CBORSerializationWriterFactory extends JsonSerializationWriterFactory {
+    /** Creates a new factory */
+    public CBORSerializationWriterFactory() {
+        super("application/cbor", CBORParseNodeFactory.mapper);
+    }
+}
@@ -0,0 +1,333 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.microsoft.kiota.TriConsumer;
+import com.microsoft.kiota.store.BackedModel;
+import com.microsoft.kiota.store.BackingStore;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Backing store tracking the changed values with one bit per value, for the delta serialization
+ * of the models: while only the changed values are returned the serialization writers skip the
+ * other ones, so a PATCH payload holds the changed fields only.
+ * A model held by a value of another model, directly or in a collection, marks that value as
+ * changed when it changes, so the payload holds the paths to its changed fields. The elements of
+ * a collection are all written whole once one changes, as the updates replace the collections.
+ * The stores setting the same keys in the same order share the layout of their keys, so each
+ * store only holds its values and their bits, indexed by the ordinal of the keys. The stores are
+ * not thread safe, like the models they back.
+ */
+public final class DirtyTrackingBackingStore implements BackingStore {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final SlotLayout sharedLayout = new SlotLayout();
+
+    private SlotLayout layout;
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private final BitSet changed = new BitSet();
+    private boolean initializationCompleted = true;
+    private boolean returnOnlyChangedValues;
+    private Map<String, TriConsumer<String, Object, Object>> subscriptions;
+    // the value of the store holding the model of this store
+    private DirtyTrackingBackingStore owner;
+    private int ownerSlot;
+    private boolean element;
+    // guards the propagation to the nested models against cycles
+    private boolean propagating;
+
+    /** Creates a new empty store */
+    public DirtyTrackingBackingStore() {
+        this(sharedLayout);
+    }
+
+    /**
+     * Creates a new empty store.
+     * @param layout the empty layout of the family of layouts shared by the store.
+     */
+    DirtyTrackingBackingStore(@Nonnull final SlotLayout layout) {
+        this.layout = layout;
+    }
+
+    private int addSlot(final String key) {
+        final int slot = layout.size();
+        if (slot == values.length) {
+            values = Arrays.copyOf(values, slot * 2);
+        }
+        layout = layout.with(key);
+        return slot;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@Nonnull final String key) {
+        Objects.requireNonNull(key, "parameter key cannot be null");
+        final int slot = layout.ordinalOf(key);
+        if (slot < 0 || (returnOnlyChangedValues && !changed.get(slot))) {
+            return null;
+        }
+        return (T) values[slot];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T> void set(@Nonnull final String key, @Nullable final T value) {
+        Objects.requireNonNull(key, "parameter key cannot be null");
+        int slot = layout.ordinalOf(key);
+        Object oldValue = null;
+        if (slot < 0) {
+            slot = addSlot(key);
+        } else {
+            oldValue = values[slot];
+            release(oldValue, slot);
+        }
+        values[slot] = value;
+        adopt(value, slot);
+        if (initializationCompleted) {
+            markChanged(slot);
+        } else {
+            changed.clear(slot);
+        }
+        if (subscriptions != null) {
+            for (final TriConsumer<String, Object, Object> callback : subscriptions.values()) {
+                callback.accept(key, oldValue, value);
+            }
+        }
+    }
+
+    private void markChanged(final int slot) {
+        if (changed.get(slot)) {
+            // the owners were marked with the first change
+            return;
+        }
+        changed.set(slot);
+        if (owner != null) {
+            if (element) {
+                owner.markElementsChanged(ownerSlot);
+            }
+            owner.markChanged(ownerSlot);
+        }
+    }
+
+    private void markElementsChanged(final int slot) {
+        for (final Object item : (Collection<?>) values[slot]) {
+            if (item instanceof BackedModel) {
+                final BackingStore store = ((BackedModel) item).getBackingStore();
+                if (store instanceof DirtyTrackingBackingStore) {
+                    final DirtyTrackingBackingStore nested = (DirtyTrackingBackingStore) store;
+                    nested.changed.set(0, nested.layout.size());
+                }
+            }
+        }
+    }
+
+    private void adopt(final Object value, final int slot) {
+        if (value instanceof BackedModel) {
+            link((BackedModel) value, slot, false);
+        } else if (value instanceof Collection) {
+            for (final Object item : (Collection<?>) value) {
+                if (item instanceof BackedModel) {
+                    link((BackedModel) item, slot, true);
+                }
+            }
+        }
+    }
+
+    private void link(final BackedModel model, final int slot, final boolean element) {
+        final BackingStore store = model.getBackingStore();
+        if (store instanceof DirtyTrackingBackingStore) {
+            final DirtyTrackingBackingStore nested = (DirtyTrackingBackingStore) store;
+            nested.owner = this;
+            nested.ownerSlot = slot;
+            nested.element = element;
+            if (element && initializationCompleted) {
+                // a collection assigned by the application is written whole
+                nested.changed.set(0, nested.layout.size());
+            }
+        }
+    }
+
+    private void release(final Object value, final int slot) {
+        if (value instanceof BackedModel) {
+            unlink((BackedModel) value, slot);
+        } else if (value instanceof Collection) {
+            for (final Object item : (Collection<?>) value) {
+                if (item instanceof BackedModel) {
+                    unlink((BackedModel) item, slot);
+                }
+            }
+        }
+    }
+
+    private void unlink(final BackedModel model, final int slot) {
+        final BackingStore store = model.getBackingStore();
+        if (store instanceof DirtyTrackingBackingStore) {
+            final DirtyTrackingBackingStore nested = (DirtyTrackingBackingStore) store;
+            if (nested.owner == this && nested.ownerSlot == slot) {
+                nested.owner = null;
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public Map<String, Object> enumerate() {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        if (returnOnlyChangedValues) {
+            for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+                result.put(layout.key(i), values[i]);
+            }
+        } else {
+            for (int i = 0; i < layout.size(); i++) {
+                result.put(layout.key(i), values[i]);
+            }
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public Iterable<String> enumerateKeysForValuesChangedToNull() {
+        final List<String> result = new ArrayList<>();
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            if (values[i] == null) {
+                result.add(layout.key(i));
+            }
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public String subscribe(@Nonnull final TriConsumer<String, Object, Object> callback) {
+        final String subscriptionId = UUID.randomUUID().toString();
+        subscribe(subscriptionId, callback);
+        return subscriptionId;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void subscribe(
+            @Nonnull final String subscriptionId,
+            @Nonnull final TriConsumer<String, Object, Object> callback) {
+        Objects.requireNonNull(subscriptionId, "parameter subscriptionId cannot be null");
+        Objects.requireNonNull(callback, "parameter callback cannot be null");
+        if (subscriptions == null) {
+            subscriptions = new LinkedHashMap<>();
+        }
+        subscriptions.put(subscriptionId, callback);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void unsubscribe(@Nonnull final String subscriptionId) {
+        Objects.requireNonNull(subscriptionId, "parameter subscriptionId cannot be null");
+        if (subscriptions != null) {
+            subscriptions.remove(subscriptionId);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        for (int i = 0; i < layout.size(); i++) {
+            release(values[i], i);
+        }
+        Arrays.fill(values, 0, layout.size(), null);
+        layout = layout.root();
+        changed.clear();
+    }
+
+    /**
+     * Completing the initialization marks all the values as unchanged, the values set afterwards
+     * are changed. The nested models follow the store.
+     * {@inheritDoc}
+     */
+    @Override
+    public void setIsInitializationCompleted(final boolean value) {
+        if (propagating) {
+            return;
+        }
+        propagating = true;
+        try {
+            initializationCompleted = value;
+            if (value) {
+                changed.clear();
+            } else {
+                changed.set(0, layout.size());
+            }
+            for (int i = 0; i < layout.size(); i++) {
+                final Object nested = values[i];
+                if (nested instanceof BackedModel) {
+                    ((BackedModel) nested).getBackingStore().setIsInitializationCompleted(value);
+                } else if (nested instanceof Collection) {
+                    for (final Object item : (Collection<?>) nested) {
+                        if (item instanceof BackedModel) {
+                            ((BackedModel) item)
+                                    .getBackingStore()
+                                    .setIsInitializationCompleted(value);
+                        }
+                    }
+                }
+            }
+        } finally {
+            propagating = false;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean getIsInitializationCompleted() {
+        return initializationCompleted;
+    }
+
+    /**
+     * The nested models follow the store.
+     * {@inheritDoc}
+     */
+    @Override
+    public void setReturnOnlyChangedValues(final boolean value) {
+        if (propagating) {
+            return;
+        }
+        propagating = true;
+        try {
+            returnOnlyChangedValues = value;
+            for (int i = 0; i < layout.size(); i++) {
+                final Object nested = values[i];
+                if (nested instanceof BackedModel) {
+                    ((BackedModel) nested).getBackingStore().setReturnOnlyChangedValues(value);
+                } else if (nested instanceof Collection) {
+                    for (final Object item : (Collection<?>) nested) {
+                        if (item instanceof BackedModel) {
+                            ((BackedModel) item)
+                                    .getBackingStore()
+                                    .setReturnOnlyChangedValues(value);
+                        }
+                    }
+                }
+            }
+        } finally {
+            propagating = false;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean getReturnOnlyChangedValues() {
+        return returnOnlyChangedValues;
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.microsoft.kiota.store.BackingStore;
+import com.microsoft.kiota.store.BackingStoreFactory;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Creates new backing stores tracking the changed values for the delta serialization.
+ * The stores created by a factory share the layouts of their keys, so a factory per client keeps
+ * the layouts of its models apart from the other clients.
+ */
+public class DirtyTrackingBackingStoreFactory implements BackingStoreFactory {
+    private final SlotLayout layout = new SlotLayout();
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public BackingStore createBackingStore() {
+        return new DirtyTrackingBackingStore(layout);
+    }
+}
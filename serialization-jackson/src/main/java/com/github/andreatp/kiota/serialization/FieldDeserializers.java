@@ -0,0 +1,83 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Field deserializers shared by all the instances of a model class.
+ * The deserializers returned by {@link Parsable#getFieldDeserializers()} capture the instance,
+ * so a new map is built for every object parsed. A class registered here is deserialized with its
+ * shared table instead, and its {@code getFieldDeserializers} method is not called.
+ * Registrations apply to the exact class, subclasses need their own table.
+ */
+public final class FieldDeserializers {
+    private static final Map<Class<?>, Map<String, BiConsumer<Object, ParseNode>>> registered =
+            new ConcurrentHashMap<>();
+    private static final ClassValue<Map<String, BiConsumer<Object, ParseNode>>> tables =
+            new ClassValue<>() {
+                @Override
+                protected Map<String, BiConsumer<Object, ParseNode>> computeValue(
+                        final Class<?> type) {
+                    return registered.get(type);
+                }
+            };
+
+    private FieldDeserializers() {}
+
+    /**
+     * Registers the field deserializers of a model class, replacing any previous registration.
+     * @param type the model class.
+     * @param deserializers the deserializers by Json field name, receiving the instance being
+     *     deserialized. They are copied in an immutable table.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Parsable> void register(
+            @Nonnull final Class<T> type,
+            @Nonnull final Map<String, ? extends BiConsumer<? super T, ParseNode>> deserializers) {
+        Objects.requireNonNull(type, "parameter type cannot be null");
+        Objects.requireNonNull(deserializers, "parameter deserializers cannot be null");
+        registered.put(
+                type,
+                (Map<String, BiConsumer<Object, ParseNode>>)
+                        (Map<?, ?>) Map.copyOf(deserializers));
+        tables.remove(type);
+    }
+
+    /**
+     * Removes the registration of a model class, its instances go back to their own field
+     * deserializers.
+     * @param type the model class.
+     */
+    public static void unregister(@Nonnull final Class<? extends Parsable> type) {
+        Objects.requireNonNull(type, "parameter type cannot be null");
+        registered.remove(type);
+        tables.remove(type);
+    }
+
+    /**
+     * @param type the model class.
+     * @return the deserializers registered for the class, empty when not registered.
+     */
+    @Nonnull
+    public static Map<String, BiConsumer<Object, ParseNode>> of(
+            @Nonnull final Class<? extends Parsable> type) {
+        Objects.requireNonNull(type, "parameter type cannot be null");
+        final Map<String, BiConsumer<Object, ParseNode>> table = registered.get(type);
+        return table == null ? Map.of() : table;
+    }
+
+    /**
+     * @param type the model class.
+     * @return the shared table of the class, null when not registered.
+     */
+    @Nullable
+    static Map<String, BiConsumer<Object, ParseNode>> get(@Nonnull final Class<?> type) {
+        return tables.get(type);
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import jakarta.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The field names written by the serialization writers, encoded and escaped once. Only the names
+ * of the model properties are looked up here, the additional data keys come from the payloads and
+ * are encoded on each call; the limit guards against the models with generated property names.
+ */
+final class FieldNames {
+    private static final int MAX_CACHED_NAMES = 8192;
+    static final FieldNames shared = new FieldNames(MAX_CACHED_NAMES);
+
+    private final int maxCachedNames;
+    private final Map<String, SerializableString> names = new ConcurrentHashMap<>();
+
+    FieldNames(final int maxCachedNames) {
+        this.maxCachedNames = maxCachedNames;
+    }
+
+    /**
+     * @param name the field name.
+     * @return the encoded field name, from the table shared by the writers.
+     */
+    @Nonnull
+    static SerializableString get(@Nonnull final String name) {
+        return shared.encode(name);
+    }
+
+    /**
+     * @param name the field name.
+     * @return the encoded field name, cached while the table is below its limit.
+     */
+    @Nonnull
+    SerializableString encode(@Nonnull final String name) {
+        final SerializableString cached = names.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        final SerializableString encoded = new SerializedString(name);
+        if (names.size() < maxCachedNames) {
+            names.putIfAbsent(name, encoded);
+        }
+        return encoded;
+    }
+
+    /**
+     * @param name the field name.
+     * @return whether the encoded field name is cached.
+     */
+    boolean contains(@Nonnull final String name) {
+        return names.containsKey(name);
+    }
+
+    /**
+     * @return the number of cached field names.
+     */
+    int size() {
+        return names.size();
+    }
+}
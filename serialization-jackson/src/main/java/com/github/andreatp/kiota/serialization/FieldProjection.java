@@ -0,0 +1,105 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The fields of a payload to read, the other fields are skipped by the parser without building
+ * their nodes, so they are neither deserialized nor kept in the additional data.
+ * A path lists the field names from the root separated by dots, e.g. {@code value.manager.id};
+ * arrays are transparent, so the path applies to each of their elements. The whole value of the
+ * last field of a path is read.
+ */
+public final class FieldProjection {
+    private final Map<String, FieldProjection> fields;
+
+    private FieldProjection() {
+        this.fields = new HashMap<>();
+    }
+
+    /**
+     * @param paths the paths of the fields to read.
+     * @return the projection of the fields.
+     */
+    @Nonnull
+    public static FieldProjection of(@Nonnull final String... paths) {
+        Objects.requireNonNull(paths, "parameter paths cannot be null");
+        return of(Arrays.asList(paths));
+    }
+
+    /**
+     * @param paths the paths of the fields to read.
+     * @return the projection of the fields.
+     */
+    @Nonnull
+    public static FieldProjection of(@Nonnull final Collection<String> paths) {
+        Objects.requireNonNull(paths, "parameter paths cannot be null");
+        final FieldProjection root = new FieldProjection();
+        for (final String path : paths) {
+            if (path == null || path.isEmpty()) {
+                throw new IllegalArgumentException("the paths cannot be empty");
+            }
+            FieldProjection current = root;
+            for (final String field : path.split("\\.", -1)) {
+                if (field.isEmpty()) {
+                    throw new IllegalArgumentException("invalid path " + path);
+                }
+                current = current.fields.computeIfAbsent(field, key -> new FieldProjection());
+            }
+        }
+        return root;
+    }
+
+    /** @return whether the whole value is read. */
+    private boolean isLeaf() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Reads the current value of the parser, skipping the fields out of the projection.
+     * @param mapper the mapper building the nodes.
+     * @param parser the parser, positioned on the first token of the value.
+     * @return the value read, missing at the end of the input.
+     */
+    @Nonnull
+    JsonNode read(@Nonnull final ObjectMapper mapper, @Nonnull final JsonParser parser)
+            throws IOException {
+        final JsonToken token = parser.currentToken();
+        if (token == null) {
+            return mapper.missingNode();
+        } else if (isLeaf() || !token.isStructStart()) {
+            // the mapper builds the nodes of whole values, with its number settings
+            return mapper.readTree(parser);
+        } else if (token == JsonToken.START_ARRAY) {
+            final ArrayNode array = mapper.createArrayNode();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                array.add(read(mapper, parser));
+            }
+            return array;
+        } else {
+            final ObjectNode object = mapper.createObjectNode();
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+                final FieldProjection field = fields.get(name);
+                parser.nextToken();
+                if (field == null) {
+                    parser.skipChildren();
+                } else {
+                    object.set(name, field.read(mapper, parser));
+                }
+            }
+            return object;
+        }
+    }
+}
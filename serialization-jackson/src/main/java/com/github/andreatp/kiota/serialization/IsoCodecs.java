@@ -0,0 +1,301 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.Base64Variants;
+import jakarta.annotation.Nonnull;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Parses and formats the ISO-8601 dates and times, and the UUIDs, of the Json payloads.
+ * The common shapes are handled by hand, without the allocations of the {@link DateTimeFormatter}s.
+ * Anything else goes through the JDK, which keeps its results and errors.
+ */
+final class IsoCodecs {
+    /**
+     * The standard alphabet, padding written and optional when read, like {@link java.util.Base64}.
+     */
+    static final Base64Variant BASE64 =
+            Base64Variants.MIME_NO_LINEFEEDS.withReadPadding(
+                    Base64Variant.PaddingReadBehaviour.PADDING_ALLOWED);
+
+    /** Large enough for a date, a time with nanoseconds and an offset with seconds. */
+    static final int MAX_FORMATTED_LENGTH = 40;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private IsoCodecs() {}
+
+    @Nonnull
+    static LocalDate parseLocalDate(@Nonnull final String text) {
+        if (text.length() == 10) {
+            final LocalDate date = readDate(text);
+            if (date != null) {
+                return date;
+            }
+        }
+        return LocalDate.parse(text);
+    }
+
+    @Nonnull
+    static LocalTime parseLocalTime(@Nonnull final String text) {
+        final LocalTime time = readTime(text, 0, text.length());
+        return time == null ? LocalTime.parse(text) : time;
+    }
+
+    @Nonnull
+    static OffsetDateTime parseOffsetDateTime(@Nonnull final String text) {
+        final int length = text.length();
+        if (length > 16 && (text.charAt(10) == 'T' || text.charAt(10) == 't')) {
+            int offsetStart = 16;
+            while (offsetStart < length && !isOffsetStart(text.charAt(offsetStart))) {
+                offsetStart++;
+            }
+            final LocalDate date = readDate(text);
+            final LocalTime time = date == null ? null : readTime(text, 11, offsetStart);
+            final ZoneOffset offset = time == null ? null : readOffset(text, offsetStart);
+            if (offset != null) {
+                return OffsetDateTime.of(date, time, offset);
+            }
+        }
+        return OffsetDateTime.parse(text);
+    }
+
+    @Nonnull
+    static UUID parseUUID(@Nonnull final String text) {
+        if (text.length() == 36
+                && text.charAt(8) == '-'
+                && text.charAt(13) == '-'
+                && text.charAt(18) == '-'
+                && text.charAt(23) == '-') {
+            final long a = readHex(text, 0, 8);
+            final long b = readHex(text, 9, 13);
+            final long c = readHex(text, 14, 18);
+            final long d = readHex(text, 19, 23);
+            final long e = readHex(text, 24, 36);
+            if ((a | b | c | d | e) >= 0) {
+                return new UUID(a << 32 | b << 16 | c, d << 48 | e);
+            }
+        }
+        return UUID.fromString(text);
+    }
+
+    /**
+     * Formats like {@link DateTimeFormatter#ISO_LOCAL_DATE}.
+     * @return the length written, -1 when the year needs the JDK formatter.
+     */
+    static int formatLocalDate(@Nonnull final LocalDate value, @Nonnull final char[] buffer) {
+        return writeDate(value, buffer, 0);
+    }
+
+    /**
+     * Formats like {@link DateTimeFormatter#ISO_LOCAL_TIME}.
+     * @return the length written.
+     */
+    static int formatLocalTime(@Nonnull final LocalTime value, @Nonnull final char[] buffer) {
+        return writeTime(value, buffer, 0);
+    }
+
+    /**
+     * Formats like {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}.
+     * @return the length written, -1 when the year needs the JDK formatter.
+     */
+    static int formatOffsetDateTime(
+            @Nonnull final OffsetDateTime value, @Nonnull final char[] buffer) {
+        int position = writeDate(value.toLocalDate(), buffer, 0);
+        if (position < 0) {
+            return -1;
+        }
+        buffer[position++] = 'T';
+        position = writeTime(value.toLocalTime(), buffer, position);
+        // the ids of the offsets are Z or +HH:MM[:ss], as printed by the formatter
+        final String offset = value.getOffset().getId();
+        offset.getChars(0, offset.length(), buffer, position);
+        return position + offset.length();
+    }
+
+    /**
+     * Formats like {@link UUID#toString()}.
+     * @return the length written.
+     */
+    static int formatUUID(@Nonnull final UUID value, @Nonnull final char[] buffer) {
+        final long msb = value.getMostSignificantBits();
+        final long lsb = value.getLeastSignificantBits();
+        writeHex(msb >>> 32, 8, buffer, 0);
+        buffer[8] = '-';
+        writeHex(msb >>> 16, 4, buffer, 9);
+        buffer[13] = '-';
+        writeHex(msb, 4, buffer, 14);
+        buffer[18] = '-';
+        writeHex(lsb >>> 48, 4, buffer, 19);
+        buffer[23] = '-';
+        writeHex(lsb, 12, buffer, 24);
+        return 36;
+    }
+
+    private static boolean isOffsetStart(final char c) {
+        return c == 'Z' || c == 'z' || c == '+' || c == '-';
+    }
+
+    private static LocalDate readDate(final String text) {
+        if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        final int year = readDigits(text, 0, 4);
+        final int month = readDigits(text, 5, 7);
+        final int day = readDigits(text, 8, 10);
+        if ((year | month | day) < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException ex) {
+            return null;
+        }
+    }
+
+    private static LocalTime readTime(final String text, final int start, final int end) {
+        final int length = end - start;
+        if (length < 5 || text.charAt(start + 2) != ':') {
+            return null;
+        }
+        final int hour = readDigits(text, start, start + 2);
+        final int minute = readDigits(text, start + 3, start + 5);
+        int second = 0;
+        int nano = 0;
+        if (length > 5) {
+            if (length < 8 || text.charAt(start + 5) != ':') {
+                return null;
+            }
+            second = readDigits(text, start + 6, start + 8);
+            if (length > 8) {
+                final int digits = length - 9;
+                if (text.charAt(start + 8) != '.' || digits < 1 || digits > 9) {
+                    return null;
+                }
+                nano = readDigits(text, start + 9, end);
+                for (int i = digits; i < 9 && nano >= 0; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+        if ((hour | minute | second | nano) < 0) {
+            return null;
+        }
+        try {
+            return LocalTime.of(hour, minute, second, nano);
+        } catch (DateTimeException ex) {
+            return null;
+        }
+    }
+
+    private static ZoneOffset readOffset(final String text, final int start) {
+        final int length = text.length() - start;
+        if (length == 1 && (text.charAt(start) == 'Z' || text.charAt(start) == 'z')) {
+            return ZoneOffset.UTC;
+        }
+        if ((length != 6 && length != 9) || text.charAt(start + 3) != ':') {
+            return null;
+        }
+        final char sign = text.charAt(start);
+        final int hours = readDigits(text, start + 1, start + 3);
+        final int minutes = readDigits(text, start + 4, start + 6);
+        int seconds = 0;
+        if (length == 9) {
+            if (text.charAt(start + 6) != ':') {
+                return null;
+            }
+            seconds = readDigits(text, start + 7, start + 9);
+        }
+        if ((sign != '+' && sign != '-') || (hours | minutes | seconds) < 0) {
+            return null;
+        }
+        try {
+            return sign == '+'
+                    ? ZoneOffset.ofHoursMinutesSeconds(hours, minutes, seconds)
+                    : ZoneOffset.ofHoursMinutesSeconds(-hours, -minutes, -seconds);
+        } catch (DateTimeException ex) {
+            return null;
+        }
+    }
+
+    /** @return the value of the decimal digits, -1 when there is any other character. */
+    private static int readDigits(final String text, final int start, final int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /** @return the value of the hexadecimal digits, -1 when there is any other character. */
+    private static long readHex(final String text, final int start, final int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = Character.digit(text.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    private static int writeDate(final LocalDate value, final char[] buffer, final int start) {
+        final int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        int position = writeDigits(year, 4, buffer, start);
+        buffer[position++] = '-';
+        position = writeDigits(value.getMonthValue(), 2, buffer, position);
+        buffer[position++] = '-';
+        return writeDigits(value.getDayOfMonth(), 2, buffer, position);
+    }
+
+    private static int writeTime(final LocalTime value, final char[] buffer, final int start) {
+        int position = writeDigits(value.getHour(), 2, buffer, start);
+        buffer[position++] = ':';
+        position = writeDigits(value.getMinute(), 2, buffer, position);
+        buffer[position++] = ':';
+        position = writeDigits(value.getSecond(), 2, buffer, position);
+        int nano = value.getNano();
+        if (nano != 0) {
+            // the fraction is printed with as few digits as needed
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[position++] = '.';
+            position = writeDigits(nano, digits, buffer, position);
+        }
+        return position;
+    }
+
+    private static int writeDigits(
+            int value, final int digits, final char[] buffer, final int start) {
+        for (int i = start + digits - 1; i >= start; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return start + digits;
+    }
+
+    private static void writeHex(
+            long value, final int digits, final char[] buffer, final int start) {
+        for (int i = start + digits - 1; i >= start; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
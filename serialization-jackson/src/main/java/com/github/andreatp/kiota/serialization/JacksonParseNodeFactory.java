@@ -0,0 +1,157 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Creates new parse nodes from the payloads of a format supported by Jackson, the settings are
+ * shared by the Json, Smile, CBOR and newline delimited Json factories.
+ */
+public abstract class JacksonParseNodeFactory implements ParseNodeFactory {
+    private final String validContentType;
+    private final ObjectMapper mapper;
+
+    /**
+     * Creates a new factory for a format supported by Jackson.
+     * @param validContentType the content type of the format.
+     * @param mapper the mapper reading the payloads.
+     */
+    JacksonParseNodeFactory(
+            @Nonnull final String validContentType, @Nonnull final ObjectMapper mapper) {
+        this.validContentType = validContentType;
+        this.mapper = mapper;
+    }
+
+    private final ParallelParsing parallelParsing = new ParallelParsing();
+
+    /**
+     * The settings to deserialize large arrays of objects in parallel, disabled by default.
+     * @return the settings shared by the parse nodes created by this factory.
+     */
+    @Nonnull
+    public ParallelParsing getParallelParsing() {
+        return parallelParsing;
+    }
+
+    private volatile AdditionalDataPolicy additionalDataPolicy = AdditionalDataPolicy.JSON_NODES;
+
+    /**
+     * @return how the objects and arrays of the additional data are kept, {@link
+     *     AdditionalDataPolicy#JSON_NODES} by default.
+     */
+    @Nonnull
+    public AdditionalDataPolicy getAdditionalDataPolicy() {
+        return additionalDataPolicy;
+    }
+
+    /**
+     * Sets how the objects and arrays of the additional data are kept by the parse nodes created
+     * from now on.
+     * @param value the policy.
+     */
+    public void setAdditionalDataPolicy(@Nonnull final AdditionalDataPolicy value) {
+        additionalDataPolicy = Objects.requireNonNull(value, "parameter value cannot be null");
+    }
+
+    private volatile FieldProjection fieldProjection;
+
+    /** @return the fields read from the payloads, null when all the fields are read. */
+    @Nullable
+    public FieldProjection getFieldProjection() {
+        return fieldProjection;
+    }
+
+    /**
+     * Restricts the fields read from the payloads, e.g. for a factory dedicated to an endpoint.
+     * @param value the fields to read, null to read all the fields.
+     */
+    public void setFieldProjection(@Nullable final FieldProjection value) {
+        fieldProjection = value;
+    }
+
+    /** {@inheritDoc} */
+    @Nonnull
+    public String getValidContentType() {
+        return validContentType;
+    }
+
+    /**
+     * Reads the discriminator of a payload without building its nodes, so the class of a
+     * polymorphic response can be chosen before the payload is parsed once. The fields of the root
+     * object preceding the discriminator are skipped, the ones following it are not read.
+     * @param rawResponse the payload, supporting marks. It is reset to where it was, and left open.
+     * @param discriminator the name of the field, e.g. {@code @odata.type}.
+     * @return the text of the field in the root object, or in the first document of newline
+     *     delimited payloads. Null when the field is missing or not text, or the root is not an
+     *     object.
+     */
+    @Nullable
+    public String peekDiscriminator(
+            @Nonnull final InputStream rawResponse, @Nonnull final String discriminator) {
+        Objects.requireNonNull(rawResponse, "parameter rawResponse cannot be null");
+        Objects.requireNonNull(discriminator, "parameter discriminator cannot be null");
+        if (!rawResponse.markSupported()) {
+            throw new IllegalArgumentException("the payload must support marks");
+        }
+        // the parser reads ahead by blocks, the mark covers whatever it buffered
+        rawResponse.mark(Integer.MAX_VALUE);
+        try {
+            try (final JsonParser parser = mapper.createParser(rawResponse)) {
+                parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return null;
+                }
+                String name;
+                while ((name = parser.nextFieldName()) != null) {
+                    final JsonToken token = parser.nextToken();
+                    if (name.equals(discriminator)) {
+                        return token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    }
+                    parser.skipChildren();
+                }
+                return null;
+            } finally {
+                rawResponse.reset();
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("could not read the discriminator of the payload", ex);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public ParseNode getParseNode(
+            @Nonnull final String contentType, @Nonnull final InputStream rawResponse) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        Objects.requireNonNull(rawResponse, "parameter rawResponse cannot be null");
+        if (contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        } else if (!contentType.equals(validContentType)) {
+            throw new IllegalArgumentException("expected a " + validContentType + " content type");
+        }
+        final FieldProjection projection = fieldProjection;
+        // the bytes go straight to the parser, which decodes the text formats itself
+        try (rawResponse) {
+            if (projection == null) {
+                return new JsonParseNode(
+                        mapper.readTree(rawResponse), parallelParsing, additionalDataPolicy);
+            }
+            try (final JsonParser parser = mapper.createParser(rawResponse)) {
+                parser.nextToken();
+                return new JsonParseNode(
+                        projection.read(mapper, parser), parallelParsing, additionalDataPolicy);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("could not parse the payload", ex);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.github.andreatp.kiota.serialization;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 import com.microsoft.kiota.PeriodAndDuration;
 import com.microsoft.kiota.serialization.AdditionalDataHolder;
 import com.microsoft.kiota.serialization.Parsable;
@@ -9,45 +11,77 @@ import com.microsoft.kiota.serialization.ParseNode;
 import com.microsoft.kiota.serialization.ValuedEnumParser;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
-/** ParseNode implementation for JSON */
+/**
+ * ParseNode implementation for JSON.
+ * The node passed to the field deserializers and used for the elements of collections is reused
+ * for every field and element: it is only valid until the deserializer returns.
+ */
 public class JsonParseNode implements ParseNode {
-    private final JsonNode currentNode;
+    private JsonNode currentNode;
+    @Nullable private final ParallelParsing parallelParsing;
+    @Nonnull private final AdditionalDataPolicy additionalDataPolicy;
+    private JsonParseNode cursor;
+    private JsonNode memoizedNode;
+    private ParsableFactory<?> memoizedFactory;
+    private Parsable[] memoizedCollection;
+    private String memoizedDiscriminator;
+    // the last field looked up on this node, the discriminator when a factory creates its object
+    private String lookedUpField;
 
     /**
      * Creates a new instance of the JsonParseNode class.
      * @param node the node to wrap.
      */
     public JsonParseNode(@Nonnull final JsonNode node) {
+        this(node, null, AdditionalDataPolicy.JSON_NODES);
+    }
+
+    /**
+     * Creates a new instance of the JsonParseNode class.
+     * @param node the node to wrap.
+     * @param parallelParsing the settings to deserialize arrays of objects in parallel, if any.
+     * @param additionalDataPolicy how the objects and arrays of the additional data are kept.
+     */
+    JsonParseNode(
+            @Nonnull final JsonNode node,
+            @Nullable final ParallelParsing parallelParsing,
+            @Nonnull final AdditionalDataPolicy additionalDataPolicy) {
         currentNode = Objects.requireNonNull(node, "parameter node cannot be null");
+        this.parallelParsing = parallelParsing;
+        this.additionalDataPolicy =
+                Objects.requireNonNull(
+                        additionalDataPolicy, "parameter additionalDataPolicy cannot be null");
     }
 
     /** {@inheritDoc} */
     @Nullable
     public ParseNode getChildNode(@Nonnull final String identifier) {
         Objects.requireNonNull(identifier, "identifier parameter is required");
+        lookedUpField = identifier;
         if (currentNode.isObject()) {
-            final Consumer<Parsable> onBefore = this.onBeforeAssignFieldValues;
-            final Consumer<Parsable> onAfter = this.onAfterAssignFieldValues;
-            return new JsonParseNode(currentNode.get(identifier)) {
-                {
-                    this.setOnBeforeAssignFieldValues(onBefore);
-                    this.setOnAfterAssignFieldValues(onAfter);
-                }
-            };
+            final JsonNode child = currentNode.get(identifier);
+            return child == null ? null : createItemNode(child);
         } else return null;
     }
 
@@ -82,9 +116,14 @@ public class JsonParseNode implements ParseNode {
         return currentNode.isNumber() ? currentNode.decimalValue() : null;
     }
 
+    /**
+     * @return the integral number value of the node fitting an int, as {@link #getIntValue(int)}.
+     */
     @Nullable
     public Integer getIntegerValue() {
-        return currentNode.isInt() ? currentNode.intValue() : null;
+        return currentNode.isIntegralNumber() && currentNode.canConvertToInt()
+                ? currentNode.intValue()
+                : null;
     }
 
     @Nullable
@@ -98,20 +137,63 @@ public class JsonParseNode implements ParseNode {
         return null;
     }
 
+    /**
+     * @return the number value of the node, integral numbers included, as {@link
+     *     #getDoubleValue(double)}.
+     */
     @Nullable
     public Double getDoubleValue() {
-        return currentNode.isFloatingPointNumber() ? currentNode.doubleValue() : null;
+        return currentNode.isNumber() ? currentNode.doubleValue() : null;
     }
 
+    /**
+     * @return the integral number value of the node fitting a long, the numbers small enough to be
+     *     read as ints included, as {@link #getLongValue(long)}.
+     */
     @Nullable
     public Long getLongValue() {
-        return currentNode.isLong() ? currentNode.longValue() : null;
+        return currentNode.isIntegralNumber() && currentNode.canConvertToLong()
+                ? currentNode.longValue()
+                : null;
+    }
+
+    /**
+     * Gets the integral number value of the node without boxing.
+     * @param defaultValue the value returned when the node is not an integral number fitting an
+     *     int.
+     * @return the value of the node.
+     */
+    public int getIntValue(final int defaultValue) {
+        return currentNode.isIntegralNumber() && currentNode.canConvertToInt()
+                ? currentNode.intValue()
+                : defaultValue;
+    }
+
+    /**
+     * Gets the integral number value of the node without boxing.
+     * @param defaultValue the value returned when the node is not an integral number fitting a
+     *     long.
+     * @return the value of the node.
+     */
+    public long getLongValue(final long defaultValue) {
+        return currentNode.isIntegralNumber() && currentNode.canConvertToLong()
+                ? currentNode.longValue()
+                : defaultValue;
+    }
+
+    /**
+     * Gets the number value of the node without boxing.
+     * @param defaultValue the value returned when the node is not a number.
+     * @return the value of the node.
+     */
+    public double getDoubleValue(final double defaultValue) {
+        return currentNode.isNumber() ? currentNode.doubleValue() : defaultValue;
     }
 
     @Nullable
     public UUID getUUIDValue() {
         if (currentNode.isTextual() && !currentNode.isNull()) {
-            return UUID.fromString(currentNode.textValue());
+            return IsoCodecs.parseUUID(currentNode.textValue());
         }
         return null;
     }
@@ -119,7 +201,7 @@ public class JsonParseNode implements ParseNode {
     @Nullable
     public OffsetDateTime getOffsetDateTimeValue() {
         if (currentNode.isTextual() && !currentNode.isNull()) {
-            return OffsetDateTime.parse(currentNode.textValue());
+            return IsoCodecs.parseOffsetDateTime(currentNode.textValue());
         }
         return null;
     }
@@ -127,7 +209,7 @@ public class JsonParseNode implements ParseNode {
     @Nullable
     public LocalDate getLocalDateValue() {
         if (currentNode.isTextual() && !currentNode.isNull()) {
-            return LocalDate.parse(currentNode.textValue());
+            return IsoCodecs.parseLocalDate(currentNode.textValue());
         }
         return null;
     }
@@ -135,7 +217,7 @@ public class JsonParseNode implements ParseNode {
     @Nullable
     public LocalTime getLocalTimeValue() {
         if (currentNode.isTextual() && !currentNode.isNull()) {
-            return LocalTime.parse(currentNode.textValue());
+            return IsoCodecs.parseLocalTime(currentNode.textValue());
         }
         return null;
     }
@@ -149,37 +231,14 @@ public class JsonParseNode implements ParseNode {
     }
 
     @Nullable
+    @SuppressWarnings("unchecked")
     private <T> T getPrimitiveElement(
             @Nonnull final Class<T> targetClass, @Nonnull final JsonParseNode itemNode) {
-        if (targetClass == Boolean.class) {
-            return (T) itemNode.getBooleanValue();
-        } else if (targetClass == Short.class) {
-            return (T) itemNode.getShortValue();
-        } else if (targetClass == Byte.class) {
-            return (T) itemNode.getByteValue();
-        } else if (targetClass == BigDecimal.class) {
-            return (T) itemNode.getBigDecimalValue();
-        } else if (targetClass == String.class) {
-            return (T) itemNode.getStringValue();
-        } else if (targetClass == Integer.class) {
-            return (T) itemNode.getIntegerValue();
-        } else if (targetClass == Float.class) {
-            return (T) itemNode.getFloatValue();
-        } else if (targetClass == Long.class) {
-            return (T) itemNode.getLongValue();
-        } else if (targetClass == UUID.class) {
-            return (T) itemNode.getUUIDValue();
-        } else if (targetClass == OffsetDateTime.class) {
-            return (T) itemNode.getOffsetDateTimeValue();
-        } else if (targetClass == LocalDate.class) {
-            return (T) itemNode.getLocalDateValue();
-        } else if (targetClass == LocalTime.class) {
-            return (T) itemNode.getLocalTimeValue();
-        } else if (targetClass == PeriodAndDuration.class) {
-            return (T) itemNode.getPeriodAndDurationValue();
-        } else {
+        final Function<ParseNode, ?> reader = ValueTypes.getReader(targetClass);
+        if (reader == null) {
             throw new RuntimeException("unknown type to deserialize " + targetClass.getName());
         }
+        return (T) reader.apply(itemNode);
     }
 
     @Nullable
@@ -192,9 +251,7 @@ public class JsonParseNode implements ParseNode {
             List<T> result = new ArrayList<>();
             while (iter.hasNext()) {
                 JsonNode item = iter.next();
-                final JsonParseNode itemNode = new JsonParseNode(item);
-                itemNode.setOnBeforeAssignFieldValues(this.getOnBeforeAssignFieldValues());
-                itemNode.setOnAfterAssignFieldValues(this.getOnAfterAssignFieldValues());
+                final JsonParseNode itemNode = moveCursor(item);
                 result.add(getPrimitiveElement(targetClass, itemNode));
             }
             return result;
@@ -208,19 +265,159 @@ public class JsonParseNode implements ParseNode {
         if (currentNode.isNull()) {
             return null;
         } else if (currentNode.isArray()) {
-            Iterator<JsonNode> iter = currentNode.elements();
-            List<T> result = new ArrayList<>();
-            while (iter.hasNext()) {
-                JsonNode item = iter.next();
-                final JsonParseNode itemNode = new JsonParseNode(item);
-                itemNode.setOnBeforeAssignFieldValues(this.getOnBeforeAssignFieldValues());
-                itemNode.setOnAfterAssignFieldValues(this.getOnAfterAssignFieldValues());
-                result.add(itemNode.getObjectValue(factory));
+            final List<T> memoized = getMemoizedCollection(factory);
+            if (memoized != null) {
+                return memoized;
             }
+            final List<T> result;
+            // the factories of generated models look the same discriminator up for all the elements
+            final String[] discriminator = new String[1];
+            if (parallelParsing != null) {
+                result =
+                        parallelParsing.parse(
+                                currentNode.size(),
+                                i -> {
+                                    final JsonParseNode itemNode =
+                                            createItemNode(currentNode.get(i));
+                                    final T item = itemNode.getObjectValue(factory);
+                                    if (i == 0) {
+                                        discriminator[0] = itemNode.lookedUpField;
+                                    }
+                                    return item;
+                                });
+            } else {
+                Iterator<JsonNode> iter = currentNode.elements();
+                result = new ArrayList<>();
+                while (iter.hasNext()) {
+                    JsonNode item = iter.next();
+                    final JsonParseNode itemNode = moveCursor(item);
+                    result.add(itemNode.getObjectValue(factory));
+                    if (result.size() == 1) {
+                        discriminator[0] = itemNode.lookedUpField;
+                    }
+                }
+            }
+            memoizedNode = currentNode;
+            memoizedFactory = factory;
+            memoizedCollection = result.toArray(new Parsable[0]);
+            memoizedDiscriminator = discriminator[0];
             return result;
         } else return null;
     }
 
+    /**
+     * Composed type wrappers parse the same collection twice, once to test and once to assign.
+     * The last collection parsed is returned again when asked with the same factory, or with a
+     * factory creating the same classes, without deserializing the elements again. Factories only
+     * tell the classes apart by the discriminator, another factory is called once per discriminator
+     * value rather than for every element.
+     * @return a new list of the elements of the last collection parsed, the elements themselves are
+     *     shared with the lists returned before. Null when it does not match.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <T extends Parsable> List<T> getMemoizedCollection(
+            @Nonnull final ParsableFactory<T> factory) {
+        if (memoizedNode != currentNode) {
+            return null;
+        }
+        final Parsable[] memoized = memoizedCollection;
+        if (factory != memoizedFactory) {
+            final Set<JsonNode> checked = new HashSet<>();
+            for (int i = 0; i < memoized.length; i++) {
+                final JsonNode element = currentNode.get(i);
+                final JsonNode discriminator =
+                        memoizedDiscriminator == null ? null : element.get(memoizedDiscriminator);
+                if (!checked.add(discriminator)) {
+                    continue;
+                }
+                final JsonParseNode itemNode = moveCursor(element);
+                final Parsable created = factory.create(itemNode);
+                if (!Objects.equals(itemNode.lookedUpField, memoizedDiscriminator)
+                        || classOf(created) != classOf(memoized[i])) {
+                    return null;
+                }
+            }
+        }
+        final List<T> result = new ArrayList<>(memoized.length);
+        for (final Parsable item : memoized) {
+            result.add((T) item);
+        }
+        return result;
+    }
+
+    @Nullable
+    private static Class<?> classOf(@Nullable final Object item) {
+        return item == null ? null : item.getClass();
+    }
+
+    /**
+     * Gets the collection of integral numbers of the node without boxing the elements.
+     * @return the elements, null when the node is null.
+     */
+    @Nullable
+    public int[] getCollectionOfIntValues() {
+        if (currentNode.isNull()) {
+            return null;
+        }
+        final int[] result = new int[getArraySize()];
+        for (int i = 0; i < result.length; i++) {
+            final JsonNode item = currentNode.get(i);
+            if (!item.isIntegralNumber() || !item.canConvertToInt()) {
+                throw new RuntimeException("invalid state expected an int at index " + i);
+            }
+            result[i] = item.intValue();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the collection of integral numbers of the node without boxing the elements.
+     * @return the elements, null when the node is null.
+     */
+    @Nullable
+    public long[] getCollectionOfLongValues() {
+        if (currentNode.isNull()) {
+            return null;
+        }
+        final long[] result = new long[getArraySize()];
+        for (int i = 0; i < result.length; i++) {
+            final JsonNode item = currentNode.get(i);
+            if (!item.isIntegralNumber() || !item.canConvertToLong()) {
+                throw new RuntimeException("invalid state expected a long at index " + i);
+            }
+            result[i] = item.longValue();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the collection of numbers of the node without boxing the elements.
+     * @return the elements, null when the node is null.
+     */
+    @Nullable
+    public double[] getCollectionOfDoubleValues() {
+        if (currentNode.isNull()) {
+            return null;
+        }
+        final double[] result = new double[getArraySize()];
+        for (int i = 0; i < result.length; i++) {
+            final JsonNode item = currentNode.get(i);
+            if (!item.isNumber()) {
+                throw new RuntimeException("invalid state expected a number at index " + i);
+            }
+            result[i] = item.doubleValue();
+        }
+        return result;
+    }
+
+    private int getArraySize() {
+        if (!currentNode.isArray()) {
+            throw new RuntimeException("invalid state expected to have an array node");
+        }
+        return currentNode.size();
+    }
+
     @Nullable
     public <T extends Enum<T>> List<T> getCollectionOfEnumValues(
             @Nonnull final ValuedEnumParser<T> enumParser) {
@@ -232,9 +429,7 @@ public class JsonParseNode implements ParseNode {
             List<T> result = new ArrayList<>();
             while (iter.hasNext()) {
                 JsonNode item = iter.next();
-                final JsonParseNode itemNode = new JsonParseNode(item);
-                itemNode.setOnBeforeAssignFieldValues(this.getOnBeforeAssignFieldValues());
-                itemNode.setOnAfterAssignFieldValues(this.getOnAfterAssignFieldValues());
+                final JsonParseNode itemNode = moveCursor(item);
                 result.add(itemNode.getEnumValue(enumParser));
             }
             return result;
@@ -245,7 +440,7 @@ public class JsonParseNode implements ParseNode {
     public <T extends Parsable> T getObjectValue(@Nonnull final ParsableFactory<T> factory) {
         Objects.requireNonNull(factory, "parameter factory cannot be null");
         final T item = factory.create(this);
-        assignFieldValues(item, item.getFieldDeserializers());
+        assignFieldValues(item);
         return item;
     }
 
@@ -276,9 +471,13 @@ public class JsonParseNode implements ParseNode {
         return EnumSet.copyOf(result);
     }
 
-    private <T extends Parsable> void assignFieldValues(
-            final T item, final Map<String, Consumer<ParseNode>> fieldDeserializers) {
+    private <T extends Parsable> void assignFieldValues(final T item) {
         if (currentNode.isObject()) {
+            // the shared table avoids building the per instance map of the item
+            final Map<String, BiConsumer<Object, ParseNode>> sharedDeserializers =
+                    FieldDeserializers.get(item.getClass());
+            final Map<String, Consumer<ParseNode>> fieldDeserializers =
+                    sharedDeserializers == null ? item.getFieldDeserializers() : null;
             if (this.onBeforeAssignFieldValues != null) {
                 this.onBeforeAssignFieldValues.accept(item);
             }
@@ -290,15 +489,25 @@ public class JsonParseNode implements ParseNode {
             while (iter.hasNext()) {
                 Map.Entry<String, JsonNode> fieldEntry = iter.next();
                 final String fieldKey = fieldEntry.getKey();
-                final Consumer<ParseNode> fieldDeserializer = fieldDeserializers.get(fieldKey);
                 final JsonNode fieldValue = fieldEntry.getValue();
                 if (fieldValue.isNull()) continue;
-                if (fieldDeserializer != null) {
-                    JsonParseNode itemNode = new JsonParseNode(fieldValue);
-                    itemNode.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
-                    itemNode.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
-                    fieldDeserializer.accept(itemNode);
-                } else if (itemAdditionalData != null)
+                if (sharedDeserializers != null) {
+                    final BiConsumer<Object, ParseNode> fieldDeserializer =
+                            sharedDeserializers.get(fieldKey);
+                    if (fieldDeserializer != null) {
+                        fieldDeserializer.accept(item, moveCursor(fieldValue));
+                        continue;
+                    }
+                } else {
+                    final Consumer<ParseNode> fieldDeserializer = fieldDeserializers.get(fieldKey);
+                    if (fieldDeserializer != null) {
+                        fieldDeserializer.accept(moveCursor(fieldValue));
+                        continue;
+                    }
+                }
+                if (itemAdditionalData != null
+                        && !(fieldValue.isContainerNode()
+                                && additionalDataPolicy == AdditionalDataPolicy.DROP))
                     itemAdditionalData.put(fieldKey, this.tryGetAnything(fieldValue));
             }
             if (this.onAfterAssignFieldValues != null) {
@@ -307,20 +516,81 @@ public class JsonParseNode implements ParseNode {
         }
     }
 
+    @Nonnull
+    private JsonParseNode createItemNode(@Nonnull final JsonNode item) {
+        final JsonParseNode itemNode =
+                new JsonParseNode(item, parallelParsing, additionalDataPolicy);
+        itemNode.setOnBeforeAssignFieldValues(this.onBeforeAssignFieldValues);
+        itemNode.setOnAfterAssignFieldValues(this.onAfterAssignFieldValues);
+        return itemNode;
+    }
+
+    /**
+     * Repositions the node reused for the fields and elements of this node.
+     * @param item the field or element.
+     * @return the reused node, with the hooks of this node.
+     */
+    @Nonnull
+    private JsonParseNode moveCursor(@Nonnull final JsonNode item) {
+        if (cursor == null) {
+            cursor = createItemNode(item);
+        } else {
+            cursor.currentNode = item;
+            cursor.memoizedNode = null;
+            cursor.memoizedFactory = null;
+            cursor.memoizedCollection = null;
+            cursor.memoizedDiscriminator = null;
+            cursor.lookedUpField = null;
+            cursor.onBeforeAssignFieldValues = this.onBeforeAssignFieldValues;
+            cursor.onAfterAssignFieldValues = this.onAfterAssignFieldValues;
+        }
+        return cursor;
+    }
+
     private Object tryGetAnything(final JsonNode element) {
+        if (element.isContainerNode()) {
+            switch (additionalDataPolicy) {
+                case RAW_JSON:
+                    return RawJson.of(element);
+                case JAVA_VALUES:
+                    return toJavaValue(element);
+                default:
+                    return element;
+            }
+        }
+        return toJavaValue(element);
+    }
+
+    private static Object toJavaValue(final JsonNode element) {
         if (element.isNull()) return null;
-        else if (element.isValueNode()) {
-            if (element.isBoolean()) return element.booleanValue();
-            else if (element.isTextual()) return element.textValue();
-            else if (element.isFloatingPointNumber() && element.isFloat())
-                return element.floatValue();
-            else if (element.isFloatingPointNumber() && element.isDouble())
-                return element.doubleValue();
-            else
-                throw new RuntimeException(
-                        "Could not get the value during deserialization, unknown primitive type");
-        } else if (element.isObject() || element.isArray()) return element;
-        else {
+        else if (element.isBoolean()) return element.booleanValue();
+        else if (element.isTextual()) return element.textValue();
+        else if (element.isIntegralNumber()) {
+            if (element.canConvertToInt()) return element.intValue();
+            else if (element.canConvertToLong()) return element.longValue();
+            // decimals, as BigInteger has no serialization writer, are written back unchanged
+            else return element.decimalValue();
+        } else if (element.isFloat()) return element.floatValue();
+        else if (element.isDouble()) return element.doubleValue();
+        else if (element.isBigDecimal()) return element.decimalValue();
+        else if (element.isBinary()) return ((BinaryNode) element).binaryValue();
+        else if (element.isObject()) {
+            // sized for the fields, as the map is not modified afterwards
+            final Map<String, Object> fields =
+                    new LinkedHashMap<>((int) (element.size() / 0.75f) + 1);
+            final Iterator<Map.Entry<String, JsonNode>> iter = element.fields();
+            while (iter.hasNext()) {
+                final Map.Entry<String, JsonNode> field = iter.next();
+                fields.put(field.getKey(), toJavaValue(field.getValue()));
+            }
+            return Collections.unmodifiableMap(fields);
+        } else if (element.isArray()) {
+            final Object[] elements = new Object[element.size()];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = toJavaValue(element.get(i));
+            }
+            return Collections.unmodifiableList(Arrays.asList(elements));
+        } else {
             throw new RuntimeException(
                     "Could not get the value during deserialization, unknown primitive type");
         }
@@ -350,10 +620,18 @@ public class JsonParseNode implements ParseNode {
 
     @Nullable
     public byte[] getByteArrayValue() {
+        if (currentNode.isBinary()) {
+            // binary formats keep the bytes as they are
+            return ((BinaryNode) currentNode).binaryValue();
+        }
         final String base64 = this.getStringValue();
         if (base64 == null || base64.isEmpty()) {
             return null;
         }
-        return Base64.getDecoder().decode(base64);
+        try {
+            return ((TextNode) currentNode).getBinaryValue(IsoCodecs.BASE64);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("could not decode the base64 value", ex);
+        }
     }
 }
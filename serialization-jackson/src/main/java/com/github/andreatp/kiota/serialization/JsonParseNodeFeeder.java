@@ -0,0 +1,293 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.kiota.serialization.ParseNode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+/**
+ * Builds a Json parse node incrementally, while the payload arrives. The bytes are fed chunk by
+ * chunk, with {@link #feed(byte[], int, int)} from a network buffer or as a {@link
+ * Flow.Subscriber}, e.g. with
+ * {@code BodySubscribers.fromSubscriber(feeder, JsonParseNodeFeeder::getParseNode)} for the JDK
+ * HTTP client. Each chunk is parsed before returning, so parsing overlaps with the transfer. A
+ * feeder is meant to be used for a single payload and is not thread safe.
+ */
+public class JsonParseNodeFeeder implements Flow.Subscriber<List<ByteBuffer>> {
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    @Nullable private final ParallelParsing parallelParsing;
+    @Nonnull private final AdditionalDataPolicy additionalDataPolicy;
+    private final JsonNodeFactory nodeFactory = JsonMapper.mapper.getNodeFactory();
+    private final boolean bigDecimalForFloats =
+            JsonMapper.mapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private final boolean bigIntegerForInts =
+            JsonMapper.mapper.isEnabled(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS);
+    private final Deque<JsonNode> containers = new ArrayDeque<>();
+    private final Deque<String> fieldNames = new ArrayDeque<>();
+    private String fieldName;
+    private JsonNode root;
+    private boolean complete;
+    private RuntimeException failure;
+
+    /** Creates a new feeder. */
+    public JsonParseNodeFeeder() {
+        this(null, AdditionalDataPolicy.JSON_NODES);
+    }
+
+    JsonParseNodeFeeder(
+            @Nullable final ParallelParsing parallelParsing,
+            @Nonnull final AdditionalDataPolicy additionalDataPolicy) {
+        this.parallelParsing = parallelParsing;
+        this.additionalDataPolicy = additionalDataPolicy;
+        try {
+            parser = JsonMapper.mapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException ex) {
+            throw new RuntimeException("could not create the parser", ex);
+        }
+        feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Parses the next chunk of the payload.
+     * @param data the chunk, not modified nor retained after the call.
+     */
+    public void feed(@Nonnull final byte[] data) {
+        feed(data, 0, data.length);
+    }
+
+    /**
+     * Parses the next chunk of the payload.
+     * @param data the buffer containing the chunk, not modified nor retained after the call.
+     * @param offset the start of the chunk in the buffer.
+     * @param length the length of the chunk.
+     */
+    public void feed(@Nonnull final byte[] data, final int offset, final int length) {
+        Objects.requireNonNull(data, "parameter data cannot be null");
+        Objects.checkFromIndexSize(offset, length, data.length);
+        ensureOpen();
+        if (length == 0) {
+            return;
+        }
+        try {
+            feeder.feedInput(data, offset, offset + length);
+            parseAvailable();
+        } catch (IOException ex) {
+            throw fail(new RuntimeException("could not parse the payload", ex));
+        } catch (RuntimeException ex) {
+            throw fail(ex);
+        }
+    }
+
+    /**
+     * Parses the next chunk of the payload.
+     * @param data the chunk, consumed up to its limit.
+     */
+    public void feed(@Nonnull final ByteBuffer data) {
+        Objects.requireNonNull(data, "parameter data cannot be null");
+        if (data.hasArray()) {
+            feed(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            data.position(data.limit());
+        } else {
+            final byte[] copy = new byte[data.remaining()];
+            data.get(copy);
+            feed(copy);
+        }
+    }
+
+    /** Signals the payload is complete. */
+    public void endOfInput() {
+        ensureOpen();
+        try {
+            feeder.endOfInput();
+            parseAvailable();
+            parser.close();
+        } catch (IOException ex) {
+            throw fail(new RuntimeException("could not parse the payload", ex));
+        } catch (RuntimeException ex) {
+            throw fail(ex);
+        }
+        if (!containers.isEmpty()) {
+            throw fail(new RuntimeException("unexpected end of the payload"));
+        }
+        complete = true;
+    }
+
+    /**
+     * @return the parse node of the whole payload.
+     * @throws IllegalStateException when the end of the payload has not been signaled.
+     */
+    @Nonnull
+    public ParseNode getParseNode() {
+        if (failure != null) {
+            throw failure;
+        }
+        if (!complete) {
+            throw new IllegalStateException("the end of the payload has not been signaled");
+        }
+        return new JsonParseNode(
+                root == null ? MissingNode.getInstance() : root,
+                parallelParsing,
+                additionalDataPolicy);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onSubscribe(@Nonnull final Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onNext(@Nonnull final List<ByteBuffer> item) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            for (final ByteBuffer buffer : item) {
+                feed(buffer);
+            }
+        } catch (RuntimeException ex) {
+            // recorded as failure, surfaced by getParseNode
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onError(@Nonnull final Throwable throwable) {
+        if (failure == null) {
+            failure = new RuntimeException("could not receive the payload", throwable);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onComplete() {
+        if (failure == null && !complete) {
+            try {
+                endOfInput();
+            } catch (RuntimeException ex) {
+                // recorded as failure, surfaced by getParseNode
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (failure != null) {
+            throw failure;
+        }
+        if (complete) {
+            throw new IllegalStateException("the end of the payload has already been signaled");
+        }
+    }
+
+    private RuntimeException fail(final RuntimeException ex) {
+        failure = ex;
+        return ex;
+    }
+
+    private void parseAvailable() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT:
+                    push(nodeFactory.objectNode());
+                    break;
+                case START_ARRAY:
+                    push(nodeFactory.arrayNode());
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    fieldName = fieldNames.pop();
+                    final JsonNode container = containers.pop();
+                    add(container);
+                    break;
+                case FIELD_NAME:
+                    fieldName = parser.currentName();
+                    break;
+                case VALUE_STRING:
+                    add(nodeFactory.textNode(parser.getText()));
+                    break;
+                case VALUE_NUMBER_INT:
+                    add(intNode());
+                    break;
+                case VALUE_NUMBER_FLOAT:
+                    add(floatNode());
+                    break;
+                case VALUE_TRUE:
+                    add(nodeFactory.booleanNode(true));
+                    break;
+                case VALUE_FALSE:
+                    add(nodeFactory.booleanNode(false));
+                    break;
+                case VALUE_NULL:
+                    add(nodeFactory.nullNode());
+                    break;
+                default:
+                    throw new RuntimeException("unexpected token " + token);
+            }
+        }
+    }
+
+    private void push(final JsonNode container) {
+        if (containers.isEmpty() && root != null) {
+            throw new RuntimeException("unexpected content after the root value");
+        }
+        // ArrayDeque does not accept null elements, top level values have an empty field name
+        fieldNames.push(fieldName == null ? "" : fieldName);
+        fieldName = null;
+        containers.push(container);
+    }
+
+    private void add(final JsonNode value) {
+        final JsonNode parent = containers.peek();
+        if (parent == null) {
+            if (root != null) {
+                throw new RuntimeException("unexpected content after the root value");
+            }
+            root = value;
+        } else if (parent.isObject()) {
+            ((ObjectNode) parent).set(fieldName, value);
+        } else {
+            ((ArrayNode) parent).add(value);
+        }
+        fieldName = null;
+    }
+
+    private JsonNode intNode() throws IOException {
+        final JsonParser.NumberType numberType = parser.getNumberType();
+        if (bigIntegerForInts || numberType == JsonParser.NumberType.BIG_INTEGER) {
+            return nodeFactory.numberNode(parser.getBigIntegerValue());
+        } else if (numberType == JsonParser.NumberType.INT) {
+            return nodeFactory.numberNode(parser.getIntValue());
+        } else {
+            return nodeFactory.numberNode(parser.getLongValue());
+        }
+    }
+
+    private JsonNode floatNode() throws IOException {
+        final JsonParser.NumberType numberType = parser.getNumberType();
+        if (numberType == JsonParser.NumberType.BIG_DECIMAL || bigDecimalForFloats) {
+            return nodeFactory.numberNode(parser.getDecimalValue());
+        } else if (numberType == JsonParser.NumberType.FLOAT) {
+            return nodeFactory.numberNode(parser.getFloatValue());
+        } else {
+            return nodeFactory.numberNode(parser.getDoubleValue());
+        }
+    }
+}
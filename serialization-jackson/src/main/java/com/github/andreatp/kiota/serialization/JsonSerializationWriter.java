@@ -2,6 +2,8 @@ package com.github.andreatp.kiota.serialization;
 
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.kiota.PeriodAndDuration;
 import com.microsoft.kiota.serialization.ComposedTypeWrapper;
 import com.microsoft.kiota.serialization.Parsable;
@@ -13,13 +15,11 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Base64;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
@@ -35,25 +35,40 @@ import java.util.stream.Stream;
 public class JsonSerializationWriter implements SerializationWriter {
     private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
     private final JsonGenerator generator;
+    // formats the dates, times and UUIDs without intermediate strings
+    private final char[] buffer = new char[IsoCodecs.MAX_FORMATTED_LENGTH];
+    // the additional data being written, its keys come from the payloads and are not cached
+    private int additionalDataDepth;
 
     /** Creates a new instance of a json serialization writer */
     public JsonSerializationWriter() {
+        this(JsonMapper.mapper);
+    }
+
+    /**
+     * Creates a new instance of a serialization writer for a format supported by Jackson.
+     * @param mapper the mapper creating the generator.
+     */
+    JsonSerializationWriter(@Nonnull final ObjectMapper mapper) {
         try {
-            this.generator =
-                    JsonMapper.mapper.writer().createGenerator(this.stream, JsonEncoding.UTF8);
+            this.generator = mapper.writer().createGenerator(this.stream, JsonEncoding.UTF8);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    @Nonnull
+    JsonGenerator getGenerator() {
+        return generator;
+    }
+
     public void writeStringValue(@Nullable final String key, @Nullable final String value) {
         if (value != null)
             try {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, value);
-                } else {
-                    generator.writeString(value);
+                    writeFieldName(key);
                 }
+                generator.writeString(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -63,10 +78,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeBooleanField(key, value);
-                } else {
-                    generator.writeBoolean(value);
+                    writeFieldName(key);
                 }
+                generator.writeBoolean(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -76,10 +90,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
+                    writeFieldName(key);
                 }
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -89,10 +102,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
+                    writeFieldName(key);
                 }
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -102,10 +114,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
+                    writeFieldName(key);
                 }
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -115,10 +126,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
+                    writeFieldName(key);
                 }
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -128,10 +138,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
+                    writeFieldName(key);
                 }
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -141,10 +150,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
+                    writeFieldName(key);
                 }
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -154,10 +162,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeNumberField(key, value);
-                } else {
-                    generator.writeNumber(value);
+                    writeFieldName(key);
                 }
+                generator.writeNumber(value);
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -167,10 +174,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, value.toString());
-                } else {
-                    generator.writeString(value.toString());
+                    writeFieldName(key);
                 }
+                generator.writeString(buffer, 0, IsoCodecs.formatUUID(value, buffer));
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -180,11 +186,14 @@ public class JsonSerializationWriter implements SerializationWriter {
             @Nullable final String key, @Nullable final OffsetDateTime value) {
         if (value != null)
             try {
-                String date = value.format(DateTimeFormatter.ISO_ZONED_DATE_TIME);
                 if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, date);
+                    writeFieldName(key);
+                }
+                final int length = IsoCodecs.formatOffsetDateTime(value, buffer);
+                if (length < 0) {
+                    generator.writeString(value.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
                 } else {
-                    generator.writeString(date);
+                    generator.writeString(buffer, 0, length);
                 }
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
@@ -194,11 +203,14 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeLocalDateValue(@Nullable final String key, @Nullable final LocalDate value) {
         if (value != null)
             try {
-                String date = value.format(DateTimeFormatter.ISO_LOCAL_DATE);
                 if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, date);
+                    writeFieldName(key);
+                }
+                final int length = IsoCodecs.formatLocalDate(value, buffer);
+                if (length < 0) {
+                    generator.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE));
                 } else {
-                    generator.writeString(date);
+                    generator.writeString(buffer, 0, length);
                 }
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
@@ -208,12 +220,10 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeLocalTimeValue(@Nullable final String key, @Nullable final LocalTime value) {
         if (value != null)
             try {
-                String date = value.format(DateTimeFormatter.ISO_LOCAL_TIME);
                 if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, date);
-                } else {
-                    generator.writeString(date);
+                    writeFieldName(key);
                 }
+                generator.writeString(buffer, 0, IsoCodecs.formatLocalTime(value, buffer));
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -224,10 +234,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         if (value != null)
             try {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeStringField(key, value.toString());
-                } else {
-                    generator.writeString(value.toString());
+                    writeFieldName(key);
                 }
+                generator.writeString(value.toString());
             } catch (IOException ex) {
                 throw new RuntimeException("could not serialize value", ex);
             }
@@ -238,10 +247,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         try {
             if (values != null) { // empty array is meaningful
                 if (key != null && !key.isEmpty()) {
-                    generator.writeStartArray(key);
-                } else {
-                    generator.writeStartArray();
+                    writeFieldName(key);
                 }
+                generator.writeStartArray();
                 for (final T t : values) {
                     this.writeAnyValue(null, t);
                 }
@@ -252,15 +260,68 @@ public class JsonSerializationWriter implements SerializationWriter {
         }
     }
 
+    /**
+     * Writes a collection of ints without boxing the elements.
+     * @param key the key of the collection, null or empty for a collection element.
+     * @param values the values, nothing is written when null.
+     */
+    public void writeCollectionOfIntValues(
+            @Nullable final String key, @Nullable final int[] values) {
+        if (values != null)
+            try {
+                if (key != null && !key.isEmpty()) {
+                    writeFieldName(key);
+                }
+                generator.writeArray(values, 0, values.length);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+
+    /**
+     * Writes a collection of longs without boxing the elements.
+     * @param key the key of the collection, null or empty for a collection element.
+     * @param values the values, nothing is written when null.
+     */
+    public void writeCollectionOfLongValues(
+            @Nullable final String key, @Nullable final long[] values) {
+        if (values != null)
+            try {
+                if (key != null && !key.isEmpty()) {
+                    writeFieldName(key);
+                }
+                generator.writeArray(values, 0, values.length);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+
+    /**
+     * Writes a collection of doubles without boxing the elements.
+     * @param key the key of the collection, null or empty for a collection element.
+     * @param values the values, nothing is written when null.
+     */
+    public void writeCollectionOfDoubleValues(
+            @Nullable final String key, @Nullable final double[] values) {
+        if (values != null)
+            try {
+                if (key != null && !key.isEmpty()) {
+                    writeFieldName(key);
+                }
+                generator.writeArray(values, 0, values.length);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
+    }
+
     public <T extends Parsable> void writeCollectionOfObjectValues(
             @Nullable final String key, @Nullable final Iterable<T> values) {
         try {
             if (values != null) { // empty array is meaningful
                 if (key != null && !key.isEmpty()) {
-                    generator.writeStartArray(key);
-                } else {
-                    generator.writeStartArray();
+                    writeFieldName(key);
                 }
+                generator.writeStartArray();
                 for (final T t : values) {
                     this.writeObjectValue(null, t);
                 }
@@ -276,10 +337,9 @@ public class JsonSerializationWriter implements SerializationWriter {
         try {
             if (values != null) { // empty array is meaningful
                 if (key != null && !key.isEmpty()) {
-                    generator.writeStartArray(key);
-                } else {
-                    generator.writeStartArray();
+                    writeFieldName(key);
                 }
+                generator.writeStartArray();
                 for (final T t : values) {
                     this.writeEnumValue(null, t);
                 }
@@ -302,7 +362,7 @@ public class JsonSerializationWriter implements SerializationWriter {
                             .collect(Collectors.toList());
             if (value != null || !nonNullAdditionalValuesToMerge.isEmpty()) {
                 if (key != null && !key.isEmpty()) {
-                    generator.writeStartObject(key);
+                    writeFieldName(key);
                 }
                 if (onBeforeObjectSerialization != null && value != null) {
                     onBeforeObjectSerialization.accept(value);
@@ -367,15 +427,22 @@ public class JsonSerializationWriter implements SerializationWriter {
     public void writeNullValue(@Nullable final String key) {
         try {
             if (key != null && !key.isEmpty()) {
-                generator.writeNullField(key);
-            } else {
-                generator.writeNull();
+                writeFieldName(key);
             }
+            generator.writeNull();
         } catch (IOException ex) {
             throw new RuntimeException("could not serialize value", ex);
         }
     }
 
+    private void writeFieldName(@Nonnull final String key) throws IOException {
+        if (additionalDataDepth > 0) {
+            generator.writeFieldName(key);
+        } else {
+            generator.writeFieldName(FieldNames.get(key));
+        }
+    }
+
     private <T extends Enum<T>> String getStringValueFromValuedEnum(final T value) {
         if (value instanceof ValuedEnum) {
             final ValuedEnum valued = (ValuedEnum) value;
@@ -404,53 +471,75 @@ public class JsonSerializationWriter implements SerializationWriter {
 
     public void writeAdditionalData(@Nonnull final Map<String, Object> value) {
         if (value == null) return;
-        for (final Map.Entry<String, Object> dataValue : value.entrySet()) {
-            this.writeAnyValue(dataValue.getKey(), dataValue.getValue());
+        additionalDataDepth++;
+        try {
+            for (final Map.Entry<String, Object> dataValue : value.entrySet()) {
+                this.writeAnyValue(dataValue.getKey(), dataValue.getValue());
+            }
+        } finally {
+            additionalDataDepth--;
         }
     }
 
     private void writeNonParsableObject(@Nullable final String key, @Nullable final Object value) {
         try {
             if (value == null) writeNullValue(key);
-            else {
+            else if (value instanceof JsonNode) {
+                // objects and arrays of the additional data are kept as Json trees when parsing
                 if (key != null && !key.isEmpty()) {
-                    generator.writeStartObject(key);
-                } else {
-                    generator.writeStartObject();
+                    writeFieldName(key);
+                }
+                generator.writeTree((JsonNode) value);
+            } else {
+                if (key != null && !key.isEmpty()) {
+                    writeFieldName(key);
+                }
+                generator.writeStartObject();
+                additionalDataDepth++;
+                try {
+                    if (value instanceof Map<?, ?>) {
+                        for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+                            writeAnyValue(String.valueOf(entry.getKey()), entry.getValue());
+                    } else {
+                        for (final PropertyAccessors.PropertyAccessor accessor :
+                                PropertyAccessors.of(value.getClass()))
+                            writeAnyValue(accessor.getName(), accessor.get(value));
+                    }
+                } finally {
+                    additionalDataDepth--;
                 }
-                final Class<?> valueClass = value.getClass();
-                for (final Field oProp : valueClass.getFields())
-                    writeAnyValue(oProp.getName(), oProp.get(value));
                 generator.writeEndObject();
             }
-        } catch (IOException | IllegalAccessException ex) {
+        } catch (IOException ex) {
             throw new RuntimeException("could not serialize value", ex);
         }
     }
 
-    private void writeAnyValue(@Nullable final String key, @Nullable final Object value) {
+    private void writeRawJson(@Nullable final String key, @Nonnull final RawJson value) {
+        try {
+            if (key != null && !key.isEmpty()) {
+                writeFieldName(key);
+            }
+            if (generator.canWriteBinaryNatively()) {
+                // binary formats have no raw text values, the value is converted
+                generator.writeTree(value.toJsonNode());
+            } else {
+                generator.writeRawValue(value.toString());
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("could not serialize value", ex);
+        }
+    }
+
+    void writeAnyValue(@Nullable final String key, @Nullable final Object value) {
         if (value == null) {
             this.writeNullValue(key);
         } else {
             final Class<?> valueClass = value.getClass();
-            if (valueClass.equals(String.class)) this.writeStringValue(key, (String) value);
-            else if (valueClass.equals(Boolean.class)) this.writeBooleanValue(key, (Boolean) value);
-            else if (valueClass.equals(Byte.class)) this.writeByteValue(key, (Byte) value);
-            else if (valueClass.equals(Short.class)) this.writeShortValue(key, (Short) value);
-            else if (valueClass.equals(BigDecimal.class))
-                this.writeBigDecimalValue(key, (BigDecimal) value);
-            else if (valueClass.equals(Float.class)) this.writeFloatValue(key, (Float) value);
-            else if (valueClass.equals(Long.class)) this.writeLongValue(key, (Long) value);
-            else if (valueClass.equals(Integer.class)) this.writeIntegerValue(key, (Integer) value);
-            else if (valueClass.equals(UUID.class)) this.writeUUIDValue(key, (UUID) value);
-            else if (valueClass.equals(OffsetDateTime.class))
-                this.writeOffsetDateTimeValue(key, (OffsetDateTime) value);
-            else if (valueClass.equals(LocalDate.class))
-                this.writeLocalDateValue(key, (LocalDate) value);
-            else if (valueClass.equals(LocalTime.class))
-                this.writeLocalTimeValue(key, (LocalTime) value);
-            else if (valueClass.equals(PeriodAndDuration.class))
-                this.writePeriodAndDurationValue(key, (PeriodAndDuration) value);
+            final ValueTypes.ValueWriter<Object> writer = ValueTypes.getWriter(valueClass);
+            if (writer != null) writer.write(this, key, value);
+            else if (value instanceof JsonNode) this.writeNonParsableObject(key, value);
+            else if (value instanceof RawJson) this.writeRawJson(key, (RawJson) value);
             else if (value instanceof Iterable<?>)
                 this.writeCollectionOfPrimitiveValues(key, (Iterable<?>) value);
             else if (!valueClass.isPrimitive()) this.writeNonParsableObject(key, value);
@@ -493,6 +582,14 @@ public class JsonSerializationWriter implements SerializationWriter {
     }
 
     public void writeByteArrayValue(@Nullable final String key, @Nullable final byte[] value) {
-        if (value != null) this.writeStringValue(key, Base64.getEncoder().encodeToString(value));
+        if (value != null)
+            try {
+                if (key != null && !key.isEmpty()) {
+                    writeFieldName(key);
+                }
+                generator.writeBinary(IsoCodecs.BASE64, value, 0, value.length);
+            } catch (IOException ex) {
+                throw new RuntimeException("could not serialize value", ex);
+            }
     }
 }
@@ -1,5 +1,6 @@
 package com.github.andreatp.kiota.serialization;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.kiota.serialization.SerializationWriter;
 import com.microsoft.kiota.serialization.SerializationWriterFactory;
 import jakarta.annotation.Nonnull;
@@ -7,8 +8,24 @@ import java.util.Objects;
 
 /** Creates new Json serialization writers. */
 public class JsonSerializationWriterFactory implements SerializationWriterFactory {
+    private final String validContentType;
+    private final ObjectMapper mapper;
+
     /** Creates a new factory */
-    public JsonSerializationWriterFactory() {}
+    public JsonSerializationWriterFactory() {
+        this("application/json", JsonMapper.mapper);
+    }
+
+    /**
+     * Creates a new factory for a format supported by Jackson.
+     * @param validContentType the content type of the format.
+     * @param mapper the mapper creating the generators.
+     */
+    JsonSerializationWriterFactory(
+            @Nonnull final String validContentType, @Nonnull final ObjectMapper mapper) {
+        this.validContentType = validContentType;
+        this.mapper = mapper;
+    }
 
     /** {@inheritDoc} */
     @Nonnull
@@ -16,8 +33,6 @@ public class JsonSerializationWriterFactory implements SerializationWriterFactor
         return validContentType;
     }
 
-    private static final String validContentType = "application/json";
-
     /** {@inheritDoc} */
     @Override
     @Nonnull
@@ -28,6 +43,6 @@ public class JsonSerializationWriterFactory implements SerializationWriterFactor
         } else if (!contentType.equals(validContentType)) {
             throw new IllegalArgumentException("expected a " + validContentType + " content type");
         }
-        return new JsonSerializationWriter();
+        return new JsonSerializationWriter(mapper);
     }
 }
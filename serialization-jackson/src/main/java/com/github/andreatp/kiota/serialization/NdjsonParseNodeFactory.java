@@ -0,0 +1,137 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.microsoft.kiota.serialization.ParseNode;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Creates parse nodes from newline delimited Json payloads, also known as Json Lines.
+ * {@link #getParseNode} reads the whole payload as an array of its documents, for the generated
+ * clients. {@link #getParseNodes} reads the documents one at a time, in constant memory. The
+ * {@link #setFieldProjection field projection} applies to each document.
+ */
+public class NdjsonParseNodeFactory extends JacksonParseNodeFactory {
+    /** Creates a new factory */
+    public NdjsonParseNodeFactory() {
+        super("application/x-ndjson", JsonMapper.mapper);
+    }
+
+    /**
+     * Reads all the documents of the payload.
+     * @return a parse node of the array of the documents.
+     */
+    @Override
+    @Nonnull
+    public ParseNode getParseNode(
+            @Nonnull final String contentType, @Nonnull final InputStream rawResponse) {
+        final ArrayNode documents = JsonMapper.mapper.createArrayNode();
+        try (final Stream<JsonNode> nodes = readDocuments(contentType, rawResponse)) {
+            nodes.forEach(documents::add);
+        }
+        return new JsonParseNode(documents, getParallelParsing(), getAdditionalDataPolicy());
+    }
+
+    /**
+     * Reads the documents of the payload lazily, each one is parsed when the stream reaches it.
+     * The stream must be closed to release the payload.
+     * @param contentType the content type of the payload.
+     * @param rawResponse the payload.
+     * @return the parse nodes of the documents, in order.
+     */
+    @Nonnull
+    public Stream<ParseNode> getParseNodes(
+            @Nonnull final String contentType, @Nonnull final InputStream rawResponse) {
+        final ParallelParsing parallelParsing = getParallelParsing();
+        final AdditionalDataPolicy additionalDataPolicy = getAdditionalDataPolicy();
+        return readDocuments(contentType, rawResponse)
+                .map(node -> new JsonParseNode(node, parallelParsing, additionalDataPolicy));
+    }
+
+    private Stream<JsonNode> readDocuments(
+            @Nonnull final String contentType, @Nonnull final InputStream rawResponse) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        Objects.requireNonNull(rawResponse, "parameter rawResponse cannot be null");
+        if (contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        } else if (!contentType.equals(getValidContentType())) {
+            throw new IllegalArgumentException(
+                    "expected a " + getValidContentType() + " content type");
+        }
+        final FieldProjection projection = getFieldProjection();
+        final JsonParser parser;
+        try {
+            // the root values are read one by one, the parser does not require a separator
+            parser = JsonMapper.mapper.createParser(rawResponse);
+        } catch (IOException ex) {
+            closeQuietly(rawResponse, ex);
+            throw new RuntimeException("could not parse the payload", ex);
+        }
+        final Iterator<JsonNode> iterator =
+                new Iterator<>() {
+                    private boolean advanced;
+                    private JsonToken token;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (!advanced) {
+                            try {
+                                token = parser.nextToken();
+                            } catch (IOException ex) {
+                                throw new RuntimeException("could not parse the payload", ex);
+                            }
+                            advanced = true;
+                        }
+                        return token != null;
+                    }
+
+                    @Override
+                    public JsonNode next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        advanced = false;
+                        try {
+                            // each document goes through the projection, as a whole payload would
+                            return projection == null
+                                    ? JsonMapper.mapper.readTree(parser)
+                                    : projection.read(JsonMapper.mapper, parser);
+                        } catch (IOException ex) {
+                            throw new RuntimeException("could not parse the payload", ex);
+                        }
+                    }
+                };
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(
+                                iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(
+                        () -> {
+                            try {
+                                parser.close();
+                                rawResponse.close();
+                            } catch (IOException ex) {
+                                throw new RuntimeException("could not close the payload", ex);
+                            }
+                        });
+    }
+
+    private static void closeQuietly(final InputStream rawResponse, final IOException cause) {
+        try {
+            rawResponse.close();
+        } catch (IOException ex) {
+            cause.addSuppressed(ex);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.microsoft.kiota.serialization.Parsable;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+/**
+ * Serialization writer for newline delimited Json.
+ * The elements of the collections written without a key at the top level are written as one
+ * document per line, any other value is written as in Json.
+ */
+public class NdjsonSerializationWriter extends JsonSerializationWriter {
+    private static final byte[] lineSeparator = {'\n'};
+
+    /** Creates a new instance of a newline delimited json serialization writer */
+    public NdjsonSerializationWriter() {
+        super(JsonMapper.mapper);
+        getGenerator().setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public <T extends Parsable> void writeCollectionOfObjectValues(
+            @Nullable final String key, @Nullable final Iterable<T> values) {
+        if (values != null && isDocuments(key)) {
+            for (final T value : values) {
+                writeObjectValue(null, value);
+            }
+        } else {
+            super.writeCollectionOfObjectValues(key, values);
+        }
+    }
+
+    @Override
+    public <T> void writeCollectionOfPrimitiveValues(
+            @Nullable final String key, @Nullable final Iterable<T> values) {
+        if (values != null && isDocuments(key)) {
+            for (final T value : values) {
+                writeAnyValue(null, value);
+            }
+        } else {
+            super.writeCollectionOfPrimitiveValues(key, values);
+        }
+    }
+
+    /** @return the documents, each one terminated by a new line. */
+    @Override
+    @Nonnull
+    public InputStream getSerializedContent() {
+        final InputStream content = super.getSerializedContent();
+        if (getGenerator().getOutputContext().getEntryCount() == 0) {
+            return content;
+        }
+        return new SequenceInputStream(content, new ByteArrayInputStream(lineSeparator));
+    }
+
+    private boolean isDocuments(@Nullable final String key) {
+        return (key == null || key.isEmpty()) && getGenerator().getOutputContext().inRoot();
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.microsoft.kiota.serialization.SerializationWriter;
+import jakarta.annotation.Nonnull;
+import java.util.Objects;
+
+/** Creates new newline delimited Json serialization writers. */
+public class NdjsonSerializationWriterFactory extends JsonSerializationWriterFactory {
+    /** Creates a new factory */
+    public NdjsonSerializationWriterFactory() {
+        super("application/x-ndjson", JsonMapper.mapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public SerializationWriter getSerializationWriter(@Nonnull final String contentType) {
+        Objects.requireNonNull(contentType, "parameter contentType cannot be null");
+        if (contentType.isEmpty()) {
+            throw new NullPointerException("contentType cannot be empty");
+        } else if (!contentType.equals(getValidContentType())) {
+            throw new IllegalArgumentException(
+                    "expected a " + getValidContentType() + " content type");
+        }
+        return new NdjsonSerializationWriter();
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.andreatp.kiota.serialization;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Settings to deserialize large arrays of objects in parallel.
+ * When enabled, arrays with at least the configured number of elements are split in chunks
+ * deserialized on a fork/join pool, the resulting list keeps the order of the array.
+ * The assign field values hooks are still called for each element, but from the pool threads.
+ */
+public class ParallelParsing {
+    private volatile Settings settings;
+    @Nullable private volatile Supplier<UnaryOperator<Runnable>> contextCapture;
+
+    /** Creates new settings, with parallel parsing disabled. */
+    public ParallelParsing() {}
+
+    /**
+     * Deserializes in parallel the arrays of objects on the common pool.
+     * @param minElements the minimum number of elements for an array to be deserialized in
+     *     parallel.
+     * @param chunkSize the number of elements deserialized by a single task.
+     */
+    public void enable(final int minElements, final int chunkSize) {
+        enable(minElements, chunkSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Deserializes in parallel the arrays of objects.
+     * @param minElements the minimum number of elements for an array to be deserialized in
+     *     parallel.
+     * @param chunkSize the number of elements deserialized by a single task.
+     * @param pool the pool running the tasks.
+     */
+    public void enable(
+            final int minElements, final int chunkSize, @Nonnull final ForkJoinPool pool) {
+        if (minElements <= 0) {
+            throw new IllegalArgumentException("minElements must be greater than 0");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+        if (pool == null) {
+            throw new NullPointerException("parameter pool cannot be null");
+        }
+        settings = new Settings(minElements, chunkSize, pool);
+    }
+
+    /** Deserializes all the arrays on the calling thread. */
+    public void disable() {
+        settings = null;
+    }
+
+    public boolean isEnabled() {
+        return settings != null;
+    }
+
+    /**
+     * @return the minimum number of elements of the arrays deserialized in parallel, -1 when
+     *     disabled.
+     */
+    public int getMinElements() {
+        final Settings current = settings;
+        return current == null ? -1 : current.minElements;
+    }
+
+    /** @return the number of elements deserialized by a single task, -1 when disabled. */
+    public int getChunkSize() {
+        final Settings current = settings;
+        return current == null ? -1 : current.chunkSize;
+    }
+
+    @Nullable
+    public ForkJoinPool getPool() {
+        final Settings current = settings;
+        return current == null ? null : current.pool;
+    }
+
+    /**
+     * Carries state bound to the thread parsing an array to the pool threads, as the backing store
+     * factory an http adapter scopes to its thread with {@code ScopedBackingStoreFactory::capture}.
+     * @param contextCapture called on the thread parsing the array before the elements are split in
+     *     chunks, returns a wrapper running a chunk with the captured state. Null to carry nothing.
+     */
+    public void setContextCapture(
+            @Nullable final Supplier<UnaryOperator<Runnable>> contextCapture) {
+        this.contextCapture = contextCapture;
+    }
+
+    @Nullable
+    public Supplier<UnaryOperator<Runnable>> getContextCapture() {
+        return contextCapture;
+    }
+
+    /**
+     * Deserializes the elements of an array, in parallel when the array is large enough.
+     * @param size the number of elements.
+     * @param element deserializes the element at the given index.
+     * @return the elements in order.
+     */
+    @Nonnull
+    <T> List<T> parse(final int size, @Nonnull final IntFunction<T> element) {
+        final Settings current = settings;
+        if (current == null || size < current.minElements) {
+            final List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(element.apply(i));
+            }
+            return result;
+        }
+        final Supplier<UnaryOperator<Runnable>> capture = contextCapture;
+        final UnaryOperator<Runnable> context =
+                capture == null ? UnaryOperator.identity() : capture.get();
+        final Object[] result = new Object[size];
+        current.pool.invoke(new ParseChunk(result, element, 0, size, current.chunkSize, context));
+        @SuppressWarnings("unchecked")
+        final List<T> elements = (List<T>) new ArrayList<>(Arrays.asList(result));
+        return elements;
+    }
+
+    private static final class Settings {
+        private final int minElements;
+        private final int chunkSize;
+        private final ForkJoinPool pool;
+
+        private Settings(final int minElements, final int chunkSize, final ForkJoinPool pool) {
+            this.minElements = minElements;
+            this.chunkSize = chunkSize;
+            this.pool = pool;
+        }
+    }
+
+    private static final class ParseChunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] result;
+        private final IntFunction<?> element;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final UnaryOperator<Runnable> context;
+
+        private ParseChunk(
+                final Object[] result,
+                final IntFunction<?> element,
+                final int from,
+                final int to,
+                final int chunkSize,
+                final UnaryOperator<Runnable> context) {
+            this.result = result;
+            this.element = element;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.context = context;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                context.apply(
+                                () -> {
+                                    for (int i = from; i < to; i++) {
+                                        result[i] = element.apply(i);
+                                    }
+                                })
+                        .run();
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(
+                        new ParseChunk(result, element, from, middle, chunkSize, context),
+                        new ParseChunk(result, element, middle, to, chunkSize, context));
+            }
+        }
+    }
+}
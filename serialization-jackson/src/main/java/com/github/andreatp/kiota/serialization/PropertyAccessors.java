@@ -0,0 +1,150 @@
+package com.github.andreatp.kiota.serialization;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the properties of the objects in the additional data that are not Parsable.
+ * The properties are the components of records, or the public fields of the other classes.
+ * They are looked up once per class and read through method handles.
+ */
+final class PropertyAccessors {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    // records are only available from Java 16, they are looked up reflectively
+    private static final Method IS_RECORD = findMethod(Class.class, "isRecord");
+    private static final Method GET_RECORD_COMPONENTS =
+            findMethod(Class.class, "getRecordComponents");
+    private static final Method GET_COMPONENT_NAME =
+            findMethod("java.lang.reflect.RecordComponent", "getName");
+    private static final Method GET_COMPONENT_ACCESSOR =
+            findMethod("java.lang.reflect.RecordComponent", "getAccessor");
+
+    private static final ClassValue<PropertyAccessor[]> accessors =
+            new ClassValue<>() {
+                @Override
+                protected PropertyAccessor[] computeValue(final Class<?> type) {
+                    return isRecord(type) ? recordAccessors(type) : fieldAccessors(type);
+                }
+            };
+
+    private PropertyAccessors() {}
+
+    /** A named property and its getter. */
+    static final class PropertyAccessor {
+        private final String name;
+        private final MethodHandle getter;
+
+        private PropertyAccessor(final String name, final MethodHandle getter) {
+            this.name = name;
+            this.getter = getter.asType(GETTER_TYPE);
+        }
+
+        @Nonnull
+        String getName() {
+            return name;
+        }
+
+        @Nullable
+        Object get(@Nonnull final Object value) {
+            try {
+                return (Object) getter.invokeExact(value);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new RuntimeException("could not read property " + name, ex);
+            }
+        }
+    }
+
+    /**
+     * @param type the class of the objects.
+     * @return the properties of the class, in declaration order for records.
+     */
+    @Nonnull
+    static PropertyAccessor[] of(@Nonnull final Class<?> type) {
+        return accessors.get(type);
+    }
+
+    private static PropertyAccessor[] fieldAccessors(final Class<?> type) {
+        final Field[] fields = type.getFields();
+        final PropertyAccessor[] result = new PropertyAccessor[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            final Field field = fields[i];
+            MethodHandle getter =
+                    unreflect(field, () -> MethodHandles.lookup().unreflectGetter(field));
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            }
+            result[i] = new PropertyAccessor(field.getName(), getter);
+        }
+        return result;
+    }
+
+    private static PropertyAccessor[] recordAccessors(final Class<?> type) {
+        try {
+            final Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+            final List<PropertyAccessor> result = new ArrayList<>(components.length);
+            for (final Object component : components) {
+                final String name = (String) GET_COMPONENT_NAME.invoke(component);
+                final Method accessor = (Method) GET_COMPONENT_ACCESSOR.invoke(component);
+                final MethodHandle getter =
+                        unreflect(accessor, () -> MethodHandles.lookup().unreflect(accessor));
+                result.add(new PropertyAccessor(name, getter));
+            }
+            return result.toArray(new PropertyAccessor[0]);
+        } catch (ReflectiveOperationException ex) {
+            throw new RuntimeException("could not read the components of " + type.getName(), ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Unreflect {
+        MethodHandle get() throws IllegalAccessException;
+    }
+
+    private static MethodHandle unreflect(
+            final AccessibleObject member, final Unreflect unreflect) {
+        try {
+            // members of non public classes are only accessible once made accessible
+            member.trySetAccessible();
+            return unreflect.get();
+        } catch (IllegalAccessException | SecurityException ex) {
+            throw new RuntimeException("could not access " + member, ex);
+        }
+    }
+
+    private static boolean isRecord(final Class<?> type) {
+        try {
+            return IS_RECORD != null && (Boolean) IS_RECORD.invoke(type);
+        } catch (ReflectiveOperationException ex) {
+            return false;
+        }
+    }
+
+    @Nullable
+    private static Method findMethod(final String className, final String name) {
+        try {
+            return findMethod(Class.forName(className), name);
+        } catch (ClassNotFoundException ex) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Method findMethod(final Class<?> type, final String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
+}
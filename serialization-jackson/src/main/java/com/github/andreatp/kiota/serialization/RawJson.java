@@ -0,0 +1,67 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A Json value kept as its UTF-8 bytes, written back as is when serialized.
+ * @see AdditionalDataPolicy#RAW_JSON
+ */
+public final class RawJson {
+    private final byte[] utf8;
+
+    private RawJson(final byte[] utf8) {
+        this.utf8 = utf8;
+    }
+
+    /**
+     * @param node the value to encode.
+     * @return the value encoded as UTF-8.
+     */
+    @Nonnull
+    static RawJson of(@Nonnull final JsonNode node) {
+        try {
+            return new RawJson(JsonMapper.mapper.writeValueAsBytes(node));
+        } catch (IOException ex) {
+            throw new RuntimeException("could not encode the value", ex);
+        }
+    }
+
+    /**
+     * Parses the value, the returned tree is not retained.
+     * @return a new tree of the value.
+     */
+    @Nonnull
+    public JsonNode toJsonNode() {
+        try {
+            return JsonMapper.mapper.readTree(utf8);
+        } catch (IOException ex) {
+            throw new RuntimeException("could not parse the value", ex);
+        }
+    }
+
+    /** @return the number of bytes of the encoded value. */
+    public int length() {
+        return utf8.length;
+    }
+
+    /** @return the Json text of the value. */
+    @Override
+    @Nonnull
+    public String toString() {
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return other instanceof RawJson && Arrays.equals(utf8, ((RawJson) other).utf8);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(utf8);
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.andreatp.kiota.serialization;
+
+import jakarta.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The keys of the values of backing stores, ordered by ordinal. The stores setting the same keys
+ * in the same order share their layouts, so each store only holds its values indexed by ordinal.
+ * The layouts are immutable, the shared ones cache the layouts adding a key to them and index
+ * their keys in an open addressing table, built once as they are looked up by every store.
+ */
+final class SlotLayout {
+    // bounds the layouts derived from a layout when the keys are set in many orders
+    private static final int MAX_TRANSITIONS = 8;
+
+    private final SlotLayout root;
+    private final String[] keys;
+    // null when the layout belongs to a single store
+    private final ConcurrentHashMap<String, SlotLayout> transitions;
+    // the ordinals plus one by hash of their keys, linearly probed, null when not shared
+    private final int[] index;
+
+    /** Creates the empty root of a new family of layouts. */
+    SlotLayout() {
+        this.root = this;
+        this.keys = new String[0];
+        this.transitions = new ConcurrentHashMap<>();
+        this.index = index(keys);
+    }
+
+    private SlotLayout(final SlotLayout root, final String[] keys, final boolean shared) {
+        this.root = root;
+        this.keys = keys;
+        this.transitions = shared ? new ConcurrentHashMap<>() : null;
+        this.index = shared ? index(keys) : null;
+    }
+
+    private static int[] index(final String[] keys) {
+        // at most half full, so the probes stop on an empty slot
+        int capacity = 2;
+        while (capacity < keys.length * 2) {
+            capacity <<= 1;
+        }
+        final int[] index = new int[capacity];
+        for (int i = 0; i < keys.length; i++) {
+            int slot = hash(keys[i]) & (capacity - 1);
+            while (index[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            index[slot] = i + 1;
+        }
+        return index;
+    }
+
+    private static int hash(final String key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /** @return the empty layout of the family. */
+    @Nonnull
+    SlotLayout root() {
+        return root;
+    }
+
+    /** @return the number of keys. */
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * @param ordinal the ordinal of the key.
+     * @return the key.
+     */
+    @Nonnull
+    String key(final int ordinal) {
+        return keys[ordinal];
+    }
+
+    /**
+     * @param key the key.
+     * @return the ordinal of the key, -1 when missing.
+     */
+    int ordinalOf(@Nonnull final String key) {
+        if (index != null) {
+            final int mask = index.length - 1;
+            for (int slot = hash(key) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+                final String candidate = keys[index[slot] - 1];
+                if (candidate == key || candidate.equals(key)) {
+                    return index[slot] - 1;
+                }
+            }
+            return -1;
+        }
+        // the generated models use constant keys, compared by identity first
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param key a key missing from the layout.
+     * @return the layout with the key added as last ordinal.
+     */
+    @Nonnull
+    SlotLayout with(@Nonnull final String key) {
+        if (transitions != null) {
+            final SlotLayout next = transitions.get(key);
+            if (next != null) {
+                return next;
+            } else if (transitions.size() < MAX_TRANSITIONS) {
+                return transitions.computeIfAbsent(
+                        key, k -> new SlotLayout(root, append(k), true));
+            }
+        }
+        return new SlotLayout(root, append(key), false);
+    }
+
+    private String[] append(final String key) {
+        final String[] result = Arrays.copyOf(keys, keys.length + 1);
+        result[keys.length] = key;
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Creates new parse nodes from Smile payloads, the binary counterpart of Json.
+ * Requires the optional {@code jackson-dataformat-smile} dependency. The mapper is a copy of
+ * {@link JsonMapper#mapper}, the changes made to the Json mapper once this class is loaded are not
+ * carried over.
+ */
+public class SmileParseNodeFactory extends JacksonParseNodeFactory {
+    static final ObjectMapper mapper = JsonMapper.mapper.copyWith(new SmileFactory());
+
+    /** Creates a new factory */
+    public SmileParseNodeFactory() {
+        super("application/x-jackson-smile", mapper);
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.andreatp.kiota.serialization;
+
+/**
+ * Creates new serialization writers producing Smile payloads, the binary counterpart of Json.
+ * Requires the optional {@code jackson-dataformat-smile} dependency.
+ */
+public class SmileSerializationWriterFactory extends JsonSerializationWriterFactory {
+    /** Creates a new factory */
+    public SmileSerializationWriterFactory() {
+        super("application/x-jackson-smile", SmileParseNodeFactory.mapper);
+    }
+}
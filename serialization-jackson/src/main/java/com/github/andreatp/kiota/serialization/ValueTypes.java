@@ -0,0 +1,142 @@
+package com.github.andreatp.kiota.serialization;
+
+import com.microsoft.kiota.PeriodAndDuration;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The readers and writers of the scalar values, used for the collections of primitive values and
+ * the additional data. They are resolved once per class, and can be extended with user types.
+ */
+public final class ValueTypes {
+    /** Writes a value of a given type. */
+    @FunctionalInterface
+    public interface ValueWriter<T> {
+        /**
+         * Writes the value.
+         * @param writer the writer to write to.
+         * @param key the key of the value, null for a collection element.
+         * @param value the value to write.
+         */
+        void write(
+                @Nonnull SerializationWriter writer, @Nullable String key, @Nonnull T value);
+    }
+
+    private static final class ValueType {
+        private final Function<ParseNode, ?> reader;
+        private final ValueWriter<Object> writer;
+
+        private ValueType(final Function<ParseNode, ?> reader, final ValueWriter<Object> writer) {
+            this.reader = reader;
+            this.writer = writer;
+        }
+    }
+
+    private static final Map<Class<?>, ValueType> registered = new ConcurrentHashMap<>();
+    private static final ClassValue<ValueType> types =
+            new ClassValue<>() {
+                @Override
+                protected ValueType computeValue(final Class<?> type) {
+                    return registered.get(type);
+                }
+            };
+
+    static {
+        register(String.class, ParseNode::getStringValue, SerializationWriter::writeStringValue);
+        register(Boolean.class, ParseNode::getBooleanValue, SerializationWriter::writeBooleanValue);
+        register(Byte.class, ParseNode::getByteValue, SerializationWriter::writeByteValue);
+        register(Short.class, ParseNode::getShortValue, SerializationWriter::writeShortValue);
+        register(
+                BigDecimal.class,
+                ParseNode::getBigDecimalValue,
+                SerializationWriter::writeBigDecimalValue);
+        register(Integer.class, ParseNode::getIntegerValue, SerializationWriter::writeIntegerValue);
+        register(Float.class, ParseNode::getFloatValue, SerializationWriter::writeFloatValue);
+        register(Double.class, ParseNode::getDoubleValue, SerializationWriter::writeDoubleValue);
+        register(Long.class, ParseNode::getLongValue, SerializationWriter::writeLongValue);
+        register(UUID.class, ParseNode::getUUIDValue, SerializationWriter::writeUUIDValue);
+        register(
+                OffsetDateTime.class,
+                ParseNode::getOffsetDateTimeValue,
+                SerializationWriter::writeOffsetDateTimeValue);
+        register(
+                LocalDate.class,
+                ParseNode::getLocalDateValue,
+                SerializationWriter::writeLocalDateValue);
+        register(
+                LocalTime.class,
+                ParseNode::getLocalTimeValue,
+                SerializationWriter::writeLocalTimeValue);
+        register(
+                PeriodAndDuration.class,
+                ParseNode::getPeriodAndDurationValue,
+                SerializationWriter::writePeriodAndDurationValue);
+        register(
+                byte[].class,
+                ParseNode::getByteArrayValue,
+                SerializationWriter::writeByteArrayValue);
+    }
+
+    private ValueTypes() {}
+
+    /**
+     * Registers the reader and writer of a type, replacing any previous registration.
+     * Registrations apply to the exact class.
+     * @param type the type of the values.
+     * @param reader reads a value from a parse node.
+     * @param writer writes a non null value.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void register(
+            @Nonnull final Class<T> type,
+            @Nonnull final Function<ParseNode, ? extends T> reader,
+            @Nonnull final ValueWriter<? super T> writer) {
+        Objects.requireNonNull(type, "parameter type cannot be null");
+        Objects.requireNonNull(reader, "parameter reader cannot be null");
+        Objects.requireNonNull(writer, "parameter writer cannot be null");
+        registered.put(type, new ValueType(reader, (ValueWriter<Object>) writer));
+        types.remove(type);
+    }
+
+    /**
+     * Removes the reader and writer of a type, its values are then read and written as before the
+     * registration.
+     * @param type the type of the values.
+     */
+    public static void unregister(@Nonnull final Class<?> type) {
+        Objects.requireNonNull(type, "parameter type cannot be null");
+        registered.remove(type);
+        types.remove(type);
+    }
+
+    /**
+     * @param type the type of the values.
+     * @return the reader of the type, null when not registered.
+     */
+    @Nullable
+    static Function<ParseNode, ?> getReader(@Nonnull final Class<?> type) {
+        final ValueType valueType = types.get(type);
+        return valueType == null ? null : valueType.reader;
+    }
+
+    /**
+     * @param type the type of the values.
+     * @return the writer of the type, null when not registered.
+     */
+    @Nullable
+    static ValueWriter<Object> getWriter(@Nonnull final Class<?> type) {
+        final ValueType valueType = types.get(type);
+        return valueType == null ? null : valueType.writer;
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.andreatp.kiota.serialization.mocks.TestEntity;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class AdditionalDataPolicyTests {
+    private static final JsonSerializationWriterFactory _serializationWriterFactory =
+            new JsonSerializationWriterFactory();
+    private static final String contentType = "application/json";
+    private static final String payload =
+            "{\"id\":\"1\",\"count\":3,\"big\":12345678901,\"huge\":123456789012345678901,"
+                    + "\"extra\":{\"b\":[1,null,\"x\"],\"a\":true},\"list\":[1.5,{\"k\":\"v\"}]}";
+
+    private static TestEntity parse(final AdditionalDataPolicy policy) {
+        final var parseNodeFactory = new JsonParseNodeFactory();
+        parseNodeFactory.setAdditionalDataPolicy(policy);
+        final var rawResponse = new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+        return parseNodeFactory
+                .getParseNode(contentType, rawResponse)
+                .getObjectValue(TestEntity::createFromDiscriminatorValue);
+    }
+
+    private static String serialize(final TestEntity entity) throws IOException {
+        try (final var writer = _serializationWriterFactory.getSerializationWriter(contentType)) {
+            writer.writeObjectValue(null, entity);
+            try (final var result = writer.getSerializedContent()) {
+                return new String(result.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private static void assertRoundTrips(final TestEntity entity) throws IOException {
+        assertEquals(
+                JsonMapper.mapper.readTree(payload), JsonMapper.mapper.readTree(serialize(entity)));
+    }
+
+    @Test
+    void KeepsIntegralNumbers() {
+        final var additionalData = parse(AdditionalDataPolicy.JSON_NODES).getAdditionalData();
+        assertEquals(3, additionalData.get("count"));
+        assertEquals(12345678901L, additionalData.get("big"));
+        assertEquals(new BigDecimal("123456789012345678901"), additionalData.get("huge"));
+    }
+
+    @Test
+    void KeepsJsonNodesByDefault() throws IOException {
+        assertEquals(
+                AdditionalDataPolicy.JSON_NODES,
+                new JsonParseNodeFactory().getAdditionalDataPolicy());
+        final var entity = parse(AdditionalDataPolicy.JSON_NODES);
+        assertTrue(entity.getAdditionalData().get("extra") instanceof JsonNode);
+        assertRoundTrips(entity);
+    }
+
+    @Test
+    void DropsObjectsAndArrays() {
+        final var additionalData = parse(AdditionalDataPolicy.DROP).getAdditionalData();
+        assertEquals(3, additionalData.get("count"));
+        assertFalse(additionalData.containsKey("extra"));
+        assertFalse(additionalData.containsKey("list"));
+    }
+
+    @Test
+    void KeepsRawJson() throws IOException {
+        final var entity = parse(AdditionalDataPolicy.RAW_JSON);
+        final var extra = (RawJson) entity.getAdditionalData().get("extra");
+        assertEquals("{\"b\":[1,null,\"x\"],\"a\":true}", extra.toString());
+        assertEquals(JsonMapper.mapper.readTree(extra.toString()), extra.toJsonNode());
+        assertNotSame(extra.toJsonNode(), extra.toJsonNode());
+        assertRoundTrips(entity);
+    }
+
+    @Test
+    void ConvertsToJavaValues() throws IOException {
+        final var entity = parse(AdditionalDataPolicy.JAVA_VALUES);
+        final var extra = (Map<?, ?>) entity.getAdditionalData().get("extra");
+        assertEquals(List.of("b", "a"), List.copyOf(extra.keySet()));
+        assertEquals(Arrays.asList(1, null, "x"), extra.get("b"));
+        assertEquals(true, extra.get("a"));
+        assertEquals(List.of(1.5d, Map.of("k", "v")), entity.getAdditionalData().get("list"));
+        assertThrows(UnsupportedOperationException.class, () -> extra.remove("a"));
+        assertRoundTrips(entity);
+    }
+}
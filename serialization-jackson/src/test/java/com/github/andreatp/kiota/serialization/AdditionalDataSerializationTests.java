@@ -0,0 +1,98 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.mocks.TestEntity;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AdditionalDataSerializationTests {
+    private static final JsonParseNodeFactory _parseNodeFactory = new JsonParseNodeFactory();
+    private static final JsonSerializationWriterFactory _serializationWriterFactory =
+            new JsonSerializationWriterFactory();
+    private static final String contentType = "application/json";
+
+    public static class Address {
+        public String city = "Montreal";
+        public Integer floor = 3;
+        private String hidden = "hidden";
+    }
+
+    private static String serialize(final TestEntity entity) throws IOException {
+        try (final var writer = _serializationWriterFactory.getSerializationWriter(contentType)) {
+            writer.writeObjectValue(null, entity);
+            try (final var result = writer.getSerializedContent()) {
+                return new String(result.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    @Test
+    void WritesPublicFields() throws IOException {
+        final var entity = new TestEntity();
+        entity.getAdditionalData().put("address", new Address());
+        // the order of the public fields is unspecified
+        assertEquals(
+                JsonMapper.mapper.readTree("{\"address\":{\"city\":\"Montreal\",\"floor\":3}}"),
+                JsonMapper.mapper.readTree(serialize(entity)));
+    }
+
+    @Test
+    void WritesMaps() throws IOException {
+        final var entity = new TestEntity();
+        final var tags = new LinkedHashMap<String, Object>();
+        tags.put("team", "core");
+        tags.put("size", 4);
+        tags.put("members", List.of("alice", "bob"));
+        entity.getAdditionalData().put("tags", tags);
+        assertEquals(
+                "{\"tags\":{\"team\":\"core\",\"size\":4,\"members\":[\"alice\",\"bob\"]}}",
+                serialize(entity));
+    }
+
+    @Test
+    void RoundTripsJsonTrees() throws IOException {
+        final var initialString =
+                "{\"id\":\"1\",\"manager\":{\"id\":\"2\",\"reports\":[1,2]},"
+                        + "\"aliases\":[\"a\",\"b\"]}";
+        final var rawResponse =
+                new ByteArrayInputStream(initialString.getBytes(StandardCharsets.UTF_8));
+        final var parseNode = _parseNodeFactory.getParseNode(contentType, rawResponse);
+        final var entity = parseNode.getObjectValue(TestEntity::createFromDiscriminatorValue);
+        assertEquals(
+                JsonMapper.mapper.readTree(initialString),
+                JsonMapper.mapper.readTree(serialize(entity)));
+    }
+
+    @Test
+    void DoesNotCacheTheAdditionalDataKeys() throws IOException {
+        final var entity = new TestEntity();
+        entity.setId("1");
+        final var nested = new LinkedHashMap<String, Object>();
+        nested.put("nested-key-from-the-payload", 1);
+        entity.getAdditionalData().put("key-from-the-payload", nested);
+        assertEquals(
+                "{\"id\":\"1\",\"key-from-the-payload\":{\"nested-key-from-the-payload\":1}}",
+                serialize(entity));
+        assertTrue(FieldNames.shared.contains("id"));
+        assertFalse(FieldNames.shared.contains("key-from-the-payload"));
+        assertFalse(FieldNames.shared.contains("nested-key-from-the-payload"));
+    }
+
+    @Test
+    void BoundsTheCachedFieldNames() {
+        final var names = new FieldNames(2);
+        assertSame(names.encode("id"), names.encode("id"));
+        names.encode("name");
+        names.encode("extra");
+        assertEquals(2, names.size());
+        assertFalse(names.contains("extra"));
+        // past the limit the names are still encoded
+        assertEquals("extra", names.encode("extra").getValue());
+        assertNotSame(names.encode("extra"), names.encode("extra"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.github.andreatp.kiota.serialization.mocks.TestEntity;
+import com.microsoft.kiota.serialization.ParseNodeFactory;
+import com.microsoft.kiota.serialization.SerializationWriterFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BinaryFormatsTests {
+
+    private static TestEntity roundTrip(
+            final SerializationWriterFactory writerFactory,
+            final ParseNodeFactory parseNodeFactory,
+            final TestEntity entity)
+            throws IOException {
+        final String contentType = writerFactory.getValidContentType();
+        assertEquals(contentType, parseNodeFactory.getValidContentType());
+        final byte[] payload;
+        try (final var writer = writerFactory.getSerializationWriter(contentType)) {
+            writer.writeObjectValue(null, entity);
+            try (final var result = writer.getSerializedContent()) {
+                payload = result.readAllBytes();
+            }
+        }
+        return parseNodeFactory
+                .getParseNode(contentType, new ByteArrayInputStream(payload))
+                .getObjectValue(TestEntity::createFromDiscriminatorValue);
+    }
+
+    private static TestEntity entity() {
+        final var entity = new TestEntity();
+        entity.setId("48d31887-5fad-4d73-a9f5-3c356e68a038");
+        entity.setOfficeLocation("Montreal");
+        entity.setBirthDay(LocalDate.of(2017, 9, 4));
+        entity.setCreatedDateTime(OffsetDateTime.parse("2023-01-02T03:04:05Z"));
+        entity.getAdditionalData().put("count", 3);
+        entity.getAdditionalData().put("avatar", new byte[] {1, 2, 3});
+        entity.getAdditionalData().put("tags", List.of("a", "b"));
+        return entity;
+    }
+
+    private static void assertSameEntity(final TestEntity expected, final TestEntity actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getOfficeLocation(), actual.getOfficeLocation());
+        assertEquals(expected.getBirthDay(), actual.getBirthDay());
+        assertEquals(expected.getCreatedDateTime(), actual.getCreatedDateTime());
+        assertEquals(3, actual.getAdditionalData().get("count"));
+        assertEquals(2, ((JsonNode) actual.getAdditionalData().get("tags")).size());
+    }
+
+    @Test
+    void RoundTripsSmile() throws IOException {
+        final var entity = entity();
+        assertSameEntity(
+                entity,
+                roundTrip(
+                        new SmileSerializationWriterFactory(),
+                        new SmileParseNodeFactory(),
+                        entity));
+        assertEquals(
+                "application/x-jackson-smile", new SmileParseNodeFactory().getValidContentType());
+    }
+
+    @Test
+    void RoundTripsCBOR() throws IOException {
+        final var entity = entity();
+        assertSameEntity(
+                entity,
+                roundTrip(
+                        new CBORSerializationWriterFactory(), new CBORParseNodeFactory(), entity));
+        assertEquals("application/cbor", new CBORParseNodeFactory().getValidContentType());
+    }
+
+    @Test
+    void ReadsBinaryValues() {
+        final var parseNode = new JsonParseNode(BinaryNode.valueOf(new byte[] {1, 2}));
+        assertArrayEquals(new byte[] {1, 2}, parseNode.getByteArrayValue());
+    }
+
+    @Test
+    void RejectsJson() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new SmileParseNodeFactory()
+                                .getParseNode(
+                                        "application/json", new ByteArrayInputStream(new byte[0])));
+    }
+}
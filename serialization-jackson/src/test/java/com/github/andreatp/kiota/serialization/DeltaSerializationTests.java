@@ -0,0 +1,104 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.mocks.BackedTestEntity;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.store.BackingStoreParseNodeFactory;
+import com.microsoft.kiota.store.BackingStoreSerializationWriterProxyFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DeltaSerializationTests {
+    private static final String contentType = "application/json";
+    private static final String payload =
+            "{\"id\":\"1\",\"displayName\":\"first\","
+                    + "\"manager\":{\"id\":\"m\",\"displayName\":\"boss\"},"
+                    + "\"reports\":[{\"id\":\"r1\",\"displayName\":\"one\"},"
+                    + "{\"id\":\"r2\",\"displayName\":\"two\"}]}";
+
+    private static BackedTestEntity parse() {
+        return new BackingStoreParseNodeFactory(new JsonParseNodeFactory())
+                .getParseNode(
+                        contentType,
+                        new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)))
+                .getObjectValue(BackedTestEntity::createFromDiscriminatorValue);
+    }
+
+    private static String serialize(final Parsable value) throws IOException {
+        try (final var writer =
+                new BackingStoreSerializationWriterProxyFactory(
+                                new JsonSerializationWriterFactory())
+                        .getSerializationWriter(contentType)) {
+            writer.writeObjectValue(null, value);
+            try (final var result = writer.getSerializedContent()) {
+                return new String(result.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    @Test
+    void WritesNothingWhenUnchanged() throws IOException {
+        assertEquals("{}", serialize(parse()));
+    }
+
+    @Test
+    void WritesTheChangedFields() throws IOException {
+        final var entity = parse();
+        entity.setDisplayName("renamed");
+        assertEquals("{\"displayName\":\"renamed\"}", serialize(entity));
+        assertEquals("{}", serialize(entity));
+        assertEquals("renamed", entity.getDisplayName());
+    }
+
+    @Test
+    void WritesThePathsToTheNestedChanges() throws IOException {
+        final var entity = parse();
+        entity.getManager().setDisplayName("chief");
+        assertEquals("{\"manager\":{\"displayName\":\"chief\"}}", serialize(entity));
+    }
+
+    @Test
+    void WritesTheChangedElementsWhole() throws IOException {
+        final var entity = parse();
+        entity.getReports().get(1).setDisplayName("deux");
+        assertEquals(
+                "{\"reports\":[{\"id\":\"r1\",\"displayName\":\"one\"},"
+                        + "{\"id\":\"r2\",\"displayName\":\"deux\"}]}",
+                serialize(entity));
+    }
+
+    @Test
+    void WritesTheValuesChangedToNull() throws IOException {
+        final var entity = parse();
+        entity.setDisplayName(null);
+        assertEquals("{\"displayName\":null}", serialize(entity));
+    }
+
+    @Test
+    void WritesTheReplacedValuesWhole() throws IOException {
+        final var entity = parse();
+        final var manager = new BackedTestEntity();
+        manager.setId("n");
+        entity.setManager(manager);
+        final var report = parse().getReports().get(0);
+        entity.setReports(List.of(report));
+        assertEquals(
+                "{\"manager\":{\"id\":\"n\"},"
+                        + "\"reports\":[{\"id\":\"r1\",\"displayName\":\"one\"}]}",
+                serialize(entity));
+    }
+
+    @Test
+    void ForgetsTheReplacedValues() throws IOException {
+        final var entity = parse();
+        final var manager = entity.getManager();
+        entity.setManager(new BackedTestEntity());
+        serialize(entity);
+        manager.setDisplayName("gone");
+        assertEquals("{}", serialize(entity));
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.mocks.SecondTestEntity;
+import com.microsoft.kiota.serialization.ParseNode;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.Test;
+
+class FieldDeserializersTests {
+    private static final JsonParseNodeFactory _parseNodeFactory = new JsonParseNodeFactory();
+    private static final String contentType = "application/json";
+
+    @Test
+    void UsesTheSharedTable() {
+        final var initialString =
+                "[{\"id\":1,\"displayName\":\"first\",\"extra\":\"value\"},"
+                        + "{\"id\":2,\"displayName\":\"second\"}]";
+        FieldDeserializers.register(
+                SecondTestEntity.class,
+                Map.<String, BiConsumer<SecondTestEntity, ParseNode>>of(
+                        "id", (item, n) -> item.setId(n.getIntegerValue()),
+                        "displayName",
+                                (item, n) -> item.setDisplayName("shared " + n.getStringValue())));
+        try {
+            final var rawResponse =
+                    new ByteArrayInputStream(initialString.getBytes(StandardCharsets.UTF_8));
+            final var parseNode = _parseNodeFactory.getParseNode(contentType, rawResponse);
+            final var result =
+                    parseNode.getCollectionOfObjectValues(
+                            SecondTestEntity::createFromDiscriminatorValue);
+            assertEquals(2, result.size());
+            assertEquals(1, result.get(0).getId());
+            assertEquals("shared first", result.get(0).getDisplayName());
+            assertEquals("value", result.get(0).getAdditionalData().get("extra"));
+            assertEquals("shared second", result.get(1).getDisplayName());
+        } finally {
+            FieldDeserializers.unregister(SecondTestEntity.class);
+        }
+        final var rawResponse =
+                new ByteArrayInputStream(initialString.getBytes(StandardCharsets.UTF_8));
+        final var parseNode = _parseNodeFactory.getParseNode(contentType, rawResponse);
+        final var result =
+                parseNode.getCollectionOfObjectValues(
+                        SecondTestEntity::createFromDiscriminatorValue);
+        assertEquals("first", result.get(0).getDisplayName());
+    }
+
+    @Test
+    void ExposesTheRegisteredTables() {
+        assertTrue(FieldDeserializers.of(SecondTestEntity.class).isEmpty());
+        FieldDeserializers.register(
+                SecondTestEntity.class,
+                Map.<String, BiConsumer<SecondTestEntity, ParseNode>>of(
+                        "id", (item, n) -> item.setId(n.getIntegerValue())));
+        try {
+            assertEquals(Set.of("id"), FieldDeserializers.of(SecondTestEntity.class).keySet());
+        } finally {
+            FieldDeserializers.unregister(SecondTestEntity.class);
+        }
+        assertTrue(FieldDeserializers.of(SecondTestEntity.class).isEmpty());
+    }
+}
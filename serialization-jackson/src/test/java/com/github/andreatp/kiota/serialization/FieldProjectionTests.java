@@ -0,0 +1,75 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.mocks.TestEntity;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class FieldProjectionTests {
+    private static final String contentType = "application/json";
+    private static final String payload =
+            "{\"value\":[{\"id\":\"1\",\"officeLocation\":\"a\","
+                    + "\"manager\":{\"id\":\"m\",\"n\":[1]},"
+                    + "\"extra\":{\"deep\":[1,2,3]},\"nothing\":null},"
+                    + "{\"id\":\"2\",\"officeLocation\":\"b\",\"count\":4}],"
+                    + "\"@odata.nextLink\":\"next\"}";
+
+    private static JsonParseNodeFactory factory(final FieldProjection projection) {
+        final var parseNodeFactory = new JsonParseNodeFactory();
+        parseNodeFactory.setFieldProjection(projection);
+        return parseNodeFactory;
+    }
+
+    @Test
+    void ReadsTheProjectedFields() {
+        final var rawResponse = new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+        final var parseNode =
+                factory(FieldProjection.of("value.id", "value.manager.id", "value.nothing"))
+                        .getParseNode(contentType, rawResponse);
+        assertNull(parseNode.getChildNode("@odata.nextLink"));
+        final var entities =
+                parseNode
+                        .getChildNode("value")
+                        .getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue);
+        assertEquals(2, entities.size());
+        assertEquals("1", entities.get(0).getId());
+        assertNull(entities.get(0).getOfficeLocation());
+        assertEquals("2", entities.get(1).getId());
+        assertFalse(entities.get(1).getAdditionalData().containsKey("count"));
+        final var additionalData = entities.get(0).getAdditionalData();
+        assertEquals("{\"id\":\"m\"}", additionalData.get("manager").toString());
+        assertFalse(additionalData.containsKey("extra"));
+    }
+
+    @Test
+    void ReadsWholeValuesAtTheEndOfThePaths() {
+        final var rawResponse = new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+        final var parseNode =
+                factory(FieldProjection.of("value.extra", "value.manager"))
+                        .getParseNode(contentType, rawResponse);
+        final var entity =
+                parseNode
+                        .getChildNode("value")
+                        .getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue)
+                        .get(0);
+        assertEquals("{\"deep\":[1,2,3]}", entity.getAdditionalData().get("extra").toString());
+        assertEquals(
+                "{\"id\":\"m\",\"n\":[1]}", entity.getAdditionalData().get("manager").toString());
+        assertNull(entity.getId());
+    }
+
+    @Test
+    void ReadsEverythingWithoutProjection() {
+        final var rawResponse = new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+        final var parseNode = factory(null).getParseNode(contentType, rawResponse);
+        assertEquals("next", parseNode.getChildNode("@odata.nextLink").getStringValue());
+    }
+
+    @Test
+    void RejectsInvalidPaths() {
+        assertThrows(IllegalArgumentException.class, () -> FieldProjection.of("value..id"));
+        assertThrows(IllegalArgumentException.class, () -> FieldProjection.of(""));
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class IsoCodecsTests {
+    private final char[] buffer = new char[IsoCodecs.MAX_FORMATTED_LENGTH];
+
+    private static OffsetDateTime randomDateTime(final Random random) {
+        final int[] nanos = {0, 0, 500_000_000, 123_000_000, 123_456_000, 123_456_789, 1};
+        return OffsetDateTime.of(
+                LocalDate.ofEpochDay(random.nextInt(3_000_000) - 1_000_000),
+                LocalTime.ofSecondOfDay(random.nextInt(86_400))
+                        .withNano(nanos[random.nextInt(nanos.length)]),
+                ZoneOffset.ofTotalSeconds(
+                        (random.nextInt(73) - 36) * 900 + random.nextInt(2) * 30));
+    }
+
+    @Test
+    void FormatsLikeTheJdk() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            final OffsetDateTime value = randomDateTime(random);
+            final int length = IsoCodecs.formatOffsetDateTime(value, buffer);
+            if (length >= 0) {
+                assertEquals(
+                        value.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME),
+                        new String(buffer, 0, length));
+            } else {
+                assertTrue(value.getYear() < 0 || value.getYear() > 9999);
+            }
+            assertEquals(
+                    value.toLocalTime().format(DateTimeFormatter.ISO_LOCAL_TIME),
+                    new String(buffer, 0, IsoCodecs.formatLocalTime(value.toLocalTime(), buffer)));
+            final UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            assertEquals(
+                    uuid.toString(), new String(buffer, 0, IsoCodecs.formatUUID(uuid, buffer)));
+        }
+    }
+
+    @Test
+    void ParsesLikeTheJdk() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            final OffsetDateTime value = randomDateTime(random);
+            final String text = value.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+            assertEquals(OffsetDateTime.parse(text), IsoCodecs.parseOffsetDateTime(text));
+            final String date = value.toLocalDate().format(DateTimeFormatter.ISO_LOCAL_DATE);
+            assertEquals(LocalDate.parse(date), IsoCodecs.parseLocalDate(date));
+            final String time = value.toLocalTime().toString();
+            assertEquals(LocalTime.parse(time), IsoCodecs.parseLocalTime(time));
+            final UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            assertEquals(uuid, IsoCodecs.parseUUID(uuid.toString()));
+            assertEquals(uuid, IsoCodecs.parseUUID(uuid.toString().toUpperCase()));
+        }
+        assertEquals(
+                OffsetDateTime.parse("2017-09-04T12:30z"),
+                IsoCodecs.parseOffsetDateTime("2017-09-04t12:30z"));
+        assertEquals(UUID.fromString("1-2-3-4-5"), IsoCodecs.parseUUID("1-2-3-4-5"));
+    }
+
+    @Test
+    void RejectsLikeTheJdk() {
+        for (final String text :
+                new String[] {"2017-02-30", "2017-13-01", "2017-1-01", "20170901", "2017-09-0x"}) {
+            assertThrows(DateTimeException.class, () -> IsoCodecs.parseLocalDate(text));
+        }
+        for (final String text : new String[] {"24:00", "12:60", "12:30:", "12:30:00.1234567890"}) {
+            assertThrows(DateTimeException.class, () -> IsoCodecs.parseLocalTime(text));
+        }
+        for (final String text :
+                new String[] {"2017-09-04T12:30", "2017-09-04T12:30+1", "2017-09-04T12:30+19:00"}) {
+            assertThrows(DateTimeException.class, () -> IsoCodecs.parseOffsetDateTime(text));
+        }
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> IsoCodecs.parseUUID("48d31887-5fad-4d73-a9f5-3c356e68a03g"));
+    }
+}
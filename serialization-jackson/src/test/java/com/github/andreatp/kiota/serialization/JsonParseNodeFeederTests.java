@@ -0,0 +1,83 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.mocks.TestEntity;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Flow;
+import org.junit.jupiter.api.Test;
+
+class JsonParseNodeFeederTests {
+    private static final JsonParseNodeFactory _parseNodeFactory = new JsonParseNodeFactory();
+    private static final String testJson =
+            "{\"id\":\"48d31887-5fad-4d73-a9f5-3c356e68a038\",\"officeLocation\":\"Montreal\","
+                    + "\"birthDay\":\"2017-09-04\",\"nested\":{\"list\":"
+                    + "[1,2.5,12345678901,true,null,\"text\"],\"empty\":{}},"
+                    + "\"manager\":{\"id\":\"2\"}}";
+
+    @Test
+    void ParsesByteByByte() throws Exception {
+        final byte[] payload = testJson.getBytes(StandardCharsets.UTF_8);
+        final var feeder = _parseNodeFactory.newFeeder();
+        for (int i = 0; i < payload.length; i++) {
+            feeder.feed(payload, i, 1);
+        }
+        feeder.endOfInput();
+        final var node = (JsonParseNode) feeder.getParseNode();
+        final var result = node.getObjectValue(TestEntity::createFromDiscriminatorValue);
+        assertEquals("48d31887-5fad-4d73-a9f5-3c356e68a038", result.getId());
+        assertEquals("Montreal", result.getOfficeLocation());
+        assertEquals("2017-09-04", result.getBirthDay().toString());
+        assertEquals(
+                JsonMapper.mapper.readTree(testJson).get("nested").toString(),
+                result.getAdditionalData().get("nested").toString());
+    }
+
+    @Test
+    void ParsesFromASubscription() {
+        final byte[] payload = "[{\"id\":\"1\"},{\"id\":\"2\"}]".getBytes(StandardCharsets.UTF_8);
+        final var feeder = _parseNodeFactory.newFeeder();
+        feeder.onSubscribe(
+                new Flow.Subscription() {
+                    public void request(long n) {}
+
+                    public void cancel() {}
+                });
+        feeder.onNext(List.of(ByteBuffer.wrap(payload, 0, 7), ByteBuffer.allocateDirect(0)));
+        final var rest = ByteBuffer.allocateDirect(payload.length - 7);
+        rest.put(payload, 7, payload.length - 7).flip();
+        feeder.onNext(List.of(rest));
+        feeder.onComplete();
+        final var result =
+                feeder.getParseNode()
+                        .getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue);
+        assertEquals(2, result.size());
+        assertEquals("2", result.get(1).getId());
+    }
+
+    @Test
+    void ParsesScalarPayloads() {
+        final var feeder = _parseNodeFactory.newFeeder();
+        feeder.feed("\"Mont".getBytes(StandardCharsets.UTF_8));
+        feeder.feed("real\"".getBytes(StandardCharsets.UTF_8));
+        feeder.endOfInput();
+        assertEquals("Montreal", feeder.getParseNode().getStringValue());
+    }
+
+    @Test
+    void FailsOnTruncatedPayloads() {
+        final var feeder = _parseNodeFactory.newFeeder();
+        feeder.onNext(List.of(ByteBuffer.wrap("{\"id\":[1,".getBytes(StandardCharsets.UTF_8))));
+        feeder.onComplete();
+        assertThrows(RuntimeException.class, feeder::getParseNode);
+    }
+
+    @Test
+    void RequiresTheEndOfThePayload() {
+        final var feeder = _parseNodeFactory.newFeeder();
+        feeder.feed("{}".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalStateException.class, feeder::getParseNode);
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.mocks.TestEntity;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class NdjsonTests {
+    private static final String contentType = "application/x-ndjson";
+    private static final String payload =
+            "{\"id\":\"1\",\"officeLocation\":\"a\"}\n"
+                    + "{\"id\":\"2\",\"officeLocation\":\"b\"}\n"
+                    + "\n"
+                    + "{\"id\":\"3\",\"officeLocation\":\"c\"}\n";
+
+    private static InputStream payload() {
+        return new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ParsesAllTheDocuments() {
+        final var entities =
+                new NdjsonParseNodeFactory()
+                        .getParseNode(contentType, payload())
+                        .getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue);
+        assertEquals(
+                List.of("1", "2", "3"),
+                entities.stream().map(TestEntity::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void ParsesTheDocumentsLazily() {
+        final var closed = new AtomicBoolean();
+        final var rawResponse =
+                new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)) {
+                    @Override
+                    public void close() throws IOException {
+                        closed.set(true);
+                        super.close();
+                    }
+                };
+        try (final var parseNodes =
+                new NdjsonParseNodeFactory().getParseNodes(contentType, rawResponse)) {
+            final var iterator = parseNodes.iterator();
+            assertTrue(iterator.hasNext());
+            assertEquals(
+                    "a",
+                    iterator.next()
+                            .getObjectValue(TestEntity::createFromDiscriminatorValue)
+                            .getOfficeLocation());
+            assertTrue(iterator.hasNext());
+            assertEquals("2", iterator.next().getChildNode("id").getStringValue());
+            assertEquals("3", iterator.next().getChildNode("id").getStringValue());
+            assertFalse(iterator.hasNext());
+        }
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void ProjectsEachDocument() {
+        final var factory = new NdjsonParseNodeFactory();
+        factory.setFieldProjection(FieldProjection.of("id"));
+        final var entities =
+                factory.getParseNode(contentType, payload())
+                        .getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue);
+        assertEquals(
+                List.of("1", "2", "3"),
+                entities.stream().map(TestEntity::getId).collect(Collectors.toList()));
+        assertTrue(entities.stream().allMatch(entity -> entity.getOfficeLocation() == null));
+        try (final var parseNodes = factory.getParseNodes(contentType, payload())) {
+            assertEquals(
+                    List.of("1", "2", "3"),
+                    parseNodes
+                            .map(node -> node.getChildNode("id").getStringValue())
+                            .collect(Collectors.toList()));
+        }
+        try (final var parseNodes = factory.getParseNodes(contentType, payload())) {
+            assertTrue(
+                    parseNodes.allMatch(node -> node.getChildNode("officeLocation") == null));
+        }
+    }
+
+    @Test
+    void RejectsJson() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new NdjsonParseNodeFactory().getParseNodes("application/json", payload()));
+    }
+
+    @Test
+    void WritesOneDocumentPerLine() throws IOException {
+        final var first = new TestEntity();
+        first.setId("1");
+        final var second = new TestEntity();
+        second.setId("2");
+        second.getAdditionalData().put("tags", List.of("x", "y"));
+        try (final var writer =
+                new NdjsonSerializationWriterFactory().getSerializationWriter(contentType)) {
+            writer.writeCollectionOfObjectValues(null, List.of(first, second));
+            writer.writeCollectionOfPrimitiveValues(null, List.of(3, "four"));
+            try (final var result = writer.getSerializedContent()) {
+                assertEquals(
+                        "{\"id\":\"1\"}\n{\"id\":\"2\",\"tags\":[\"x\",\"y\"]}\n3\n\"four\"\n",
+                        new String(result.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void WritesNothingForEmptyCollections() throws IOException {
+        try (final var writer =
+                new NdjsonSerializationWriterFactory().getSerializationWriter(contentType)) {
+            writer.writeCollectionOfObjectValues(null, List.<TestEntity>of());
+            try (final var result = writer.getSerializedContent()) {
+                assertEquals(0, result.readAllBytes().length);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.mocks.TestEntity;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ParallelParsingTests {
+    private static final String contentType = "application/json";
+
+    private static String entities(final int count) {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"")
+                    .append(i)
+                    .append("\",\"officeLocation\":\"office")
+                    .append(i)
+                    .append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    @Test
+    void ParsesLargeArraysInOrder() {
+        final var parseNodeFactory = new JsonParseNodeFactory();
+        final var pool = new ForkJoinPool(4);
+        try {
+            parseNodeFactory.getParallelParsing().enable(100, 64, pool);
+            final var rawResponse =
+                    new ByteArrayInputStream(entities(10_000).getBytes(StandardCharsets.UTF_8));
+            final var parseNode = parseNodeFactory.getParseNode(contentType, rawResponse);
+            final var before = new AtomicInteger();
+            final var after = new AtomicInteger();
+            parseNode.setOnBeforeAssignFieldValues(item -> before.incrementAndGet());
+            parseNode.setOnAfterAssignFieldValues(item -> after.incrementAndGet());
+            final var result =
+                    parseNode.getCollectionOfObjectValues(
+                            TestEntity::createFromDiscriminatorValue);
+            assertEquals(10_000, result.size());
+            for (int i = 0; i < result.size(); i++) {
+                assertEquals(String.valueOf(i), result.get(i).getId());
+                assertEquals("office" + i, result.get(i).getOfficeLocation());
+            }
+            assertEquals(10_000, before.get());
+            assertEquals(10_000, after.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void ParsesSmallArraysOnTheCallingThread() {
+        final var parseNodeFactory = new JsonParseNodeFactory();
+        parseNodeFactory.getParallelParsing().enable(100, 64);
+        final var rawResponse =
+                new ByteArrayInputStream(entities(10).getBytes(StandardCharsets.UTF_8));
+        final var parseNode = parseNodeFactory.getParseNode(contentType, rawResponse);
+        final var caller = Thread.currentThread();
+        parseNode.setOnBeforeAssignFieldValues(item -> assertSame(caller, Thread.currentThread()));
+        final var result =
+                parseNode.getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue);
+        assertEquals(10, result.size());
+        assertEquals("9", result.get(9).getId());
+    }
+
+    @Test
+    void PropagatesErrors() {
+        final var parseNodeFactory = new JsonParseNodeFactory();
+        parseNodeFactory.getParallelParsing().enable(10, 4);
+        final var rawResponse =
+                new ByteArrayInputStream(entities(100).getBytes(StandardCharsets.UTF_8));
+        final var parseNode = parseNodeFactory.getParseNode(contentType, rawResponse);
+        parseNode.setOnAfterAssignFieldValues(
+                item -> {
+                    if ("42".equals(((TestEntity) item).getId())) {
+                        throw new IllegalStateException("boom");
+                    }
+                });
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        parseNode.getCollectionOfObjectValues(
+                                TestEntity::createFromDiscriminatorValue));
+    }
+
+    @Test
+    void CarriesTheContextToThePoolThreads() {
+        final var parseNodeFactory = new JsonParseNodeFactory();
+        final var pool = new ForkJoinPool(4);
+        final ThreadLocal<String> context = new ThreadLocal<>();
+        try {
+            parseNodeFactory.getParallelParsing().enable(10, 4, pool);
+            parseNodeFactory
+                    .getParallelParsing()
+                    .setContextCapture(
+                            () -> {
+                                final String captured = context.get();
+                                return task ->
+                                        () -> {
+                                            final String previous = context.get();
+                                            context.set(captured);
+                                            try {
+                                                task.run();
+                                            } finally {
+                                                context.set(previous);
+                                            }
+                                        };
+                            });
+            final var rawResponse =
+                    new ByteArrayInputStream(entities(100).getBytes(StandardCharsets.UTF_8));
+            final var parseNode = parseNodeFactory.getParseNode(contentType, rawResponse);
+            final Set<String> seen = ConcurrentHashMap.newKeySet();
+            final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+            parseNode.setOnBeforeAssignFieldValues(
+                    item -> {
+                        seen.add(String.valueOf(context.get()));
+                        threads.add(Thread.currentThread());
+                    });
+            context.set("adapter");
+            try {
+                assertEquals(
+                        100,
+                        parseNode
+                                .getCollectionOfObjectValues(
+                                        TestEntity::createFromDiscriminatorValue)
+                                .size());
+            } finally {
+                context.remove();
+            }
+            assertEquals(Set.of("adapter"), seen);
+            assertTrue(threads.stream().anyMatch(thread -> thread != Thread.currentThread()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class PrimitiveArraysTests {
+    private static final JsonParseNodeFactory _parseNodeFactory = new JsonParseNodeFactory();
+    private static final JsonSerializationWriterFactory _serializationWriterFactory =
+            new JsonSerializationWriterFactory();
+    private static final String contentType = "application/json";
+
+    private static JsonParseNode parse(final String json) {
+        final var rawResponse = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+        return (JsonParseNode) _parseNodeFactory.getParseNode(contentType, rawResponse);
+    }
+
+    @Test
+    void ParsesPrimitiveCollections() {
+        final var parseNode =
+                parse("{\"ints\":[1,-2,3],\"longs\":[1,4294967296],\"doubles\":[1,2.5,-3e2]}");
+        assertArrayEquals(
+                new int[] {1, -2, 3},
+                ((JsonParseNode) parseNode.getChildNode("ints")).getCollectionOfIntValues());
+        assertArrayEquals(
+                new long[] {1, 4294967296L},
+                ((JsonParseNode) parseNode.getChildNode("longs")).getCollectionOfLongValues());
+        assertArrayEquals(
+                new double[] {1, 2.5, -300},
+                ((JsonParseNode) parseNode.getChildNode("doubles")).getCollectionOfDoubleValues());
+    }
+
+    @Test
+    void RejectsInvalidElements() {
+        assertThrows(
+                RuntimeException.class, () -> parse("[1,4294967296]").getCollectionOfIntValues());
+        assertThrows(RuntimeException.class, () -> parse("[1,2.5]").getCollectionOfLongValues());
+        assertThrows(
+                RuntimeException.class, () -> parse("[1,\"2\"]").getCollectionOfDoubleValues());
+        assertThrows(
+                RuntimeException.class, () -> parse("{\"a\":1}").getCollectionOfIntValues());
+        assertNull(parse("null").getCollectionOfIntValues());
+    }
+
+    @Test
+    void ParsesUnboxedValues() {
+        assertEquals(42, parse("42").getIntValue(-1));
+        assertEquals(-1, parse("\"42\"").getIntValue(-1));
+        assertEquals(-1, parse("4294967296").getIntValue(-1));
+        assertEquals(4294967296L, parse("4294967296").getLongValue(-1L));
+        assertEquals(-1L, parse("1.5").getLongValue(-1L));
+        assertEquals(1.5d, parse("1.5").getDoubleValue(0d));
+        assertEquals(7d, parse("7").getDoubleValue(0d));
+    }
+
+    @Test
+    void ParsesTheSameBoxedAndUnboxedValues() {
+        for (final String json : new String[] {"1", "-7", "4294967296", "1.5", "\"1\"", "true"}) {
+            final var parseNode = parse(json);
+            final int intValue = parseNode.getIntValue(Integer.MIN_VALUE);
+            final Integer integer = intValue == Integer.MIN_VALUE ? null : intValue;
+            assertEquals(integer, parseNode.getIntegerValue());
+            final long longValue = parseNode.getLongValue(Long.MIN_VALUE);
+            final Long boxedLong = longValue == Long.MIN_VALUE ? null : longValue;
+            assertEquals(boxedLong, parseNode.getLongValue());
+            final double doubleValue = parseNode.getDoubleValue(Double.NaN);
+            final Double boxedDouble = Double.isNaN(doubleValue) ? null : doubleValue;
+            assertEquals(boxedDouble, parseNode.getDoubleValue());
+        }
+        assertEquals(Long.valueOf(1), parse("1").getLongValue());
+        assertEquals(Double.valueOf(1), parse("1").getDoubleValue());
+    }
+
+    private static String write(final Consumer<JsonSerializationWriter> body) throws IOException {
+        try (final var writer =
+                (JsonSerializationWriter)
+                        _serializationWriterFactory.getSerializationWriter(contentType)) {
+            body.accept(writer);
+            try (final var result = writer.getSerializedContent()) {
+                return new String(result.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    @Test
+    void WritesPrimitiveCollections() throws IOException {
+        assertEquals(
+                "[1,-2,3]", write(w -> w.writeCollectionOfIntValues(null, new int[] {1, -2, 3})));
+        assertEquals(
+                "[4294967296]",
+                write(w -> w.writeCollectionOfLongValues("", new long[] {4294967296L})));
+        assertEquals(
+                "[2.5,-1.0]",
+                write(w -> w.writeCollectionOfDoubleValues(null, new double[] {2.5, -1})));
+        assertEquals("", write(w -> w.writeCollectionOfIntValues(null, null)));
+    }
+}
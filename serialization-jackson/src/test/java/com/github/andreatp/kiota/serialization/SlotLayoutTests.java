@@ -0,0 +1,79 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SlotLayoutTests {
+    @Test
+    void SharesTheLayoutsOfTheSameKeys() {
+        final var root = new SlotLayout();
+        final var layout = root.with("id").with("displayName");
+        assertSame(layout, root.with("id").with("displayName"));
+        assertNotSame(layout, root.with("displayName").with("id"));
+        assertEquals(2, layout.size());
+        assertEquals(1, layout.ordinalOf(new String("displayName")));
+        assertEquals(-1, layout.ordinalOf("manager"));
+        assertSame(root, layout.root());
+    }
+
+    @Test
+    void StopsSharingAfterManyOrders() {
+        final var root = new SlotLayout();
+        for (int i = 0; i < 8; i++) {
+            assertSame(root.with("key" + i), root.with("key" + i));
+        }
+        final var unshared = root.with("key8");
+        assertNotSame(unshared, root.with("key8"));
+        assertEquals("key8", unshared.key(0));
+        assertNotSame(unshared.with("id"), unshared.with("id"));
+    }
+
+    @Test
+    void FindsTheKeysOfTheSharedAndUnsharedLayouts() {
+        final var root = new SlotLayout();
+        SlotLayout shared = root;
+        SlotLayout again = root;
+        for (int i = 0; i < 40; i++) {
+            shared = shared.with("key" + i);
+            again = again.with("key" + i);
+        }
+        assertSame(shared, again);
+        for (int i = 1; i < 8; i++) {
+            root.with("other" + i);
+        }
+        // the root has no room left, the layouts derived from it are not shared
+        SlotLayout unshared = root.with("first");
+        for (int i = 0; i < 40; i++) {
+            unshared = unshared.with("key" + i);
+        }
+        for (int i = 0; i < 40; i++) {
+            assertEquals(i, shared.ordinalOf("key" + i));
+            assertEquals(i + 1, unshared.ordinalOf("key" + i));
+        }
+        assertEquals(-1, shared.ordinalOf("first"));
+        assertEquals(0, unshared.ordinalOf(new String("first")));
+        assertEquals(-1, root.ordinalOf("key0"));
+    }
+
+    @Test
+    void StoresValuesByOrdinal() {
+        final var factory = new DirtyTrackingBackingStoreFactory();
+        final var store = factory.createBackingStore();
+        for (int i = 0; i < 20; i++) {
+            store.set("key" + i, i);
+        }
+        store.setIsInitializationCompleted(true);
+        store.set("key12", 42);
+        assertEquals(Integer.valueOf(3), store.get("key3"));
+        store.setReturnOnlyChangedValues(true);
+        assertEquals(Map.of("key12", 42), store.enumerate());
+        assertNull(store.get("key3"));
+        store.clear();
+        assertTrue(store.enumerate().isEmpty());
+        final var other = factory.createBackingStore();
+        other.set("key0", "first");
+        assertEquals("first", other.get("key0"));
+    }
+}
@@ -5,11 +5,16 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.github.andreatp.kiota.serialization.mocks.SecondTestEntity;
 import com.github.andreatp.kiota.serialization.mocks.TestEntity;
 import com.github.andreatp.kiota.serialization.mocks.UnionTypeMock;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+import com.microsoft.kiota.serialization.ParseNode;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 class UnionWrapperParseTests {
@@ -70,6 +75,127 @@ class UnionWrapperParseTests {
         assertEquals("11", result.getComposedType3().get(0).getId());
     }
 
+    @Test
+    void ParsesUnionTypeCollectionOnce() throws UnsupportedEncodingException {
+        final var initialString =
+                "[{\"officeLocation\":\"Ottawa\", \"id\": \"11\"},"
+                        + " {\"officeLocation\":\"Montreal\", \"id\": \"10\"}]";
+        final var rawResponse = new ByteArrayInputStream(initialString.getBytes("UTF-8"));
+        final var parseNode = _parseNodeFactory.getParseNode(contentType, rawResponse);
+        final var assigned = new AtomicInteger();
+        parseNode.setOnAfterAssignFieldValues(item -> assigned.incrementAndGet());
+        final var result = parseNode.getObjectValue(UnionTypeMock::createFromDiscriminatorValue);
+        assertNotNull(result.getComposedType3());
+        assertEquals(2, result.getComposedType3().size());
+        assertEquals("Montreal", result.getComposedType3().get(1).getOfficeLocation());
+        assertEquals(2, assigned.get());
+    }
+
+    private static ParsableFactory<Parsable> discriminating(final AtomicInteger created) {
+        return parseNode -> {
+            created.incrementAndGet();
+            final ParseNode type = parseNode.getChildNode("@odata.type");
+            if (type != null && "#microsoft.graph.secondTestEntity".equals(type.getStringValue())) {
+                return new SecondTestEntity();
+            }
+            return new TestEntity();
+        };
+    }
+
+    private static ParseNode entities(final int count) {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"@odata.type\":\"#microsoft.graph.")
+                    .append(i % 2 == 0 ? "testEntity" : "secondTestEntity")
+                    .append("\",\"displayName\":\"")
+                    .append(i)
+                    .append("\"}");
+        }
+        json.append(']');
+        return _parseNodeFactory.getParseNode(
+                contentType,
+                new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void ComparesTheDiscriminatorsForAnotherFactory() {
+        final var parseNode = entities(100);
+        final var created = new AtomicInteger();
+        final List<Parsable> first =
+                parseNode.getCollectionOfObjectValues(discriminating(created));
+        assertEquals(100, created.get());
+
+        created.set(0);
+        final List<Parsable> second =
+                parseNode.getCollectionOfObjectValues(discriminating(created));
+        // called once per discriminator value
+        assertEquals(2, created.get());
+        assertNotSame(first, second);
+        for (int i = 0; i < first.size(); i++) {
+            // the elements are shared with the first parse
+            assertSame(first.get(i), second.get(i));
+        }
+        assertTrue(second.get(1) instanceof SecondTestEntity);
+    }
+
+    @Test
+    void ParsesAgainForAFactoryCreatingOtherClasses() {
+        final var parseNode = entities(4);
+        final List<Parsable> first =
+                parseNode.getCollectionOfObjectValues(discriminating(new AtomicInteger()));
+        final List<TestEntity> second =
+                parseNode.getCollectionOfObjectValues(TestEntity::createFromDiscriminatorValue);
+        assertEquals(4, second.size());
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals(TestEntity.class, second.get(1).getClass());
+    }
+
+    @Test
+    void PeeksTheDiscriminatorWithoutReadingTheOtherFields() {
+        // the truncated field after the discriminator is never read
+        final var peeked =
+                "{\"manager\":{\"id\":[1,{\"@odata.type\":\"#nested\"}]},"
+                        + "\"@odata.type\":\"#microsoft.graph.testEntity\",\"officeLocation\":";
+        assertEquals(
+                "#microsoft.graph.testEntity",
+                _parseNodeFactory.peekDiscriminator(
+                        new ByteArrayInputStream(peeked.getBytes(StandardCharsets.UTF_8)),
+                        "@odata.type"));
+
+        final var initialString =
+                "{\"officeLocation\":\"Montreal\",\"@odata.type\":\"#microsoft.graph.testEntity\"}";
+        final var rawResponse =
+                new ByteArrayInputStream(initialString.getBytes(StandardCharsets.UTF_8));
+        assertEquals(
+                "#microsoft.graph.testEntity",
+                _parseNodeFactory.peekDiscriminator(rawResponse, "@odata.type"));
+        // the payload is parsed from its start afterwards
+        final var parseNode = _parseNodeFactory.getParseNode(contentType, rawResponse);
+        final var result = parseNode.getObjectValue(UnionTypeMock::createFromDiscriminatorValue);
+        assertEquals("Montreal", result.getComposedType1().getOfficeLocation());
+
+        assertNull(
+                _parseNodeFactory.peekDiscriminator(
+                        new ByteArrayInputStream("[{\"@odata.type\":\"#a\"}]".getBytes()),
+                        "@odata.type"));
+        assertNull(
+                _parseNodeFactory.peekDiscriminator(
+                        new ByteArrayInputStream("{\"id\":\"1\"}".getBytes()), "@odata.type"));
+    }
+
+    @Test
+    void ParsesUnionTypeWithoutDiscriminator() throws UnsupportedEncodingException {
+        final var initialString = "{\"officeLocation\":\"Montreal\", \"id\": \"opaque\"}";
+        final var rawResponse = new ByteArrayInputStream(initialString.getBytes("UTF-8"));
+        final var parseNode = _parseNodeFactory.getParseNode(contentType, rawResponse);
+        assertNull(parseNode.getChildNode("@odata.type"));
+        final var result = parseNode.getObjectValue(UnionTypeMock::createFromDiscriminatorValue);
+        assertNotNull(result);
+        assertNull(result.getComposedType1());
+        assertNull(result.getComposedType3());
+    }
+
     @Test
     void ParsesUnionTypeStringValue() throws UnsupportedEncodingException {
         final var initialString = "\"officeLocation\"";
@@ -0,0 +1,56 @@
+package com.github.andreatp.kiota.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.github.andreatp.kiota.serialization.mocks.TestEntity;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ValueTypesTests {
+    private static final JsonParseNodeFactory _parseNodeFactory = new JsonParseNodeFactory();
+    private static final JsonSerializationWriterFactory _serializationWriterFactory =
+            new JsonSerializationWriterFactory();
+    private static final String contentType = "application/json";
+
+    @Test
+    void ReadsAndWritesUserTypes() throws IOException {
+        ValueTypes.register(
+                URI.class,
+                n -> URI.create(n.getStringValue()),
+                (writer, key, value) -> writer.writeStringValue(key, value.toString()));
+        try {
+            final var rawResponse =
+                    new ByteArrayInputStream(
+                            "[\"https://example.com/a\",\"https://example.com/b\"]"
+                                    .getBytes(StandardCharsets.UTF_8));
+            final var parseNode = _parseNodeFactory.getParseNode(contentType, rawResponse);
+            final var uris = parseNode.getCollectionOfPrimitiveValues(URI.class);
+            assertEquals(
+                    List.of(
+                            URI.create("https://example.com/a"),
+                            URI.create("https://example.com/b")),
+                    uris);
+
+            final var entity = new TestEntity();
+            entity.getAdditionalData().put("homepage", URI.create("https://example.com/a"));
+            entity.getAdditionalData().put("score", 1.5d);
+            try (final var writer =
+                    _serializationWriterFactory.getSerializationWriter(contentType)) {
+                writer.writeObjectValue(null, entity);
+                try (final var result = writer.getSerializedContent()) {
+                    final String text = new String(result.readAllBytes(), StandardCharsets.UTF_8);
+                    assertTrue(text.contains("\"homepage\":\"https://example.com/a\""), text);
+                    assertTrue(text.contains("\"score\":1.5"), text);
+                }
+            }
+        } finally {
+            ValueTypes.unregister(URI.class);
+        }
+        assertNull(ValueTypes.getReader(URI.class));
+        assertNull(ValueTypes.getWriter(URI.class));
+    }
+}
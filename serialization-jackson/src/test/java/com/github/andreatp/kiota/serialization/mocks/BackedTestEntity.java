@@ -0,0 +1,113 @@
+package com.github.andreatp.kiota.serialization.mocks;
+
+import com.github.andreatp.kiota.serialization.DirtyTrackingBackingStore;
+import com.microsoft.kiota.serialization.AdditionalDataHolder;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParseNode;
+import com.microsoft.kiota.serialization.SerializationWriter;
+import com.microsoft.kiota.store.BackedModel;
+import com.microsoft.kiota.store.BackingStore;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+public class BackedTestEntity implements Parsable, AdditionalDataHolder, BackedModel {
+    private final BackingStore backingStore;
+
+    public BackedTestEntity() {
+        this(new DirtyTrackingBackingStore());
+    }
+
+    public BackedTestEntity(BackingStore backingStore) {
+        this.backingStore = backingStore;
+        this.setAdditionalData(new HashMap<>());
+    }
+
+    @Override
+    public BackingStore getBackingStore() {
+        return backingStore;
+    }
+
+    @Override
+    public Map<String, Object> getAdditionalData() {
+        Map<String, Object> value = this.backingStore.get("additionalData");
+        if (value == null) {
+            value = new HashMap<>();
+            this.setAdditionalData(value);
+        }
+        return value;
+    }
+
+    public void setAdditionalData(Map<String, Object> value) {
+        this.backingStore.set("additionalData", value);
+    }
+
+    public String getId() {
+        return this.backingStore.get("id");
+    }
+
+    public void setId(String value) {
+        this.backingStore.set("id", value);
+    }
+
+    public String getDisplayName() {
+        return this.backingStore.get("displayName");
+    }
+
+    public void setDisplayName(String value) {
+        this.backingStore.set("displayName", value);
+    }
+
+    public BackedTestEntity getManager() {
+        return this.backingStore.get("manager");
+    }
+
+    public void setManager(BackedTestEntity value) {
+        this.backingStore.set("manager", value);
+    }
+
+    public List<BackedTestEntity> getReports() {
+        return this.backingStore.get("reports");
+    }
+
+    public void setReports(List<BackedTestEntity> value) {
+        this.backingStore.set("reports", value);
+    }
+
+    @Override
+    public Map<String, Consumer<ParseNode>> getFieldDeserializers() {
+        final HashMap<String, Consumer<ParseNode>> deserializerMap = new HashMap<>(4);
+        deserializerMap.put("id", (n) -> this.setId(n.getStringValue()));
+        deserializerMap.put("displayName", (n) -> this.setDisplayName(n.getStringValue()));
+        deserializerMap.put(
+                "manager",
+                (n) ->
+                        this.setManager(
+                                n.getObjectValue(BackedTestEntity::createFromDiscriminatorValue)));
+        deserializerMap.put(
+                "reports",
+                (n) ->
+                        this.setReports(
+                                n.getCollectionOfObjectValues(
+                                        BackedTestEntity::createFromDiscriminatorValue)));
+        return deserializerMap;
+    }
+
+    @Override
+    public void serialize(SerializationWriter writer) {
+        Objects.requireNonNull(writer);
+        writer.writeStringValue("id", getId());
+        writer.writeStringValue("displayName", getDisplayName());
+        writer.writeObjectValue("manager", getManager());
+        writer.writeCollectionOfObjectValues("reports", getReports());
+        writer.writeAdditionalData(getAdditionalData());
+    }
+
+    @jakarta.annotation.Nonnull
+    public static BackedTestEntity createFromDiscriminatorValue(
+            @jakarta.annotation.Nonnull final ParseNode parseNode) {
+        return new BackedTestEntity();
+    }
+}